@@ -15,6 +15,18 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        // Run against the local Firebase emulator suite with -PuseFirebaseEmulator=true
+        val useFirebaseEmulator = project.findProperty("useFirebaseEmulator") == "true"
+        val firebaseEmulatorHost = project.findProperty("firebaseEmulatorHost") ?: "10.0.2.2"
+        buildConfigField("boolean", "USE_FIREBASE_EMULATOR", useFirebaseEmulator.toString())
+        buildConfigField("String", "FIREBASE_EMULATOR_HOST", "\"$firebaseEmulatorHost\"")
+        // The emulators only speak plain HTTP
+        manifestPlaceholders["usesCleartextTraffic"] = useFirebaseEmulator.toString()
+    }
+
+    buildFeatures {
+        buildConfig = true
     }
 
     buildTypes {
@@ -29,6 +41,7 @@ android {
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_17
         targetCompatibility = JavaVersion.VERSION_17
+        isCoreLibraryDesugaringEnabled = true
     }
 }
 
@@ -54,5 +67,9 @@ dependencies {
     implementation("com.google.firebase:firebase-messaging")
     implementation(libs.zxing.android.embedded)
     implementation("com.github.bumptech.glide:glide:4.16.0")
+    implementation("androidx.work:work-runtime:2.9.1")
+    implementation("androidx.room:room-runtime:2.6.1")
+    annotationProcessor("androidx.room:room-compiler:2.6.1")
+    coreLibraryDesugaring("com.android.tools:desugar_jdk_libs:2.1.5")
 
 }
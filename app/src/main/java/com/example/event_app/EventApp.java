@@ -0,0 +1,66 @@
+package com.example.event_app;
+
+import android.app.Application;
+import android.util.Log;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.google.firebase.firestore.PersistentCacheSettings;
+import com.google.firebase.storage.FirebaseStorage;
+
+/**
+ * EventApp - Application entry point
+ *
+ * Configures the Firebase SDKs before any screen touches them. Builds made
+ * with -PuseFirebaseEmulator=true talk to the local Firebase emulator suite
+ * instead of the live project.
+ *
+ * Firestore keeps an on-disk cache of up to FIRESTORE_CACHE_BYTES so
+ * FirestoreReads can answer from the device before the server replies.
+ */
+public class EventApp extends Application {
+
+    private static final String TAG = "EventApp";
+
+    // Default emulator suite ports
+    private static final int FIRESTORE_EMULATOR_PORT = 8080;
+    private static final int STORAGE_EMULATOR_PORT = 9199;
+    private static final int AUTH_EMULATOR_PORT = 9099;
+
+    // Room for the event catalog, profiles and entrant lists
+    private static final long FIRESTORE_CACHE_BYTES = 50L * 1024 * 1024;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        configureFirestoreCache();
+
+        if (BuildConfig.USE_FIREBASE_EMULATOR) {
+            useFirebaseEmulator(BuildConfig.FIREBASE_EMULATOR_HOST);
+        }
+    }
+
+    /**
+     * Must run before the first Firestore call
+     */
+    private void configureFirestoreCache() {
+        FirebaseFirestoreSettings settings = new FirebaseFirestoreSettings.Builder()
+                .setLocalCacheSettings(PersistentCacheSettings.newBuilder()
+                        .setSizeBytes(FIRESTORE_CACHE_BYTES)
+                        .build())
+                .build();
+        FirebaseFirestore.getInstance().setFirestoreSettings(settings);
+    }
+
+    /**
+     * Must run before the first Firestore, Storage or Auth call
+     */
+    private void useFirebaseEmulator(String host) {
+        Log.d(TAG, "Using Firebase emulator at " + host);
+        FirebaseFirestore.getInstance().useEmulator(host, FIRESTORE_EMULATOR_PORT);
+        FirebaseStorage.getInstance().useEmulator(host, STORAGE_EMULATOR_PORT);
+        FirebaseAuth.getInstance().useEmulator(host, AUTH_EMULATOR_PORT);
+    }
+}
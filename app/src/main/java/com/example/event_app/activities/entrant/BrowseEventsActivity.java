@@ -1,6 +1,8 @@
 package com.example.event_app.activities.entrant;
 
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.view.View;
 import android.widget.ProgressBar;
@@ -12,10 +14,12 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.event_app.R;
 import com.example.event_app.adapters.EventAdapter;
+import com.example.event_app.data.EventCatalog;
 import com.example.event_app.models.Event;
+import com.example.event_app.utils.AppExecutors;
+import com.example.event_app.utils.EventSyncEngine;
 import com.google.android.material.button.MaterialButton;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.android.material.textfield.TextInputEditText;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +29,9 @@ import java.util.List;
  *
  * US 01.01.03: Browse available events
  * US 01.05.04: See waiting list count for each event
+ *
+ * After a restart the list is drawn from the EventCatalog saved on the
+ * device, and searching uses its full-text index, so both work offline.
  */
 public class BrowseEventsActivity extends AppCompatActivity {
 
@@ -36,18 +43,20 @@ public class BrowseEventsActivity extends AppCompatActivity {
     private TextView tvEmptyState, tvErrorState;
     private MaterialButton btnRetry;
     private View emptyView, errorView;
+    private TextInputEditText searchEvents;
 
     // Data
     private EventAdapter adapter;
-    private FirebaseFirestore db;
+    private EventCatalog catalog;
+    private List<Event> activeEvents;  // null until something has loaded
+    private String searchQuery = "";
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_browse_events);
 
-        // Initialize Firebase
-        db = FirebaseFirestore.getInstance();
+        catalog = EventCatalog.getInstance(this);
 
         // Initialize views
         initViews();
@@ -55,6 +64,9 @@ public class BrowseEventsActivity extends AppCompatActivity {
         // Setup RecyclerView
         setupRecyclerView();
 
+        // Setup search
+        setupSearch();
+
         // Load events
         loadEvents();
     }
@@ -67,6 +79,7 @@ public class BrowseEventsActivity extends AppCompatActivity {
         btnRetry = findViewById(R.id.btnRetry);
         emptyView = findViewById(R.id.emptyView);
         errorView = findViewById(R.id.errorView);
+        searchEvents = findViewById(R.id.searchEvents);
 
         // Back button
         findViewById(R.id.btnBack).setOnClickListener(v -> finish());
@@ -81,34 +94,104 @@ public class BrowseEventsActivity extends AppCompatActivity {
         rvEvents.setAdapter(adapter);
     }
 
+    private void setupSearch() {
+        searchEvents.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+                searchQuery = s.toString().trim();
+                showActiveEvents();
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) { }
+        });
+    }
+
     private void loadEvents() {
-        showLoading();
-
-        db.collection("events")
-                .whereEqualTo("status", "active")
-                .orderBy("createdAt", com.google.firebase.firestore.Query.Direction.DESCENDING)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    List<Event> events = new ArrayList<>();
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Event event = document.toObject(Event.class);
-                        event.setId(document.getId());
-                        events.add(event);
+        // Show the local copy right away; the sync only fetches changes
+        EventSyncEngine sync = EventSyncEngine.getInstance(this);
+        List<Event> local = sync.getActiveEvents();
+        if (!local.isEmpty()) {
+            onEventsLoaded(local);
+        } else if (activeEvents == null) {
+            showLoading();
+
+            // After a restart, the catalog on disk is ready before the sync
+            catalog.loadActive()
+                    .addOnSuccessListener(this, saved -> {
+                        if (activeEvents == null && !saved.isEmpty()) {
+                            Log.d(TAG, "Showing " + saved.size() + " saved events");
+                            onEventsLoaded(saved);
+                        }
+                    });
+        }
+
+        sync.sync()
+                .addOnSuccessListener(AppExecutors.compute(), allEvents -> {
+                    List<Event> events = EventSyncEngine.activeOnly(allEvents);
+                    AppExecutors.main().execute(() -> {
+                        if (isFinishing()) {
+                            return;
+                        }
+                        onEventsLoaded(events);
+                        Log.d(TAG, "Loaded " + events.size() + " events");
+                    });
+                })
+                .addOnFailureListener(this, e -> {
+                    Log.e(TAG, "Error loading events", e);
+                    if (activeEvents == null) {
+                        showError("Failed to load events. Please try again.");
                     }
+                });
+    }
 
-                    if (events.isEmpty()) {
-                        showEmpty();
-                    } else {
-                        showEvents(events);
+    private void onEventsLoaded(List<Event> events) {
+        activeEvents = events;
+        showActiveEvents();
+    }
+
+    /**
+     * Show the loaded events, or the ones matching the search
+     */
+    private void showActiveEvents() {
+        if (activeEvents == null) {
+            return;
+        }
+
+        if (searchQuery.isEmpty()) {
+            if (activeEvents.isEmpty()) {
+                showEmpty("No events available yet.\nCheck back soon!");
+            } else {
+                showEvents(activeEvents);
+            }
+            return;
+        }
+
+        String query = searchQuery;
+        catalog.search(query)
+                .addOnSuccessListener(this, matches -> {
+                    // The user has typed more since this search started
+                    if (!query.equals(searchQuery)) {
+                        return;
+                    }
+
+                    List<Event> results = new ArrayList<>();
+                    for (Event event : matches) {
+                        if ("active".equals(event.getStatus())) {
+                            results.add(event);
+                        }
                     }
 
-                    Log.d(TAG, "Loaded " + events.size() + " events");
+                    if (results.isEmpty()) {
+                        showEmpty("No events match \"" + query + "\"");
+                    } else {
+                        showEvents(results);
+                    }
                 })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading events", e);
-                    showError("Failed to load events. Please try again.");
-                });
+                .addOnFailureListener(this, e -> Log.e(TAG, "Error searching events", e));
     }
 
     private void showLoading() {
@@ -126,12 +209,12 @@ public class BrowseEventsActivity extends AppCompatActivity {
         adapter.setEvents(events);
     }
 
-    private void showEmpty() {
+    private void showEmpty(String message) {
         progressBar.setVisibility(View.GONE);
         rvEvents.setVisibility(View.GONE);
         emptyView.setVisibility(View.VISIBLE);
         errorView.setVisibility(View.GONE);
-        tvEmptyState.setText("No events available yet.\nCheck back soon!");
+        tvEmptyState.setText(message);
     }
 
     private void showError(String message) {
@@ -9,19 +9,33 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
 
 import com.bumptech.glide.Glide;
 import com.example.event_app.R;
+import com.example.event_app.data.EventMapper;
+import com.example.event_app.data.Outbox;
+import com.example.event_app.data.PendingMutation;
 import com.example.event_app.models.Event;
+import com.example.event_app.utils.EventPrefetcher;
 import com.example.event_app.utils.Navigator;
+import com.example.event_app.utils.OutboxWorker;
+import com.example.event_app.utils.PosterLoader;
+import com.example.event_app.utils.SingleFlight;
+import com.google.android.gms.tasks.Task;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * EventDetailsActivity - View event details and join waiting list
@@ -29,6 +43,9 @@ import java.util.Locale;
  * US 01.01.01: Join waiting list
  * US 01.06.01: View event from QR code
  * US 01.05.04: See total entrants count
+ *
+ * Joining and leaving go through the Outbox: the screen changes at once
+ * and the action is sent when there is a connection.
  */
 public class EventDetailsActivity extends AppCompatActivity {
 
@@ -44,12 +61,17 @@ public class EventDetailsActivity extends AppCompatActivity {
     // Firebase
     private FirebaseFirestore db;
     private FirebaseAuth mAuth;
+    private Outbox outbox;
 
     // Data
     private String eventId;
     private Event event;
     private boolean isOnWaitingList = false;
 
+    // Outbox flushes already looked at, so old conflicts aren't acted on again
+    private final Set<UUID> seenFlushes = new HashSet<>();
+    private boolean flushesObserved;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -67,12 +89,18 @@ public class EventDetailsActivity extends AppCompatActivity {
         // Initialize Firebase
         db = FirebaseFirestore.getInstance();
         mAuth = FirebaseAuth.getInstance();
+        outbox = Outbox.getInstance(this);
 
         // Initialize views
         initViews();
 
         // Load event data
         loadEventDetails();
+
+        // Reload if the server rejected one of our queued actions
+        WorkManager.getInstance(this)
+                .getWorkInfosForUniqueWorkLiveData(OutboxWorker.WORK_NAME)
+                .observe(this, this::onOutboxFlushes);
     }
 
     private void initViews() {
@@ -101,26 +129,67 @@ public class EventDetailsActivity extends AppCompatActivity {
     private void loadEventDetails() {
         showLoading();
 
-        db.collection("events").document(eventId)
-                .get()
-                .addOnSuccessListener(document -> {
+        // A scan may already have started this read
+        Task<DocumentSnapshot> read = EventPrefetcher.take(eventId);
+        if (read == null) {
+            read = SingleFlight.get(db.collection("events").document(eventId));
+        }
+
+        read
+                .addOnSuccessListener(this, document -> {
                     if (document.exists()) {
-                        event = document.toObject(Event.class);
-                        if (event != null) {
-                            event.setId(document.getId());
-                            displayEventDetails();
-                            checkWaitingListStatus();
+                        Event loaded = EventMapper.fromSnapshot(document);
+                        if (loaded != null) {
+                            loaded.setId(document.getId());
+                            showWithPendingActions(loaded);
                         }
                     } else {
+                        EventPrefetcher.rememberMissing(eventId);
                         showError("Event not found");
                     }
                 })
-                .addOnFailureListener(e -> {
+                .addOnFailureListener(this, e -> {
                     Log.e(TAG, "Error loading event", e);
                     showError("Failed to load event");
                 });
     }
 
+    /**
+     * Show an event with our actions that the server hasn't confirmed yet
+     */
+    private void showWithPendingActions(Event loaded) {
+        outbox.pendingForEvent(eventId)
+                .addOnCompleteListener(this, task -> {
+                    event = loaded;
+                    if (task.isSuccessful()) {
+                        event = Outbox.overlay(loaded, task.getResult());
+                    } else {
+                        Log.e(TAG, "Error reading pending actions", task.getException());
+                    }
+                    displayEventDetails();
+                    checkWaitingListStatus();
+                });
+    }
+
+    private void onOutboxFlushes(List<WorkInfo> flushes) {
+        boolean conflict = false;
+        for (WorkInfo flush : flushes) {
+            if (flush.getState() != WorkInfo.State.SUCCEEDED || !seenFlushes.add(flush.getId())) {
+                continue;
+            }
+            String[] conflicts = flush.getOutputData().getStringArray(OutboxWorker.KEY_CONFLICTS);
+            if (flushesObserved && conflicts != null && Arrays.asList(conflicts).contains(eventId)) {
+                conflict = true;
+            }
+        }
+        flushesObserved = true;
+
+        if (conflict) {
+            Toast.makeText(this, "This event has changed", Toast.LENGTH_SHORT).show();
+            loadEventDetails();
+        }
+    }
+
     private void displayEventDetails() {
         showContent();
 
@@ -160,20 +229,24 @@ public class EventDetailsActivity extends AppCompatActivity {
         }
 
         // Waiting list count (US 01.05.04)
-        int waitingListSize = event.getWaitingList() != null ?
-                event.getWaitingList().size() : 0;
-        tvWaitingListCount.setText(String.format(Locale.getDefault(),
-                "%d people on waiting list", waitingListSize));
+        updateWaitingListCount();
 
         // Load poster if available
-        if (event.getPosterUrl() != null && !event.getPosterUrl().isEmpty()) {
-            Glide.with(this)
-                    .load(event.getPosterUrl())
+        if (PosterLoader.hasPoster(event)) {
+            PosterLoader.load(Glide.with(this), event)
+                    .placeholder(PosterLoader.placeholder(getResources(), event))
                     .centerCrop()
                     .into(ivPoster);
         }
     }
 
+    private void updateWaitingListCount() {
+        int waitingListSize = event.getWaitingList() != null ?
+                event.getWaitingList().size() : 0;
+        tvWaitingListCount.setText(String.format(Locale.getDefault(),
+                "%d people on waiting list", waitingListSize));
+    }
+
     private void checkWaitingListStatus() {
         String userId = mAuth.getCurrentUser().getUid();
 
@@ -192,50 +265,44 @@ public class EventDetailsActivity extends AppCompatActivity {
      * US 01.01.01: Join waiting list
      */
     private void joinWaitingList() {
+        if (event == null) return;
         String userId = mAuth.getCurrentUser().getUid();
 
-        btnJoinWaitingList.setEnabled(false);
-
-        db.collection("events").document(eventId)
-                .update("waitingList", FieldValue.arrayUnion(userId))
-                .addOnSuccessListener(aVoid -> {
-                    Toast.makeText(this, "Joined waiting list!", Toast.LENGTH_SHORT).show();
-                    isOnWaitingList = true;
-                    btnJoinWaitingList.setVisibility(View.GONE);
-                    btnLeaveWaitingList.setVisibility(View.VISIBLE);
-                    btnLeaveWaitingList.setEnabled(true);
-                    loadEventDetails(); // Refresh count
-                })
-                .addOnFailureListener(e -> {
+        // Shown right away; the outbox sends it when there is a connection
+        outbox.submit(event, PendingMutation.JOIN, userId)
+                .addOnSuccessListener(this, mutation ->
+                        Toast.makeText(this, "Joined waiting list!", Toast.LENGTH_SHORT).show())
+                .addOnFailureListener(this, e -> {
                     Log.e(TAG, "Error joining waiting list", e);
                     Toast.makeText(this, "Failed to join waiting list", Toast.LENGTH_SHORT).show();
-                    btnJoinWaitingList.setEnabled(true);
+                    // The outbox has put the event back as it was
+                    updateWaitingListCount();
+                    checkWaitingListStatus();
                 });
+        updateWaitingListCount();
+        checkWaitingListStatus();
     }
 
     /**
      * US 01.01.02: Leave waiting list
      */
     private void leaveWaitingList() {
+        if (event == null) return;
         String userId = mAuth.getCurrentUser().getUid();
 
-        btnLeaveWaitingList.setEnabled(false);
-
-        db.collection("events").document(eventId)
-                .update("waitingList", FieldValue.arrayRemove(userId))
-                .addOnSuccessListener(aVoid -> {
-                    Toast.makeText(this, "Left waiting list", Toast.LENGTH_SHORT).show();
-                    isOnWaitingList = false;
-                    btnLeaveWaitingList.setVisibility(View.GONE);
-                    btnJoinWaitingList.setVisibility(View.VISIBLE);
-                    btnJoinWaitingList.setEnabled(true);
-                    loadEventDetails(); // Refresh count
-                })
-                .addOnFailureListener(e -> {
+        // Shown right away; the outbox sends it when there is a connection
+        outbox.submit(event, PendingMutation.LEAVE, userId)
+                .addOnSuccessListener(this, mutation ->
+                        Toast.makeText(this, "Left waiting list", Toast.LENGTH_SHORT).show())
+                .addOnFailureListener(this, e -> {
                     Log.e(TAG, "Error leaving waiting list", e);
                     Toast.makeText(this, "Failed to leave waiting list", Toast.LENGTH_SHORT).show();
-                    btnLeaveWaitingList.setEnabled(true);
+                    // The outbox has put the event back as it was
+                    updateWaitingListCount();
+                    checkWaitingListStatus();
                 });
+        updateWaitingListCount();
+        checkWaitingListStatus();
     }
 
     private void showLoading() {
@@ -5,22 +5,30 @@ import android.util.Log;
 import android.view.View;
 import android.widget.ProgressBar;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
 
 import com.example.event_app.R;
 import com.example.event_app.adapters.MyEventsAdapter;
+import com.example.event_app.data.Outbox;
 import com.example.event_app.models.Event;
+import com.example.event_app.utils.AppExecutors;
+import com.example.event_app.utils.EventSyncEngine;
+import com.example.event_app.utils.OutboxWorker;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.tabs.TabLayout;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * MyEventsActivity - Show user's event history
@@ -47,10 +55,13 @@ public class MyEventsActivity extends AppCompatActivity {
 
     // Data
     private MyEventsAdapter adapter;
-    private FirebaseFirestore db;
     private FirebaseAuth mAuth;
     private String userId;
 
+    // Outbox flushes already looked at, so old conflicts aren't acted on again
+    private final Set<UUID> seenFlushes = new HashSet<>();
+    private boolean flushesObserved;
+
     // Filter
     private String currentFilter = "all"; // all, waiting, selected, attending, declined
 
@@ -60,7 +71,6 @@ public class MyEventsActivity extends AppCompatActivity {
         setContentView(R.layout.activity_my_events);
 
         // Initialize Firebase
-        db = FirebaseFirestore.getInstance();
         mAuth = FirebaseAuth.getInstance();
         userId = mAuth.getCurrentUser().getUid();
 
@@ -75,6 +85,11 @@ public class MyEventsActivity extends AppCompatActivity {
 
         // Load events
         loadMyEvents();
+
+        // Reload if the server rejected one of our queued actions
+        WorkManager.getInstance(this)
+                .getWorkInfosForUniqueWorkLiveData(OutboxWorker.WORK_NAME)
+                .observe(this, this::onOutboxFlushes);
     }
 
     private void initViews() {
@@ -130,52 +145,117 @@ public class MyEventsActivity extends AppCompatActivity {
      * US 01.02.03: Event history with status
      */
     private void loadMyEvents() {
-        showLoading();
-
-        // Query all events where user is in any list
-        db.collection("events")
-                .whereEqualTo("status", "active")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    List<Event> myEvents = new ArrayList<>();
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Event event = document.toObject(Event.class);
-                        event.setId(document.getId());
-
-                        // ✅ Check if user is involved in this event (any list)
-                        boolean isInWaitingList = event.getWaitingList() != null &&
-                                event.getWaitingList().contains(userId);
-                        boolean isSelected = event.getSelectedList() != null &&
-                                event.getSelectedList().contains(userId);
-                        boolean isSignedUp = event.getSignedUpUsers() != null &&
-                                event.getSignedUpUsers().contains(userId);
-                        boolean isDeclined = event.getDeclinedUsers() != null &&
-                                event.getDeclinedUsers().contains(userId);
-
-                        if (isInWaitingList || isSelected || isSignedUp || isDeclined) {
-                            // Apply filter
-                            String status = getEventStatus(event);
-                            if (currentFilter.equals("all") || status.equals(currentFilter)) {
-                                myEvents.add(event);
-                            }
-                        }
+        // Show the local copy right away; the sync only fetches changes
+        EventSyncEngine sync = EventSyncEngine.getInstance(this);
+        List<Event> local = sync.getActiveEvents();
+        if (!local.isEmpty()) {
+            showWithPendingActions(local);
+        } else {
+            showLoading();
+        }
+
+        // Events where user is in any list are picked out locally
+        sync.sync()
+                .addOnSuccessListener(this, allEvents -> showWithPendingActions(allEvents))
+                .addOnFailureListener(this, e -> {
+                    Log.e(TAG, "Error loading events", e);
+                    if (local.isEmpty()) {
+                        showError("Failed to load events. Please try again.");
                     }
+                });
+    }
 
-                    if (myEvents.isEmpty()) {
-                        showEmpty();
+    /**
+     * Lay the user's queued actions over the events, so answered
+     * invitations don't come back before the server has them.
+     * The lists are scanned on the compute pool, on copies taken here, and
+     * only the result is shown.
+     */
+    private void showWithPendingActions(List<Event> shown) {
+        String filter = currentFilter;
+        List<Event> events = Event.copyAll(shown);
+        Outbox.getInstance(this).pendingForUser(userId)
+                .addOnCompleteListener(AppExecutors.compute(), task -> {
+                    List<Event> overlaid = events;
+                    if (task.isSuccessful()) {
+                        overlaid = Outbox.overlay(events, task.getResult());
                     } else {
-                        showEvents(myEvents);
+                        Log.e(TAG, "Error reading pending actions", task.getException());
                     }
+                    List<Event> myEvents = findMyEvents(EventSyncEngine.activeOnly(overlaid), filter);
 
-                    Log.d(TAG, "Loaded " + myEvents.size() + " events for user");
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading events", e);
-                    showError("Failed to load events. Please try again.");
+                    AppExecutors.main().execute(() -> {
+                        // A tab picked meanwhile has its own load running
+                        if (isFinishing() || !filter.equals(currentFilter)) {
+                            return;
+                        }
+                        showMyEvents(myEvents);
+                    });
                 });
     }
 
+    private void onOutboxFlushes(List<WorkInfo> flushes) {
+        boolean conflict = false;
+        for (WorkInfo flush : flushes) {
+            if (flush.getState() != WorkInfo.State.SUCCEEDED || !seenFlushes.add(flush.getId())) {
+                continue;
+            }
+            String[] conflicts = flush.getOutputData().getStringArray(OutboxWorker.KEY_CONFLICTS);
+            if (flushesObserved && conflicts != null && conflicts.length > 0) {
+                conflict = true;
+            }
+        }
+        flushesObserved = true;
+
+        if (conflict) {
+            // The dropped action was only ever laid over copies, so the
+            // local catalog still has the server's state
+            Toast.makeText(this, "One of your events has changed", Toast.LENGTH_SHORT).show();
+            loadMyEvents();
+        }
+    }
+
+    /**
+     * The events the user is part of that match the filter
+     */
+    private List<Event> findMyEvents(List<Event> events, String filter) {
+        List<Event> myEvents = new ArrayList<>();
+
+        for (Event event : events) {
+            // ✅ Check if user is involved in this event (any list)
+            boolean isInWaitingList = event.getWaitingList() != null &&
+                    event.getWaitingList().contains(userId);
+            boolean isSelected = event.getSelectedList() != null &&
+                    event.getSelectedList().contains(userId);
+            boolean isSignedUp = event.getSignedUpUsers() != null &&
+                    event.getSignedUpUsers().contains(userId);
+            boolean isDeclined = event.getDeclinedUsers() != null &&
+                    event.getDeclinedUsers().contains(userId);
+
+            if (isInWaitingList || isSelected || isSignedUp || isDeclined) {
+                // Apply filter
+                String status = getEventStatus(event);
+                if (filter.equals("all") || status.equals(filter)) {
+                    myEvents.add(event);
+                }
+            }
+        }
+        return myEvents;
+    }
+
+    /**
+     * Show the events the user is part of, with the current filter applied
+     */
+    private void showMyEvents(List<Event> myEvents) {
+        if (myEvents.isEmpty()) {
+            showEmpty();
+        } else {
+            showEvents(myEvents);
+        }
+
+        Log.d(TAG, "Loaded " + myEvents.size() + " events for user");
+    }
+
     /**
      * ✅ Determine user's status for this event (checks all lists!)
      */
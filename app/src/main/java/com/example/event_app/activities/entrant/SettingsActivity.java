@@ -11,7 +11,11 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.event_app.R;
+import com.example.event_app.data.UserMapper;
 import com.example.event_app.models.User;
+import com.example.event_app.utils.RoleCache;
+import com.example.event_app.utils.SessionCache;
+import com.example.event_app.utils.TaskScope;
 import com.example.event_app.utils.UserRole;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.switchmaterial.SwitchMaterial;
@@ -30,6 +34,8 @@ public class SettingsActivity extends AppCompatActivity {
 
     private static final String TAG = "SettingsActivity";
 
+    private final TaskScope scope = TaskScope.of(this);
+
     // UI Elements
     private TextInputEditText editName, editEmail, editPhone;
     private SwitchMaterial switchNotifications;
@@ -86,20 +92,20 @@ public class SettingsActivity extends AppCompatActivity {
 
         db.collection("users").document(userId)
                 .get()
-                .addOnSuccessListener(document -> {
+                .addOnSuccessListener(scope.onSuccess(document -> {
                     if (document.exists()) {
-                        currentUser = document.toObject(User.class);
+                        currentUser = UserMapper.fromSnapshot(document);
                         if (currentUser != null) {
                             displayUserData();
                         }
                     }
                     showContent();
-                })
-                .addOnFailureListener(e -> {
+                }))
+                .addOnFailureListener(scope.onFailure(e -> {
                     Log.e(TAG, "Error loading profile", e);
                     Toast.makeText(this, "Error loading profile", Toast.LENGTH_SHORT).show();
                     showContent();
-                });
+                }));
     }
 
     private void displayUserData() {
@@ -146,6 +152,7 @@ public class SettingsActivity extends AppCompatActivity {
         db.collection("users").document(userId)
                 .set(currentUser)
                 .addOnSuccessListener(aVoid -> {
+                    SessionCache.putUser(currentUser);
                     Toast.makeText(this, "Profile updated!", Toast.LENGTH_SHORT).show();
                     btnSave.setEnabled(true);
                 })
@@ -212,6 +219,8 @@ public class SettingsActivity extends AppCompatActivity {
         db.collection("users").document(userId)
                 .set(currentUser)
                 .addOnSuccessListener(aVoid -> {
+                    RoleCache.save(this, currentUser);
+                    SessionCache.putUser(currentUser);
                     Toast.makeText(this, "You're now an organizer! 🎉", Toast.LENGTH_LONG).show();
                     organizerSection.setVisibility(View.GONE);
 
@@ -246,6 +255,9 @@ public class SettingsActivity extends AppCompatActivity {
         db.collection("users").document(userId)
                 .delete()
                 .addOnSuccessListener(aVoid -> {
+                    RoleCache.clear(this);
+                    SessionCache.clear();
+
                     // Delete Firebase Auth account
                     mAuth.getCurrentUser().delete()
                             .addOnSuccessListener(unused -> {
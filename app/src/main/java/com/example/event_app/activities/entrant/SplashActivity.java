@@ -1,10 +1,9 @@
 package com.example.event_app.activities.entrant;
 
 import android.annotation.SuppressLint;
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.provider.Settings;
 import android.util.Log;
 import android.view.View;
@@ -16,29 +15,39 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.event_app.R;
 import com.example.event_app.activities.shared.ProfileSetupActivity;
 import com.example.event_app.admin.AdminHomeActivity;
+import com.example.event_app.data.UserMapper;
 import com.example.event_app.models.User;
-import com.example.event_app.utils.UserRole;
+import com.example.event_app.utils.RoleCache;
+import com.example.event_app.utils.SessionCache;
+import com.example.event_app.utils.StartupTrace;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 /**
  * SplashActivity - Uber-Inspired Minimal Launch Screen
  * Shows "LuckySpot" text on black background with fade-in animation
+ *
+ * Sign-in and the profile read start as soon as the splash is created and
+ * the splash closes once routing is decided. Returning users are routed
+ * from RoleCache while the profile is read again in the background. The
+ * home screens' data is warmed into SessionCache during the same window.
  */
 @SuppressLint("CustomSplashScreen")
 public class SplashActivity extends AppCompatActivity {
 
     private static final String TAG = "SplashActivity";
-    private static final int SPLASH_DURATION = 1500; // 1.5 seconds
+
+    private final StartupTrace trace = new StartupTrace();
 
     private FirebaseAuth mAuth;
     private FirebaseFirestore db;
     private String deviceId;
+    private boolean routed;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        trace.mark("splash created");
         setContentView(R.layout.activity_splash);
 
         // Make fully immersive
@@ -55,11 +64,8 @@ public class SplashActivity extends AppCompatActivity {
         deviceId = getUniqueDeviceId();
         Log.d(TAG, "Device ID: " + deviceId);
 
-        // Authenticate after splash duration
-        new Handler(Looper.getMainLooper()).postDelayed(
-                this::authenticateUser,
-                SPLASH_DURATION
-        );
+        // Authenticate right away; the animation runs alongside
+        authenticateUser();
     }
 
     private void makeFullScreen() {
@@ -92,48 +98,78 @@ public class SplashActivity extends AppCompatActivity {
 
     private void authenticateUser() {
         if (mAuth.getCurrentUser() != null) {
-            checkUserProfile();
+            trace.mark("auth restored");
+            routeUser();
         } else {
             signInAnonymously();
         }
     }
 
     private void signInAnonymously() {
+        trace.begin("auth");
         mAuth.signInAnonymously()
                 .addOnSuccessListener(authResult -> {
+                    trace.end("auth");
                     Log.d(TAG, "✅ Anonymous sign-in successful");
-                    checkUserProfile();
+                    routeUser();
                 })
                 .addOnFailureListener(e -> {
+                    trace.end("auth");
                     Log.e(TAG, "❌ Sign-in failed", e);
                     navigateToProfileSetup();
                 });
     }
 
-    private void checkUserProfile() {
+    /**
+     * Route from the cached role when there is one, otherwise wait for the profile
+     */
+    private void routeUser() {
         String userId = mAuth.getCurrentUser().getUid();
+        User cached = RoleCache.load(this, userId);
+
+        // Load what the home screens show while the splash is still up
+        SessionCache.warmUp(this, userId);
+
+        if (cached != null) {
+            Log.d(TAG, "Routing from cached role");
+            routeUserByRole(cached);
+        }
 
+        // Fetch the profile either way; with a cached role this only refreshes the cache
+        trace.begin("profile");
+        Context appContext = getApplicationContext();
         db.collection("users")
                 .document(userId)
                 .get()
                 .addOnSuccessListener(document -> {
-                    if (document.exists()) {
-                        routeUserByRole(document);
+                    trace.end("profile");
+                    User user = document.exists() ? UserMapper.fromSnapshot(document) : null;
+                    if (user != null) {
+                        user.setUserId(userId);
+                        RoleCache.save(appContext, user);
+                        SessionCache.putUser(user);
+                        routeUserByRole(user);
                     } else {
+                        RoleCache.clear(appContext);
                         navigateToProfileSetup();
                     }
                 })
                 .addOnFailureListener(e -> {
+                    trace.end("profile");
                     Log.e(TAG, "Error checking profile", e);
                     navigateToProfileSetup();
                 });
     }
 
-    private void routeUserByRole(DocumentSnapshot document) {
-        User user = document.toObject(User.class);
-        Intent intent;
+    private void routeUserByRole(User user) {
+        if (routed) {
+            return;
+        }
+        routed = true;
+        trace.mark("routed");
 
-        if (user != null && user.isAdmin()) {
+        Intent intent;
+        if (user.isAdmin()) {
             intent = new Intent(this, AdminHomeActivity.class);
         } else {
             intent = new Intent(this, MainActivity.class);
@@ -145,6 +181,12 @@ public class SplashActivity extends AppCompatActivity {
     }
 
     private void navigateToProfileSetup() {
+        if (routed) {
+            return;
+        }
+        routed = true;
+        trace.mark("routed");
+
         Intent intent = new Intent(this, ProfileSetupActivity.class);
         intent.putExtra("deviceId", deviceId);
         intent.putExtra("userId", mAuth.getCurrentUser() != null ?
@@ -0,0 +1,312 @@
+package com.example.event_app.activities.organizer;
+
+import android.Manifest;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+
+import com.example.event_app.R;
+import com.example.event_app.data.EventMapper;
+import com.example.event_app.models.Event;
+import com.example.event_app.utils.AppExecutors;
+import com.example.event_app.utils.CheckInLog;
+import com.example.event_app.utils.CheckInSyncWorker;
+import com.example.event_app.utils.PermissionManager;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.ResultPoint;
+import com.google.zxing.client.android.BeepManager;
+import com.journeyapps.barcodescanner.BarcodeCallback;
+import com.journeyapps.barcodescanner.BarcodeResult;
+import com.journeyapps.barcodescanner.DecoratedBarcodeView;
+import com.journeyapps.barcodescanner.DefaultDecoderFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * CheckInActivity - Scan attendees in at the door
+ *
+ * US 02.06.03: View confirmed entrants
+ *
+ * The attendee list is downloaded once and every scan is checked against it
+ * locally, so scanning keeps going without a connection. Each check-in is
+ * confirmed only once it is flushed to a CheckInLog, and CheckInSyncWorker
+ * sends the log to Firestore in batches when the network is available.
+ * Attendee tickets are QR codes holding the attendee's user ID.
+ */
+public class CheckInActivity extends AppCompatActivity {
+
+    private static final String TAG = "CheckInActivity";
+
+    // The scanner reports the same code on every frame while it is in view
+    private static final long REPEAT_SCAN_WINDOW_MS = 2000;
+
+    // UI Elements
+    private DecoratedBarcodeView barcodeView;
+    private TextView tvScanResult, tvCheckedInCount, tvPendingSync;
+    private BeepManager beepManager;
+
+    // Data
+    private FirebaseFirestore db;
+    private String eventId;
+    private CheckInLog checkInLog;
+    private Set<String> attendees;  // null until loaded
+    private final Set<String> checkedIn = new HashSet<>();
+    private String lastScan;
+    private long lastScanAt;
+
+    // Log writes are fsynced, so keep them off the main thread and in order.
+    // Writes queued when the screen closes still finish.
+    private final Executor logWriter = AppExecutors.serial(AppExecutors.io());
+
+    // Permission launcher for camera
+    private final ActivityResultLauncher<String> requestPermissionLauncher =
+            registerForActivityResult(new ActivityResultContracts.RequestPermission(), isGranted -> {
+                if (isGranted) {
+                    barcodeView.resume();
+                } else {
+                    Toast.makeText(this, "Camera permission required", Toast.LENGTH_SHORT).show();
+                    finish();
+                }
+            });
+
+    private final BarcodeCallback scanCallback = new BarcodeCallback() {
+        @Override
+        public void barcodeResult(BarcodeResult result) {
+            onScan(result.getText());
+        }
+
+        @Override
+        public void possibleResultPoints(List<ResultPoint> resultPoints) {
+            // Not used
+        }
+    };
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_check_in);
+
+        // Get event ID
+        eventId = getIntent().getStringExtra("EVENT_ID");
+        if (eventId == null) {
+            Toast.makeText(this, "Error: No event ID", Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+
+        // Initialize Firebase
+        db = FirebaseFirestore.getInstance();
+        checkInLog = new CheckInLog(this, eventId);
+
+        // Initialize views
+        initViews();
+
+        // Send anything left over from an earlier session
+        CheckInSyncWorker.enqueue(this, eventId);
+        WorkManager.getInstance(this)
+                .getWorkInfosForUniqueWorkLiveData(CheckInSyncWorker.workName(eventId))
+                .observe(this, this::onSyncWorkChanged);
+
+        // Load attendees
+        loadAttendees();
+
+        if (!PermissionManager.isCameraPermissionGranted(this)) {
+            requestPermissionLauncher.launch(Manifest.permission.CAMERA);
+        }
+    }
+
+    private void initViews() {
+        barcodeView = findViewById(R.id.barcodeView);
+        tvScanResult = findViewById(R.id.tvScanResult);
+        tvCheckedInCount = findViewById(R.id.tvCheckedInCount);
+        tvPendingSync = findViewById(R.id.tvPendingSync);
+        beepManager = new BeepManager(this);
+
+        // Back button
+        findViewById(R.id.btnBack).setOnClickListener(v -> finish());
+
+        // Only QR codes, decoded continuously
+        barcodeView.getBarcodeView().setDecoderFactory(
+                new DefaultDecoderFactory(Collections.singletonList(BarcodeFormat.QR_CODE)));
+        barcodeView.setStatusText("Point the camera at an attendee's ticket");
+        barcodeView.decodeContinuous(scanCallback);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        if (PermissionManager.isCameraPermissionGranted(this)) {
+            barcodeView.resume();
+        }
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        barcodeView.pause();
+    }
+
+    /**
+     * Download the attendee list, falling back to the last saved copy offline
+     */
+    private void loadAttendees() {
+        db.collection("events").document(eventId)
+                .get()
+                .addOnSuccessListener(this, document -> {
+                    Event event = EventMapper.fromSnapshot(document);
+                    if (event == null) {
+                        Toast.makeText(this, "Event not found", Toast.LENGTH_SHORT).show();
+                        finish();
+                        return;
+                    }
+
+                    Set<String> signedUp = event.getSignedUpUsers() != null ?
+                            new HashSet<>(event.getSignedUpUsers()) : new HashSet<>();
+                    checkInLog.saveAttendees(signedUp);
+                    onAttendeesLoaded(signedUp, event.getCheckedInUsers());
+                })
+                .addOnFailureListener(this, e -> {
+                    Log.e(TAG, "Error loading attendees", e);
+                    Set<String> saved = checkInLog.loadAttendees();
+                    if (saved == null) {
+                        Toast.makeText(this, "Cannot load attendees while offline", Toast.LENGTH_SHORT).show();
+                        finish();
+                        return;
+                    }
+                    Toast.makeText(this, "Offline - using saved attendee list", Toast.LENGTH_SHORT).show();
+                    onAttendeesLoaded(saved, null);
+                });
+    }
+
+    private void onAttendeesLoaded(Set<String> signedUp, List<String> remoteCheckedIn) {
+        Tasks.call(logWriter, checkInLog::loadCheckedIn)
+                .addOnCompleteListener(this, task -> {
+                    if (task.isSuccessful()) {
+                        checkedIn.addAll(task.getResult());
+                    } else {
+                        Log.e(TAG, "Error reading check-in log", task.getException());
+                    }
+                    if (remoteCheckedIn != null) {
+                        checkedIn.addAll(remoteCheckedIn);
+                    }
+
+                    attendees = signedUp;
+                    tvScanResult.setText("Ready to scan");
+                    updateCount();
+                    Log.d(TAG, "✅ Loaded " + attendees.size() + " attendees, "
+                            + checkedIn.size() + " already checked in");
+                });
+    }
+
+    /**
+     * Validate a scanned ticket against the local attendee list
+     */
+    private void onScan(String content) {
+        if (attendees == null || content == null) {
+            return;
+        }
+
+        String userId = content.trim();
+        long now = SystemClock.elapsedRealtime();
+        if (userId.equals(lastScan) && now - lastScanAt < REPEAT_SCAN_WINDOW_MS) {
+            return;
+        }
+        lastScan = userId;
+        lastScanAt = now;
+
+        if (!attendees.contains(userId)) {
+            tvScanResult.setText("❌ Not on the attendee list");
+            return;
+        }
+
+        if (!checkedIn.add(userId)) {
+            tvScanResult.setText("⚠️ Already checked in");
+            return;
+        }
+
+        updateCount();
+        recordCheckIn(userId);
+    }
+
+    /**
+     * Log the check-in and confirm it once it is on disk
+     */
+    private void recordCheckIn(String userId) {
+        long timestamp = System.currentTimeMillis();
+        Context appContext = getApplicationContext();
+        Tasks.call(logWriter, () -> {
+            checkInLog.append(userId, timestamp);
+            // Queued here so it happens even if the screen has closed
+            CheckInSyncWorker.enqueue(appContext, eventId);
+            return null;
+        }).addOnSuccessListener(this, unused -> {
+            tvScanResult.setText("✅ Checked in");
+            beepManager.playBeepSoundAndVibrate();
+            refreshPendingCount();
+        }).addOnFailureListener(this, e -> {
+            Log.e(TAG, "❌ Error saving check-in for " + userId, e);
+            // Let the attendee be scanned again
+            checkedIn.remove(userId);
+            updateCount();
+            tvScanResult.setText("❌ Check-in not saved, scan again");
+            Toast.makeText(this, "Error saving check-in", Toast.LENGTH_SHORT).show();
+        });
+    }
+
+    /**
+     * A check-in logged just as a sync finished is not picked up by it, and
+     * its enqueue was ignored while that sync ran, so look again once it ends
+     */
+    private void onSyncWorkChanged(List<WorkInfo> infos) {
+        boolean synced = false;
+        for (WorkInfo info : infos) {
+            if (!info.getState().isFinished()) {
+                refreshPendingCount();
+                return;
+            }
+            synced |= info.getState() == WorkInfo.State.SUCCEEDED;
+        }
+        if (!synced) {
+            // A failed sync is not retried from here
+            refreshPendingCount();
+            return;
+        }
+        Tasks.call(logWriter, checkInLog::getPendingCount)
+                .addOnSuccessListener(this, pending -> {
+                    if (pending > 0) {
+                        CheckInSyncWorker.enqueue(this, eventId);
+                    }
+                    showPendingCount(pending);
+                });
+    }
+
+    private void refreshPendingCount() {
+        Tasks.call(logWriter, checkInLog::getPendingCount)
+                .addOnSuccessListener(this, this::showPendingCount);
+    }
+
+    private void showPendingCount(int pending) {
+        tvPendingSync.setText(pending == 0 ?
+                "All check-ins synced" : pending + " check-ins waiting to sync");
+    }
+
+    private void updateCount() {
+        int total = attendees != null ? attendees.size() : 0;
+        tvCheckedInCount.setText("Checked in: " + checkedIn.size() + " / " + total);
+    }
+}
@@ -3,7 +3,6 @@ package com.example.event_app.activities.organizer;
 import android.app.DatePickerDialog;
 import android.app.TimePickerDialog;
 import android.content.Intent;
-import android.graphics.Bitmap;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -21,18 +20,17 @@ import com.bumptech.glide.Glide;
 import com.example.event_app.R;
 import com.example.event_app.activities.entrant.MainActivity;
 import com.example.event_app.models.Event;
+import com.example.event_app.utils.PosterUploadWorker;
+import com.example.event_app.utils.QrCodeRenderer;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
 
-import java.io.ByteArrayOutputStream;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -52,6 +50,8 @@ public class CreateEventActivity extends AppCompatActivity {
 
     private static final String TAG = "CreateEventActivity";
 
+    private static final int QR_CODE_SIZE = 512;
+
     // UI Elements
     private TextInputEditText editEventName, editDescription, editLocation, editCapacity;
     private MaterialButton btnSelectPoster, btnSelectEventDate, btnSelectRegStart, btnSelectRegEnd;
@@ -68,6 +68,9 @@ public class CreateEventActivity extends AppCompatActivity {
     private Uri posterUri;
     private Date eventDate, regStartDate, regEndDate;
 
+    // Copy of the picked poster into app storage, done before we may finish
+    private Task<Void> posterQueued = Tasks.forResult(null);
+
     // Image picker launcher
     private final ActivityResultLauncher<Intent> imagePickerLauncher =
             registerForActivityResult(new ActivityResultContracts.StartActivityForResult(), result -> {
@@ -245,12 +248,7 @@ public class CreateEventActivity extends AppCompatActivity {
                         event.setOrganizerName(organizerName);
                     }
 
-                    // Upload poster if selected
-                    if (posterUri != null) {
-                        uploadPosterAndCreateEvent(eventId, event);
-                    } else {
-                        saveEventToFirestore(eventId, event);
-                    }
+                    saveEventToFirestore(eventId, event);
                 });
     }
 
@@ -276,30 +274,17 @@ public class CreateEventActivity extends AppCompatActivity {
     }
 
     /**
-     * Upload poster to Firebase Storage
+     * Hand the poster to a background upload; it is patched onto the event when done
      */
-    private void uploadPosterAndCreateEvent(String eventId, Event event) {
-        StorageReference posterRef = storage.getReference()
-                .child("event_posters")
-                .child(eventId + ".jpg");
-
-        posterRef.putFile(posterUri)
-                .addOnSuccessListener(taskSnapshot -> {
-                    // Get download URL
-                    posterRef.getDownloadUrl().addOnSuccessListener(uri -> {
-                        event.setPosterUrl(uri.toString());
-                        saveEventToFirestore(eventId, event);
-                    });
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error uploading poster", e);
-                    Toast.makeText(this, "Failed to upload poster, creating event without it", Toast.LENGTH_SHORT).show();
-                    saveEventToFirestore(eventId, event);
-                });
+    private Task<Void> queuePosterUpload(String eventId) {
+        return PosterUploadWorker.enqueue(this, eventId, posterUri)
+                .addOnFailureListener(e -> Log.e(TAG, "❌ Error queuing poster upload", e));
     }
 
     /**
-     * Save event to Firestore and generate QR code
+     * Save event to Firestore, queue the poster upload and generate QR code.
+     * Firestore queues the write while offline, so the poster is queued
+     * straight away rather than after the server confirms it.
      */
     private void saveEventToFirestore(String eventId, Event event) {
         db.collection("events").document(eventId)
@@ -315,58 +300,50 @@ public class CreateEventActivity extends AppCompatActivity {
                     hideLoading();
                     Toast.makeText(this, "Failed to create event", Toast.LENGTH_SHORT).show();
                 });
+
+        // Upload poster if selected; the picked image is copied while this activity is alive
+        if (posterUri != null) {
+            posterQueued = queuePosterUpload(eventId);
+        }
     }
 
     /**
      * US 02.01.01: Generate QR code for event
      */
     private void generateAndUploadQRCode(String eventId) {
-        try {
-            // Generate QR code bitmap
-            QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix bitMatrix = writer.encode(eventId, BarcodeFormat.QR_CODE, 512, 512);
-
-            int width = bitMatrix.getWidth();
-            int height = bitMatrix.getHeight();
-            Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
-
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    bitmap.setPixel(x, y, bitMatrix.get(x, y) ? 0xFF000000 : 0xFFFFFFFF);
-                }
-            }
+        // Render and encode on a worker thread
+        QrCodeRenderer.renderPng(eventId, QR_CODE_SIZE)
+                .continueWithTask(renderTask -> {
+                    if (!renderTask.isSuccessful()) {
+                        throw renderTask.getException();
+                    }
 
-            // Convert to byte array
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            bitmap.compress(Bitmap.CompressFormat.PNG, 100, baos);
-            byte[] data = baos.toByteArray();
-
-            // Upload to Firebase Storage
-            StorageReference qrRef = storage.getReference()
-                    .child("qr_codes")
-                    .child(eventId + ".png");
-
-            qrRef.putBytes(data)
-                    .addOnSuccessListener(taskSnapshot -> {
-                        Log.d(TAG, "✅ QR code uploaded");
-                        hideLoading();
-                        showSuccessAndNavigate();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "❌ Error uploading QR code", e);
-                        hideLoading();
-                        // Still show success even if QR upload fails
-                        showSuccessAndNavigate();
-                    });
-
-        } catch (WriterException e) {
-            Log.e(TAG, "Error generating QR code", e);
-            hideLoading();
-            showSuccessAndNavigate();
-        }
+                    // Upload to Firebase Storage
+                    StorageReference qrRef = storage.getReference()
+                            .child("qr_codes")
+                            .child(eventId + ".png");
+                    return qrRef.putBytes(renderTask.getResult());
+                })
+                .addOnSuccessListener(taskSnapshot -> {
+                    Log.d(TAG, "✅ QR code uploaded");
+                    hideLoading();
+                    showSuccessAndNavigate();
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "❌ Error generating or uploading QR code", e);
+                    hideLoading();
+                    // Still show success even if QR upload fails
+                    showSuccessAndNavigate();
+                });
     }
 
     private void showSuccessAndNavigate() {
+        // Stay until the picked poster is copied, its read permission ends with us
+        if (!posterQueued.isComplete()) {
+            posterQueued.addOnCompleteListener(this, task -> showSuccessAndNavigate());
+            return;
+        }
+
         Toast.makeText(this, "Event created successfully! 🎉", Toast.LENGTH_LONG).show();
 
         // Go back to main activity
@@ -5,10 +5,12 @@ import android.content.Intent;
 import android.net.Uri;
 import android.os.Bundle;
 import android.os.Environment;
+import android.os.SystemClock;
 import android.provider.MediaStore;
 import android.util.Log;
 import android.view.View;
 import android.widget.EditText;
+import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -21,13 +23,24 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.example.event_app.R;
 import com.example.event_app.adapters.EntrantListAdapter;
+import com.example.event_app.data.EventMapper;
+import com.example.event_app.data.UserMapper;
 import com.example.event_app.models.Event;
 import com.example.event_app.models.User;
+import com.example.event_app.utils.EventSyncEngine;
+import com.example.event_app.utils.FirestoreReads;
+import com.example.event_app.utils.PosterUploader;
+import com.example.event_app.utils.QrCodeRenderer;
+import com.example.event_app.utils.SingleFlight;
+import com.example.event_app.utils.TaskScope;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.tabs.TabLayout;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
 import com.google.firebase.storage.FirebaseStorage;
-import com.google.firebase.storage.StorageReference;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -54,9 +67,17 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
 
     private static final String TAG = "OrganizerEventDetails";
 
+    private final TaskScope scope = TaskScope.of(this);
+
+    private static final int QR_CODE_SIZE = 512;
+
+    // Coming back to the screen sooner than this keeps the event already shown
+    private static final long REFRESH_AFTER_MS = 30 * 1000;
+
     // UI Elements
     private TextView tvEventName, tvCapacity, tvWaitingCount, tvSelectedCount, tvAttendingCount;
     private MaterialButton btnRunLottery, btnCancelSelected, btnExportCSV, btnUpdatePoster, btnSendMessage;
+    private MaterialButton btnShowQR, btnCheckIn;
     private RecyclerView rvEntrants;
     private TabLayout tabLayout;
     private View loadingView, lotterySection, toolsSection;
@@ -68,6 +89,7 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
     private Event event;
     private EntrantListAdapter adapter;
     private String currentTab = "waiting"; // waiting, selected, attending
+    private long loadedAt;  // elapsedRealtime of the last load
 
     // Image picker
     private Uri newPosterUri;
@@ -120,6 +142,8 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
         btnExportCSV = findViewById(R.id.btnExportCSV);
         btnUpdatePoster = findViewById(R.id.btnUpdatePoster);
         btnSendMessage = findViewById(R.id.btnSendMessage);
+        btnShowQR = findViewById(R.id.btnShowQR);
+        btnCheckIn = findViewById(R.id.btnCheckIn);
         rvEntrants = findViewById(R.id.rvEntrants);
         tabLayout = findViewById(R.id.tabLayout);
         loadingView = findViewById(R.id.loadingView);
@@ -135,6 +159,8 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
         btnExportCSV.setOnClickListener(v -> exportToCSV());
         btnUpdatePoster.setOnClickListener(v -> selectNewPoster());
         btnSendMessage.setOnClickListener(v -> showMessageDialog());
+        btnShowQR.setOnClickListener(v -> showQrCode());
+        btnCheckIn.setOnClickListener(v -> openCheckIn());
     }
 
     private void setupTabs() {
@@ -169,24 +195,32 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
 
     private void loadEventDetails() {
         showLoading();
-
-        db.collection("events").document(eventId)
-                .get()
-                .addOnSuccessListener(document -> {
-                    if (document.exists()) {
-                        event = document.toObject(Event.class);
-                        if (event != null) {
-                            event.setId(document.getId());
-                            displayEventInfo();
-                            displayEntrants();
+        loadedAt = SystemClock.elapsedRealtime();
+
+        FirestoreReads.get("organizer_event", db.collection("events").document(eventId),
+                new FirestoreReads.Listener<DocumentSnapshot>() {
+                    @Override
+                    public void onResult(DocumentSnapshot document, boolean fromCache) {
+                        if (isFinishing()) {
+                            return;
+                        }
+                        if (document.exists()) {
+                            event = EventMapper.fromSnapshot(document);
+                            if (event != null) {
+                                event.setId(document.getId());
+                                displayEventInfo();
+                                displayEntrants();
+                            }
                         }
+                        hideLoading();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e(TAG, "Error loading event", e);
+                        Toast.makeText(OrganizerEventDetailsActivity.this, "Error loading event", Toast.LENGTH_SHORT).show();
+                        hideLoading();
                     }
-                    hideLoading();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading event", e);
-                    Toast.makeText(this, "Error loading event", Toast.LENGTH_SHORT).show();
-                    hideLoading();
                 });
     }
 
@@ -288,32 +322,56 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
     private void runLottery(int numberOfWinners) {
         btnRunLottery.setEnabled(false);
 
-        List<String> waitingList = new ArrayList<>(event.getWaitingList());
-        Collections.shuffle(waitingList);
-        List<String> winners = waitingList.subList(0, Math.min(numberOfWinners, waitingList.size()));
-
-        if (event.getSelectedList() == null) {
-            event.setSelectedList(new ArrayList<>());
-        }
-
-        for (String winner : winners) {
-            if (!event.getSelectedList().contains(winner)) {
-                event.getSelectedList().add(winner);
+        // Winners are drawn from the waiting list as the server has it, so
+        // nobody who left meanwhile is picked. Only the winners are sent.
+        // Resolves to the selected list the transaction wrote.
+        DocumentReference eventRef = db.collection("events").document(eventId);
+        int[] drawn = new int[1];
+        db.runTransaction(transaction -> {
+            Event current = EventMapper.fromSnapshot(transaction.get(eventRef));
+            if (current == null) {
+                throw new FirebaseFirestoreException("Event was deleted",
+                        FirebaseFirestoreException.Code.NOT_FOUND);
             }
-        }
 
-        db.collection("events").document(eventId)
-                .update("selectedList", event.getSelectedList(),
-                        "totalSelected", event.getSelectedList().size())
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "✅ Lottery completed: " + winners.size() + " winners selected");
-                    Toast.makeText(this, winners.size() + " winners selected! 🎉", Toast.LENGTH_LONG).show();
-                    loadEventDetails();
+            List<String> candidates = current.getWaitingList() != null ?
+                    new ArrayList<>(current.getWaitingList()) : new ArrayList<>();
+            if (current.getSelectedList() != null) {
+                candidates.removeAll(current.getSelectedList());
+            }
+            Collections.shuffle(candidates);
+            List<String> winners = new ArrayList<>(
+                    candidates.subList(0, Math.min(numberOfWinners, candidates.size())));
+
+            List<String> selected = current.getSelectedList() != null ?
+                    new ArrayList<>(current.getSelectedList()) : new ArrayList<>();
+            selected.addAll(winners);
+            if (!winners.isEmpty()) {
+                // totalSelected follows the list, so it can't drift from it
+                transaction.update(eventRef,
+                        "selectedList", FieldValue.arrayUnion(winners.toArray()),
+                        "totalSelected", selected.size(),
+                        EventSyncEngine.UPDATED_AT, FieldValue.serverTimestamp());
+            }
+            drawn[0] = winners.size();
+            return selected;
+        })
+                .addOnSuccessListener(this, selected -> {
+                    Log.d(TAG, "✅ Lottery completed: " + drawn[0] + " winners selected");
+                    Toast.makeText(this, drawn[0] + " winners selected! 🎉", Toast.LENGTH_LONG).show();
+
+                    // Apply the same change locally instead of re-reading the event
+                    event.setSelectedList(selected);
+                    event.setTotalSelected(selected.size());
+                    btnRunLottery.setEnabled(true);
+                    displayEventInfo();
+                    displayEntrants();
                 })
-                .addOnFailureListener(e -> {
+                .addOnFailureListener(this, e -> {
                     Log.e(TAG, "❌ Error running lottery", e);
                     Toast.makeText(this, "Failed to run lottery", Toast.LENGTH_SHORT).show();
                     btnRunLottery.setEnabled(true);
+                    reloadIfConflict(e);
                 });
     }
 
@@ -350,22 +408,71 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
             return;
         }
 
-        event.getSelectedList().removeAll(toCancel);
-        int newCancelledCount = event.getTotalCancelled() + toCancel.size();
+        // Who to cancel is decided again from the server's lists, in case
+        // someone signed up since this screen was loaded
+        DocumentReference eventRef = db.collection("events").document(eventId);
+        db.runTransaction(transaction -> {
+            Event current = EventMapper.fromSnapshot(transaction.get(eventRef));
+            if (current == null) {
+                throw new FirebaseFirestoreException("Event was deleted",
+                        FirebaseFirestoreException.Code.NOT_FOUND);
+            }
 
-        db.collection("events").document(eventId)
-                .update("selectedList", event.getSelectedList(),
-                        "totalCancelled", newCancelledCount)
-                .addOnSuccessListener(aVoid -> {
-                    Toast.makeText(this, toCancel.size() + " entrants cancelled", Toast.LENGTH_SHORT).show();
-                    loadEventDetails();
+            List<String> signedUp = current.getSignedUpUsers() != null ?
+                    current.getSignedUpUsers() : new ArrayList<>();
+            List<String> cancelled = new ArrayList<>();
+            if (current.getSelectedList() != null) {
+                for (String userId : current.getSelectedList()) {
+                    if (!signedUp.contains(userId)) {
+                        cancelled.add(userId);
+                    }
+                }
+            }
+
+            if (!cancelled.isEmpty()) {
+                transaction.update(eventRef,
+                        "selectedList", FieldValue.arrayRemove(cancelled.toArray()),
+                        "totalCancelled", FieldValue.increment(cancelled.size()),
+                        EventSyncEngine.UPDATED_AT, FieldValue.serverTimestamp());
+            }
+            return cancelled;
+        })
+                .addOnSuccessListener(this, cancelled -> {
+                    if (cancelled.isEmpty()) {
+                        Toast.makeText(this, "Everyone has already signed up!", Toast.LENGTH_SHORT).show();
+                        return;
+                    }
+                    Toast.makeText(this, cancelled.size() + " entrants cancelled", Toast.LENGTH_SHORT).show();
+
+                    // Apply the same change locally instead of re-reading the event
+                    event.getSelectedList().removeAll(cancelled);
+                    event.setTotalCancelled(event.getTotalCancelled() + cancelled.size());
+                    displayEventInfo();
+                    displayEntrants();
                 })
-                .addOnFailureListener(e -> {
+                .addOnFailureListener(this, e -> {
                     Log.e(TAG, "Error cancelling entrants", e);
                     Toast.makeText(this, "Failed to cancel entrants", Toast.LENGTH_SHORT).show();
+                    reloadIfConflict(e);
                 });
     }
 
+    /**
+     * The local event is only re-read when the server disagrees with it,
+     * e.g. the event was deleted meanwhile
+     */
+    private void reloadIfConflict(Exception e) {
+        if (!(e instanceof FirebaseFirestoreException)) {
+            return;
+        }
+        FirebaseFirestoreException.Code code = ((FirebaseFirestoreException) e).getCode();
+        if (code == FirebaseFirestoreException.Code.NOT_FOUND
+                || code == FirebaseFirestoreException.Code.ABORTED
+                || code == FirebaseFirestoreException.Code.FAILED_PRECONDITION) {
+            loadEventDetails();
+        }
+    }
+
     /**
      * US 02.06.05: Export entrants to CSV
      */
@@ -413,11 +520,11 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
         final int[] completed = {0};
 
         for (String userId : userIds) {
-            db.collection("users").document(userId)
-                    .get()
-                    .addOnSuccessListener(document -> {
+            // Shares reads the entrant list already has in flight
+            SingleFlight.get(db.collection("users").document(userId))
+                    .addOnSuccessListener(scope.onSuccess(document -> {
                         if (document.exists()) {
-                            User user = document.toObject(User.class);
+                            User user = UserMapper.fromSnapshot(document);
                             if (user != null) {
                                 users.add(user);
                             }
@@ -429,8 +536,8 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
                         if (completed[0] == totalUsers) {
                             createCSVFile(users, finalListName);
                         }
-                    })
-                    .addOnFailureListener(e -> {
+                    }))
+                    .addOnFailureListener(scope.onFailure(e -> {
                         Log.e(TAG, "Error fetching user", e);
                         completed[0]++;
 
@@ -438,7 +545,7 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
                         if (completed[0] == totalUsers) {
                             createCSVFile(users, finalListName);
                         }
-                    });
+                    }));
         }
     }
 
@@ -495,27 +602,92 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
         btnUpdatePoster.setEnabled(false);
         Toast.makeText(this, "Uploading new poster...", Toast.LENGTH_SHORT).show();
 
-        StorageReference posterRef = storage.getReference()
-                .child("event_posters")
-                .child(eventId + ".jpg");
-
-        posterRef.putFile(newPosterUri)
-                .addOnSuccessListener(taskSnapshot -> {
-                    posterRef.getDownloadUrl().addOnSuccessListener(uri -> {
-                        db.collection("events").document(eventId)
-                                .update("posterUrl", uri.toString())
-                                .addOnSuccessListener(aVoid -> {
-                                    Toast.makeText(this, "Poster updated! ✅", Toast.LENGTH_SHORT).show();
-                                    event.setPosterUrl(uri.toString());
-                                    btnUpdatePoster.setEnabled(true);
-                                });
-                    });
+        PosterUploader uploader = new PosterUploader(storage);
+        String oldPosterUrl = event.getPosterUrl();
+        String oldVersion = event.getPosterVersion();
+
+        uploader.upload(getContentResolver(), eventId, newPosterUri)
+                .addOnSuccessListener(poster -> {
+                    db.collection("events").document(eventId)
+                            .update("posterUrl", poster.url,
+                                    "posterVersion", poster.version,
+                                    "posterBlurHash", poster.blurHash,
+                                    EventSyncEngine.UPDATED_AT, FieldValue.serverTimestamp())
+                            .addOnSuccessListener(aVoid -> {
+                                Toast.makeText(this, "Poster updated! ✅", Toast.LENGTH_SHORT).show();
+                                event.setPosterUrl(poster.url);
+                                event.setPosterVersion(poster.version);
+                                event.setPosterBlurHash(poster.blurHash);
+                                btnUpdatePoster.setEnabled(true);
+
+                                // This event no longer uses the old poster
+                                uploader.release(oldPosterUrl, oldVersion);
+                            })
+                            .addOnFailureListener(e -> {
+                                Log.e(TAG, "Error saving poster", e);
+                                uploader.release(poster.url, poster.version);
+                                Toast.makeText(this, "Failed to update poster", Toast.LENGTH_SHORT).show();
+                                btnUpdatePoster.setEnabled(true);
+                            });
                 })
-                .addOnFailureListener(e -> {
+                .addOnFailureListener(scope.onFailure(e -> {
                     Log.e(TAG, "Error uploading poster", e);
                     Toast.makeText(this, "Failed to update poster", Toast.LENGTH_SHORT).show();
                     btnUpdatePoster.setEnabled(true);
-                });
+                }));
+    }
+
+    /**
+     * US 02.01.01: Show the event's QR code so it can be displayed or shared
+     */
+    private void showQrCode() {
+        btnShowQR.setEnabled(false);
+
+        QrCodeRenderer.render(eventId, QR_CODE_SIZE)
+                .addOnSuccessListener(scope.onSuccess(bitmap -> {
+                    btnShowQR.setEnabled(true);
+                    if (isFinishing()) return;
+
+                    ImageView qrView = new ImageView(this);
+                    qrView.setImageBitmap(bitmap);
+                    qrView.setAdjustViewBounds(true);
+
+                    new AlertDialog.Builder(this)
+                            .setTitle(event != null ? event.getName() : "Event QR Code")
+                            .setView(qrView)
+                            .setPositiveButton("Share", (dialog, which) -> shareQrCode())
+                            .setNegativeButton("Close", null)
+                            .show();
+                }))
+                .addOnFailureListener(scope.onFailure(e -> {
+                    Log.e(TAG, "Error rendering QR code", e);
+                    btnShowQR.setEnabled(true);
+                    Toast.makeText(this, "Failed to generate QR code", Toast.LENGTH_SHORT).show();
+                }));
+    }
+
+    private void shareQrCode() {
+        QrCodeRenderer.renderForSharing(this, eventId, QR_CODE_SIZE)
+                .addOnSuccessListener(scope.onSuccess(uri -> {
+                    Intent shareIntent = new Intent(Intent.ACTION_SEND);
+                    shareIntent.setType("image/png");
+                    shareIntent.putExtra(Intent.EXTRA_STREAM, uri);
+                    shareIntent.addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
+                    startActivity(Intent.createChooser(shareIntent, "Share QR Code"));
+                }))
+                .addOnFailureListener(scope.onFailure(e -> {
+                    Log.e(TAG, "Error sharing QR code", e);
+                    Toast.makeText(this, "Failed to share QR code", Toast.LENGTH_SHORT).show();
+                }));
+    }
+
+    /**
+     * Open door check-in for this event
+     */
+    private void openCheckIn() {
+        Intent intent = new Intent(this, CheckInActivity.class);
+        intent.putExtra("EVENT_ID", eventId);
+        startActivity(intent);
     }
 
     /**
@@ -581,6 +753,9 @@ public class OrganizerEventDetailsActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        loadEventDetails();
+        // onCreate has just loaded it, or we're back from the picker or a share
+        if (SystemClock.elapsedRealtime() - loadedAt > REFRESH_AFTER_MS) {
+            loadEventDetails();
+        }
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.example.event_app.activities.organizer;
 
 import android.content.Intent;
+import android.net.Uri;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
 import android.widget.ProgressBar;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -13,12 +15,17 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.event_app.R;
 import com.example.event_app.adapters.OrganizerEventsAdapter;
+import com.example.event_app.data.EventMapper;
 import com.example.event_app.models.Event;
+import com.example.event_app.utils.FirestoreReads;
+import com.example.event_app.utils.QrSheetExporter;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,6 +37,7 @@ import java.util.List;
  * - See all their events
  * - Tap to manage each event
  * - Create new events
+ * - Export a printable sheet of QR codes for all their events
  */
 public class OrganizerEventsActivity extends AppCompatActivity {
 
@@ -39,7 +47,7 @@ public class OrganizerEventsActivity extends AppCompatActivity {
     private RecyclerView rvEvents;
     private ProgressBar progressBar;
     private TextView tvEmptyState;
-    private MaterialButton btnRetry;
+    private MaterialButton btnRetry, btnQrSheet;
     private View emptyView, errorView;
     private FloatingActionButton fabCreateEvent;
 
@@ -47,6 +55,7 @@ public class OrganizerEventsActivity extends AppCompatActivity {
     private OrganizerEventsAdapter adapter;
     private FirebaseFirestore db;
     private FirebaseAuth mAuth;
+    private List<Event> myEvents = new ArrayList<>();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -72,6 +81,7 @@ public class OrganizerEventsActivity extends AppCompatActivity {
         progressBar = findViewById(R.id.progressBar);
         tvEmptyState = findViewById(R.id.tvEmptyState);
         btnRetry = findViewById(R.id.btnRetry);
+        btnQrSheet = findViewById(R.id.btnQrSheet);
         emptyView = findViewById(R.id.emptyView);
         errorView = findViewById(R.id.errorView);
         fabCreateEvent = findViewById(R.id.fabCreateEvent);
@@ -82,6 +92,9 @@ public class OrganizerEventsActivity extends AppCompatActivity {
         // Retry button
         btnRetry.setOnClickListener(v -> loadMyEvents());
 
+        // QR sheet button
+        btnQrSheet.setOnClickListener(v -> exportQrSheet());
+
         // Create event FAB
         fabCreateEvent.setOnClickListener(v -> {
             Intent intent = new Intent(this, CreateEventActivity.class);
@@ -103,31 +116,63 @@ public class OrganizerEventsActivity extends AppCompatActivity {
 
         String userId = mAuth.getCurrentUser().getUid();
 
-        db.collection("events")
+        Query query = db.collection("events")
                 .whereEqualTo("organizerId", userId)
-                .orderBy("createdAt", com.google.firebase.firestore.Query.Direction.DESCENDING)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    List<Event> events = new ArrayList<>();
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Event event = document.toObject(Event.class);
-                        event.setId(document.getId());
-                        events.add(event);
-                    }
-
-                    if (events.isEmpty()) {
-                        showEmpty();
-                    } else {
-                        showEvents(events);
-                    }
-
-                    Log.d(TAG, "Loaded " + events.size() + " events");
+                .orderBy("createdAt", Query.Direction.DESCENDING);
+
+        FirestoreReads.get("organizer_events", query, new FirestoreReads.Listener<QuerySnapshot>() {
+            @Override
+            public void onResult(QuerySnapshot queryDocumentSnapshots, boolean fromCache) {
+                List<Event> events = new ArrayList<>();
+
+                for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
+                    Event event = EventMapper.fromSnapshot(document);
+                    event.setId(document.getId());
+                    events.add(event);
+                }
+
+                myEvents = events;
+                btnQrSheet.setEnabled(!events.isEmpty());
+
+                if (events.isEmpty()) {
+                    showEmpty();
+                } else {
+                    showEvents(events);
+                }
+
+                Log.d(TAG, "Loaded " + events.size() + " events" + (fromCache ? " from cache" : ""));
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.e(TAG, "Error loading events", e);
+                showError("Failed to load events. Please try again.");
+            }
+        });
+    }
+
+    /**
+     * US 02.01.01: Printable QR codes for all of this organizer's events
+     */
+    private void exportQrSheet() {
+        btnQrSheet.setEnabled(false);
+        Toast.makeText(this, "Generating QR sheet...", Toast.LENGTH_SHORT).show();
+
+        QrSheetExporter.export(this, myEvents)
+                .addOnSuccessListener(this, this::shareQrSheet)
+                .addOnFailureListener(this, e -> {
+                    Log.e(TAG, "Error exporting QR sheet", e);
+                    Toast.makeText(this, "Failed to generate QR sheet", Toast.LENGTH_SHORT).show();
                 })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading events", e);
-                    showError("Failed to load events. Please try again.");
-                });
+                .addOnCompleteListener(this, task -> btnQrSheet.setEnabled(!myEvents.isEmpty()));
+    }
+
+    private void shareQrSheet(Uri sheetUri) {
+        Intent shareIntent = new Intent(Intent.ACTION_SEND);
+        shareIntent.setType("application/pdf");
+        shareIntent.putExtra(Intent.EXTRA_STREAM, sheetUri);
+        shareIntent.addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        startActivity(Intent.createChooser(shareIntent, "Share QR Sheet"));
     }
 
     private void showLoading() {
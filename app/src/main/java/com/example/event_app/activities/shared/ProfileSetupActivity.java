@@ -13,6 +13,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.event_app.R;
 import com.example.event_app.activities.entrant.MainActivity;
 import com.example.event_app.models.User;
+import com.example.event_app.utils.RoleCache;
 import com.example.event_app.utils.UserRole;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
@@ -175,6 +176,7 @@ public class ProfileSetupActivity extends AppCompatActivity {
                 .set(user)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "✅ Profile created successfully");
+                    RoleCache.save(this, user);
                     Toast.makeText(this, "Welcome to LuckySpot!", Toast.LENGTH_SHORT).show();
 
                     // Navigate to MainActivity
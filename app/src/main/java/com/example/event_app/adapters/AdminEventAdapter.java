@@ -1,5 +1,6 @@
 package com.example.event_app.adapters;
 
+import android.content.Context;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,12 +11,11 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.event_app.R;
 import com.example.event_app.models.Event;
+import com.example.event_app.models.EventCardUiModel;
+import com.example.event_app.utils.AppExecutors;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * AdminEventAdapter - Displays events for admin with detailed info
@@ -24,11 +24,16 @@ import java.util.Locale;
  */
 public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.AdminEventViewHolder> {
 
-    private List<Event> events;
+    private final Context context;
+    private List<EventCardUiModel> items;
     private OnEventClickListener listener;
 
-    public AdminEventAdapter() {
-        this.events = new ArrayList<>();
+    // Incremented per setEvents(), so an older mapping is dropped
+    private int mapRun;
+
+    public AdminEventAdapter(Context context) {
+        this.context = context.getApplicationContext();
+        this.items = new ArrayList<>();
     }
 
     @NonNull
@@ -41,20 +46,30 @@ public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.Ad
 
     @Override
     public void onBindViewHolder(@NonNull AdminEventViewHolder holder, int position) {
-        holder.bind(events.get(position));
+        holder.bind(items.get(position));
     }
 
     @Override
     public int getItemCount() {
-        return events.size();
+        return items.size();
     }
 
     /**
-     * Update the list of events
+     * Update the list of events. They are mapped to cards in the background.
      */
     public void setEvents(List<Event> events) {
-        this.events = events;
-        notifyDataSetChanged();
+        // The compute pool reads copies, never the caller's events
+        List<Event> snapshot = Event.copyAll(events);
+        int run = ++mapRun;
+        AppExecutors.compute().execute(() -> {
+            List<EventCardUiModel> models = EventCardUiModel.forAdmin(context, snapshot);
+            AppExecutors.main().execute(() -> {
+                if (run == mapRun) {
+                    items = models;
+                    notifyDataSetChanged();
+                }
+            });
+        });
     }
 
     /**
@@ -71,6 +86,7 @@ public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.Ad
 
         private TextView tvName, tvDescription, tvStatus;
         private TextView tvOrganizer, tvDate, tvEntrantCount, tvWarning;
+        private EventCardUiModel item;
 
         public AdminEventViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -82,79 +98,39 @@ public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.Ad
             tvDate = itemView.findViewById(R.id.tvAdminEventDate);
             tvEntrantCount = itemView.findViewById(R.id.tvAdminEntrantCount);
             tvWarning = itemView.findViewById(R.id.tvAdminWarning);
+
+            // Click listener - open event details
+            itemView.setOnClickListener(v -> {
+                if (listener != null && item != null) {
+                    listener.onEventClick(item.event);
+                }
+            });
         }
 
-        public void bind(Event event) {
-            // Event name
-            tvName.setText(event.getName());
+        public void bind(EventCardUiModel item) {
+            this.item = item;
+            tvName.setText(item.name);
+            tvName.setTextColor(item.nameColor);
 
-            // Description
-            String description = event.getDescription();
-            if (description != null && !description.isEmpty()) {
-                tvDescription.setText(description);
+            if (item.description != null) {
+                tvDescription.setText(item.description);
                 tvDescription.setVisibility(View.VISIBLE);
             } else {
                 tvDescription.setVisibility(View.GONE);
             }
 
-            // Status
-            String status = event.getStatus() != null ? event.getStatus().toUpperCase() : "ACTIVE";
-            tvStatus.setText(status);
-
-            // Status color
-            int statusColor;
-            switch (status.toLowerCase()) {
-                case "active":
-                    statusColor = android.R.color.holo_green_dark;
-                    break;
-                case "inactive":
-                    statusColor = android.R.color.darker_gray;
-                    break;
-                case "completed":
-                    statusColor = android.R.color.holo_blue_dark;
-                    break;
-                default:
-                    statusColor = android.R.color.holo_orange_dark;
-            }
-            tvStatus.setBackgroundColor(itemView.getContext().getColor(statusColor));
+            tvStatus.setText(item.status);
+            tvStatus.setBackgroundColor(item.statusColor);
+            tvOrganizer.setText(item.organizer);
+            tvDate.setText(item.date);
+            tvEntrantCount.setText(item.entrantCount);
 
-            // Organizer
-            String organizer = event.getOrganizerName();
-            if (organizer != null && !organizer.isEmpty()) {
-                tvOrganizer.setText(organizer);
-            } else {
-                tvOrganizer.setText("Unknown");
-            }
-
-            // Date
-            Date eventDate = event.getEventDate();
-            if (eventDate != null) {
-                SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-                tvDate.setText(dateFormat.format(eventDate));
-            } else {
-                tvDate.setText("No date");
-            }
-
-            // Entrant count
-            tvEntrantCount.setText(String.valueOf(event.getEntrantCount()));
-
-            // Warning for high cancellation
-            if (event.hasHighCancellationRate()) {
+            if (item.warning != null) {
                 tvWarning.setVisibility(View.VISIBLE);
-                tvWarning.setText(String.format("⚠️ High cancellation (%.0f%%)",
-                        event.getCancellationRate()));
-                tvName.setTextColor(itemView.getContext().getColor(android.R.color.holo_red_dark));
+                tvWarning.setText(item.warning);
             } else {
                 tvWarning.setVisibility(View.GONE);
-                tvName.setTextColor(itemView.getContext().getColor(android.R.color.black));
             }
-
-            // Click listener - open event details
-            itemView.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onEventClick(event);
-                }
-            });
         }
     }
 
@@ -1,6 +1,8 @@
 package com.example.event_app.adapters;
 
 import android.content.Context;
+import android.util.Log;
+import android.util.LruCache;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,27 +12,66 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.event_app.R;
+import com.example.event_app.data.UserMapper;
 import com.example.event_app.models.User;
+import com.example.event_app.utils.SingleFlight;
+import com.example.event_app.utils.TaskScope;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * EntrantListAdapter - Shows list of users (entrants)
  * Used by organizers to view waiting list, selected, attending
+ *
+ * Each row reads its user document. A holder remembers the user it is
+ * bound to, and a result for any other user is not bound to it, so a
+ * recycled row never shows the previous entrant. At most MAX_READS reads
+ * run at once and the rest wait, newest first, so the rows on screen after
+ * a fling load before the ones passed on the way. A waiting read is
+ * dropped when its row is recycled. Users already read are kept in a
+ * small cache, so scrolling back doesn't read them again.
+ *
+ * A read that fails leaves a placeholder in the row. Failed users are not
+ * cached, so the row reads again the next time it is bound.
+ *
+ * Useful, failed, wasted (finished after the row moved on) and skipped
+ * reads are counted and logged under the "EntrantListAdapter" tag.
  */
 public class EntrantListAdapter extends RecyclerView.Adapter<EntrantListAdapter.EntrantViewHolder> {
 
+    private static final String TAG = "EntrantListAdapter";
+
+    private static final int MAX_READS = 4;
+    private static final int USER_CACHE_SIZE = 200;
+    private static final int LOG_EVERY = 50;
+
     private Context context;
+    private final TaskScope scope;
     private List<String> userIds;
     private List<User> users;
     private FirebaseFirestore db;
     private String eventId;
     private String listType; // waiting, selected, attending
 
+    // Rows waiting for a read slot, newest first
+    private final ArrayDeque<EntrantViewHolder> pending = new ArrayDeque<>();
+    private final LruCache<String, User> userCache = new LruCache<>(USER_CACHE_SIZE);
+    private int readsInFlight;
+
+    // Read counters
+    private int usefulReads;
+    private int failedReads;
+    private int wastedReads;
+    private int skippedReads;
+
     public EntrantListAdapter(Context context, String eventId) {
         this.context = context;
+        this.scope = TaskScope.forContext(context);
         this.eventId = eventId;
         this.userIds = new ArrayList<>();
         this.users = new ArrayList<>();
@@ -47,18 +88,28 @@ public class EntrantListAdapter extends RecyclerView.Adapter<EntrantListAdapter.
     @Override
     public void onBindViewHolder(@NonNull EntrantViewHolder holder, int position) {
         String userId = userIds.get(position);
+        holder.userId = userId;
+        pending.remove(holder);
 
-        // Load user data
-        db.collection("users").document(userId)
-                .get()
-                .addOnSuccessListener(document -> {
-                    if (document.exists()) {
-                        User user = document.toObject(User.class);
-                        if (user != null) {
-                            holder.bind(user);
-                        }
-                    }
-                });
+        User cached = userCache.get(userId);
+        if (cached != null) {
+            holder.bind(cached);
+            return;
+        }
+
+        holder.clear();
+        pending.addFirst(holder);
+        startReads();
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull EntrantViewHolder holder) {
+        super.onViewRecycled(holder);
+        // The row scrolled away before its read started
+        if (pending.remove(holder)) {
+            skippedReads++;
+        }
+        holder.userId = null;
     }
 
     @Override
@@ -69,13 +120,88 @@ public class EntrantListAdapter extends RecyclerView.Adapter<EntrantListAdapter.
     public void setUserIds(List<String> userIds, String listType) {
         this.userIds = userIds != null ? userIds : new ArrayList<>();
         this.listType = listType;
+        // Every row is bound again, and queues its read again if it needs one
+        pending.clear();
         notifyDataSetChanged();
     }
 
+    /**
+     * Reads that showed their user in a row still bound to it
+     */
+    public int getUsefulReads() {
+        return usefulReads;
+    }
+
+    /**
+     * Reads that failed or found no user while their row still showed it
+     */
+    public int getFailedReads() {
+        return failedReads;
+    }
+
+    /**
+     * Reads that finished after their row had moved on to another user
+     */
+    public int getWastedReads() {
+        return wastedReads;
+    }
+
+    /**
+     * Reads never started because their row was recycled first
+     */
+    public int getSkippedReads() {
+        return skippedReads;
+    }
+
+    private void startReads() {
+        while (readsInFlight < MAX_READS && !pending.isEmpty()) {
+            EntrantViewHolder holder = pending.pollFirst();
+            String userId = holder.userId;
+            readsInFlight++;
+
+            // Share a read already in flight for this user
+            SingleFlight.get(db.collection("users").document(userId))
+                    .addOnCompleteListener(scope.onComplete(task -> {
+                        readsInFlight--;
+                        DocumentSnapshot document = task.isSuccessful() ? task.getResult() : null;
+                        User user = document != null && document.exists() ?
+                                UserMapper.fromSnapshot(document) : null;
+                        if (user != null) {
+                            userCache.put(userId, user);
+                        } else if (task.getException() != null) {
+                            Log.e(TAG, "❌ Error loading user " + userId, task.getException());
+                        }
+                        onReadFinished(holder, userId, user);
+                        startReads();
+                    }));
+        }
+    }
+
+    private void onReadFinished(EntrantViewHolder holder, String userId, User user) {
+        if (!userId.equals(holder.userId)) {
+            // The row was recycled or rebound while the read ran
+            wastedReads++;
+        } else if (user == null) {
+            failedReads++;
+            holder.showUnavailable();
+        } else {
+            usefulReads++;
+            holder.bind(user);
+        }
+
+        if ((usefulReads + failedReads + wastedReads) % LOG_EVERY == 0) {
+            Log.i(TAG, String.format(Locale.US, "%d useful reads, %d failed, %d wasted, %d skipped",
+                    usefulReads, failedReads, wastedReads, skippedReads));
+        }
+    }
+
     static class EntrantViewHolder extends RecyclerView.ViewHolder {
 
         TextView tvName, tvEmail, tvPhone;
 
+        // User this row shows, null once recycled
+        String userId;
+
         public EntrantViewHolder(@NonNull View itemView) {
             super(itemView);
             tvName = itemView.findViewById(R.id.tvName);
@@ -94,5 +220,23 @@ public class EntrantListAdapter extends RecyclerView.Adapter<EntrantListAdapter.
                 tvPhone.setVisibility(View.GONE);
             }
         }
+
+        /**
+         * Blank the row until its user is read, so it never shows the last one
+         */
+        void clear() {
+            tvName.setText("");
+            tvEmail.setText("");
+            tvPhone.setVisibility(View.GONE);
+        }
+
+        /**
+         * The user could not be read; it is tried again on the next bind
+         */
+        void showUnavailable() {
+            tvName.setText("Couldn't load entrant");
+            tvEmail.setText("");
+            tvPhone.setVisibility(View.GONE);
+        }
     }
-}
\ No newline at end of file
+}
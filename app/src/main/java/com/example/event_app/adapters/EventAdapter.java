@@ -15,26 +15,33 @@ import com.bumptech.glide.Glide;
 import com.example.event_app.R;
 import com.example.event_app.activities.entrant.EventDetailsActivity;
 import com.example.event_app.models.Event;
+import com.example.event_app.models.EventCardUiModel;
+import com.example.event_app.utils.AppExecutors;
 import com.example.event_app.utils.Navigator;
+import com.example.event_app.utils.PosterLoader;
 import com.google.android.material.card.MaterialCardView;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * EventAdapter - RecyclerView adapter for displaying events
  * Used in Browse Events screen
+ *
+ * Events are turned into EventCardUiModels on the compute pool, so a bind
+ * only sets text that is already formatted.
  */
 public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHolder> {
 
     private Context context;
-    private List<Event> events;
+    private List<EventCardUiModel> items;
+
+    // Incremented per setEvents(), so an older mapping is dropped
+    private int mapRun;
 
     public EventAdapter(Context context) {
         this.context = context;
-        this.events = new ArrayList<>();
+        this.items = new ArrayList<>();
     }
 
     @NonNull
@@ -46,22 +53,40 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
 
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
-        Event event = events.get(position);
-        holder.bind(event);
+        holder.bind(items.get(position));
     }
 
     @Override
     public int getItemCount() {
-        return events.size();
+        return items.size();
     }
 
+    /**
+     * Map the events in the background, then show them
+     */
     public void setEvents(List<Event> events) {
-        this.events = events;
+        Context appContext = context.getApplicationContext();
+        // The compute pool reads copies, never the caller's events
+        List<Event> snapshot = Event.copyAll(events);
+        int run = ++mapRun;
+        AppExecutors.compute().execute(() -> {
+            List<EventCardUiModel> models = EventCardUiModel.forBrowse(appContext, snapshot);
+            AppExecutors.main().execute(() -> {
+                if (run == mapRun) {
+                    setItems(models);
+                }
+            });
+        });
+    }
+
+    public void setItems(List<EventCardUiModel> items) {
+        this.items = items;
         notifyDataSetChanged();
     }
 
     public void clearEvents() {
-        this.events.clear();
+        mapRun++;
+        this.items = new ArrayList<>();
         notifyDataSetChanged();
     }
 
@@ -70,6 +95,7 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
         MaterialCardView cardEvent;
         ImageView ivPoster;
         TextView tvEventName, tvOrganizer, tvDate, tvCapacity, tvWaitingListCount;
+        EventCardUiModel item;
 
         public EventViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -80,54 +106,35 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
             tvDate = itemView.findViewById(R.id.tvEventDate);
             tvCapacity = itemView.findViewById(R.id.tvCapacity);
             tvWaitingListCount = itemView.findViewById(R.id.tvWaitingListCount);
-        }
-
-        public void bind(Event event) {
-            // Event name
-            tvEventName.setText(event.getName());
 
-            // Organizer
-            tvOrganizer.setText(event.getOrganizerName() != null ?
-                    event.getOrganizerName() : "Event Organizer");
-
-            // Date
-            if (event.getEventDate() != null) {
-                SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-                tvDate.setText(sdf.format(event.getEventDate()));
-            } else {
-                tvDate.setText("Date TBA");
-            }
-
-            // Capacity
-            if (event.getCapacity() != null) {
-                tvCapacity.setText(String.format(Locale.getDefault(),
-                        "%d spots", event.getCapacity()));
-            } else {
-                tvCapacity.setText("Unlimited");
-            }
+            // Click listener - navigate to event details
+            cardEvent.setOnClickListener(v -> {
+                if (item == null) {
+                    return;
+                }
+                Intent intent = new Intent(context, EventDetailsActivity.class);
+                intent.putExtra(Navigator.EXTRA_EVENT_ID, item.event.getId());
+                context.startActivity(intent);
+            });
+        }
 
-            // Waiting list count
-            int waitingCount = event.getWaitingList() != null ?
-                    event.getWaitingList().size() : 0;
-            tvWaitingListCount.setText(String.format(Locale.getDefault(),
-                    "%d waiting", waitingCount));
+        public void bind(EventCardUiModel item) {
+            this.item = item;
+            tvEventName.setText(item.name);
+            tvOrganizer.setText(item.organizer);
+            tvDate.setText(item.date);
+            tvCapacity.setText(item.capacity);
+            tvWaitingListCount.setText(item.waiting);
 
             // Load poster
-            if (event.getPosterUrl() != null && !event.getPosterUrl().isEmpty()) {
-                Glide.with(context)
-                        .load(event.getPosterUrl())
+            if (item.hasPoster) {
+                PosterLoader.load(Glide.with(context), item.event)
+                        .placeholder(PosterLoader.placeholder(context.getResources(), item.event))
                         .centerCrop()
                         .into(ivPoster);
             } else {
                 ivPoster.setImageResource(R.drawable.ic_event_placeholder);
             }
-
-            // Click listener - navigate to event details
-            cardEvent.setOnClickListener(v -> {
-                Intent intent = new Intent(context, EventDetailsActivity.class);
-                intent.putExtra(Navigator.EXTRA_EVENT_ID, event.getId());
-                context.startActivity(intent);
-            });
         }
     }
 }
\ No newline at end of file
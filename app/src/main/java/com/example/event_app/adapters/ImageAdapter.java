@@ -1,5 +1,6 @@
 package com.example.event_app.adapters;
 
+import android.graphics.drawable.Drawable;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,6 +10,11 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.request.target.Target;
 import com.example.event_app.R;
 import com.example.event_app.models.ImageData;
 import com.google.android.material.button.MaterialButton;
@@ -19,11 +25,16 @@ import java.util.List;
 /**
  * Adapter for displaying images in RecyclerView
  * Used in BrowseImagesActivity for Admin to view all images
+ *
+ * Cells load the thumbnail rendition when there is one, decoded at the cell
+ * size in RGB_565, so a long grid keeps a small bitmap footprint.
  */
 public class ImageAdapter extends RecyclerView.Adapter<ImageAdapter.ImageViewHolder> {
 
     private List<ImageData> images;
     private OnImageClickListener listener;
+    private int cellWidth = Target.SIZE_ORIGINAL;
+    private int cellHeight = Target.SIZE_ORIGINAL;
 
     public ImageAdapter() {
         this.images = new ArrayList<>();
@@ -40,7 +51,14 @@ public class ImageAdapter extends RecyclerView.Adapter<ImageAdapter.ImageViewHol
     @Override
     public void onBindViewHolder(@NonNull ImageViewHolder holder, int position) {
         ImageData imageData = images.get(position);
-        holder.bind(imageData, listener);
+        holder.bind(imageData, listener, cellWidth, cellHeight);
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull ImageViewHolder holder) {
+        super.onViewRecycled(holder);
+        // Release the bitmap as soon as the cell scrolls away
+        Glide.with(holder.itemView).clear(holder.ivImagePreview);
     }
 
     @Override
@@ -49,11 +67,43 @@ public class ImageAdapter extends RecyclerView.Adapter<ImageAdapter.ImageViewHol
     }
 
     /**
-     * Update the list of images
+     * Append a page of images
+     */
+    public void addImages(List<ImageData> page) {
+        int start = images.size();
+        images.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+
+    /**
+     * Remove a deleted image
+     */
+    public void removeImage(ImageData imageData) {
+        int position = images.indexOf(imageData);
+        if (position >= 0) {
+            images.remove(position);
+            notifyItemRemoved(position);
+        }
+    }
+
+    /**
+     * Size of a grid cell, used to decode images no larger than needed
+     */
+    public void setCellSize(int width, int height) {
+        this.cellWidth = width;
+        this.cellHeight = height;
+    }
+
+    /**
+     * Request for an image's grid rendition. Also used to preload upcoming pages.
      */
-    public void setImages(List<ImageData> images) {
-        this.images = images;
-        notifyDataSetChanged();
+    public static RequestBuilder<Drawable> thumbnailRequest(RequestManager glide, ImageData imageData,
+                                                            int width, int height) {
+        String url = imageData.getThumbUrl() != null ? imageData.getThumbUrl() : imageData.getImageUrl();
+        return glide.load(url)
+                .override(width, height)
+                .centerCrop()
+                .format(DecodeFormat.PREFER_RGB_565);
     }
 
     /**
@@ -82,7 +132,8 @@ public class ImageAdapter extends RecyclerView.Adapter<ImageAdapter.ImageViewHol
             btnDeleteImage = itemView.findViewById(R.id.btnDeleteImage);
         }
 
-        public void bind(ImageData imageData, OnImageClickListener listener) {
+        public void bind(ImageData imageData, OnImageClickListener listener,
+                         int cellWidth, int cellHeight) {
             // Set image type
             String type = imageData.getType() != null ? imageData.getType() : "Unknown";
             tvImageType.setText(formatType(type));
@@ -90,9 +141,10 @@ public class ImageAdapter extends RecyclerView.Adapter<ImageAdapter.ImageViewHol
             // Set image URL (shortened)
             tvImageUrl.setText(imageData.getImageUrl());
 
-            // TODO: Load actual image using Glide or Picasso
-            // For now, just show placeholder
-            ivImagePreview.setImageResource(android.R.drawable.ic_menu_gallery);
+            // Load thumbnail sized to the cell
+            thumbnailRequest(Glide.with(itemView), imageData, cellWidth, cellHeight)
+                    .placeholder(android.R.drawable.ic_menu_gallery)
+                    .into(ivImagePreview);
 
             // Set delete button click listener
             btnDeleteImage.setOnClickListener(v -> {
@@ -18,16 +18,17 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.example.event_app.R;
 import com.example.event_app.activities.entrant.EventDetailsActivity;
+import com.example.event_app.data.Outbox;
+import com.example.event_app.data.PendingMutation;
 import com.example.event_app.models.Event;
 import com.example.event_app.utils.Navigator;
+import com.example.event_app.utils.PosterLoader;
+import com.example.event_app.utils.TaskScope;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -43,15 +44,17 @@ public class MyEventsAdapter extends RecyclerView.Adapter<MyEventsAdapter.EventV
     private static final String TAG = "MyEventsAdapter";
 
     private Context context;
+    private final TaskScope scope;
     private List<Event> events;
     private String userId;
-    private FirebaseFirestore db;
+    private Outbox outbox;
 
     public MyEventsAdapter(Context context, String userId) {
         this.context = context;
+        this.scope = TaskScope.forContext(context);
         this.userId = userId;
         this.events = new ArrayList<>();
-        this.db = FirebaseFirestore.getInstance();
+        this.outbox = Outbox.getInstance(context);
     }
 
     @NonNull
@@ -123,9 +126,8 @@ public class MyEventsAdapter extends RecyclerView.Adapter<MyEventsAdapter.EventV
             }
 
             // Load poster
-            if (event.getPosterUrl() != null && !event.getPosterUrl().isEmpty()) {
-                Glide.with(context)
-                        .load(event.getPosterUrl())
+            if (PosterLoader.hasPoster(event)) {
+                PosterLoader.load(Glide.with(context), event)
                         .centerCrop()
                         .into(ivPoster);
             } else {
@@ -223,148 +225,46 @@ public class MyEventsAdapter extends RecyclerView.Adapter<MyEventsAdapter.EventV
 
         /**
          * US 01.05.02: Accept invitation - move to attending list
-         * FIX: Remove from BOTH selectedList AND waitingList
          */
         private void acceptInvitation(Event event) {
-            btnAccept.setEnabled(false);
-            btnDecline.setEnabled(false);
-
-            // Initialize lists if null
-            if (event.getSignedUpUsers() == null) {
-                event.setSignedUpUsers(new ArrayList<>());
-            }
-            if (event.getSelectedList() == null) {
-                event.setSelectedList(new ArrayList<>());
-            }
-            if (event.getWaitingList() == null) {
-                event.setWaitingList(new ArrayList<>());
-            }
-
-            // Add to signed up users
-            if (!event.getSignedUpUsers().contains(userId)) {
-                event.getSignedUpUsers().add(userId);
-            }
-
-            // ✅ FIX: Remove from BOTH selected list AND waiting list
-            event.getSelectedList().remove(userId);
-            event.getWaitingList().remove(userId);
-
-            // Update Firestore
-            db.collection("events").document(event.getId())
-                    .update(
-                            "signedUpUsers", event.getSignedUpUsers(),
-                            "selectedList", event.getSelectedList(),
-                            "waitingList", event.getWaitingList()  // ✅ Also update waiting list
-                    )
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "✅ User accepted invitation");
-                        Toast.makeText(context, "You're attending! 🎉", Toast.LENGTH_LONG).show();
-
-                        // Remove this event from the list (will reload)
-                        int position = getAdapterPosition();
-                        if (position != RecyclerView.NO_POSITION) {
-                            events.remove(position);
-                            notifyItemRemoved(position);
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "❌ Error accepting invitation", e);
-                        Toast.makeText(context, "Failed to accept. Try again.", Toast.LENGTH_SHORT).show();
-                        btnAccept.setEnabled(true);
-                        btnDecline.setEnabled(true);
-                    });
+            // Shown right away; the outbox sends it when there is a connection
+            submit(event, PendingMutation.ACCEPT, "You're attending! 🎉", "Failed to accept. Try again.");
         }
 
         /**
          * US 01.05.03: Decline invitation - remove from event
-         * US 01.05.01: Automatically draw replacement from waiting list
+         * US 01.05.01: The server draws a replacement from the waiting list
          */
         private void declineInvitation(Event event) {
-            btnAccept.setEnabled(false);
-            btnDecline.setEnabled(false);
-
-            // Initialize lists if null
-            if (event.getSelectedList() == null) {
-                event.setSelectedList(new ArrayList<>());
-            }
-            if (event.getWaitingList() == null) {
-                event.setWaitingList(new ArrayList<>());
-            }
-            if (event.getDeclinedUsers() == null) {
-                event.setDeclinedUsers(new ArrayList<>());
-            }
-
-            // Add to declined list (so they can see their history)
-            if (!event.getDeclinedUsers().contains(userId)) {
-                event.getDeclinedUsers().add(userId);
-            }
+            // Shown right away; the outbox sends it when there is a connection
+            submit(event, PendingMutation.DECLINE, "Invitation declined", "Failed to decline. Try again.");
+        }
 
-            // Remove from selected list
-            event.getSelectedList().remove(userId);
-
-            // Remove from waiting list
-            event.getWaitingList().remove(userId);
-
-            // Increment cancelled count
-            int newCancelledCount = event.getTotalCancelled() + 1;
-
-            // ✅ US 01.05.01: Automatically draw replacement if spots available
-            // Use final variable for lambda
-            final boolean[] drewReplacementArray = {false};
-
-            if (event.getCapacity() != null) {
-                int currentSelected = event.getSelectedList().size();
-                int capacity = event.getCapacity().intValue();
-
-                // If we're under capacity and there are people waiting
-                if (currentSelected < capacity && !event.getWaitingList().isEmpty()) {
-                    // Draw one replacement from waiting list
-                    List<String> availableEntrants = new ArrayList<>(event.getWaitingList());
-                    // Remove already selected people
-                    availableEntrants.removeAll(event.getSelectedList());
-
-                    if (!availableEntrants.isEmpty()) {
-                        // Randomly select one
-                        Collections.shuffle(availableEntrants);
-                        String replacement = availableEntrants.get(0);
-                        event.getSelectedList().add(replacement);
-                        drewReplacementArray[0] = true;
-                        Log.d(TAG, "✅ Drew replacement entrant: " + replacement);
-                    }
-                }
+        private void submit(Event event, String type, String doneMessage, String failedMessage) {
+            int position = getAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) {
+                return;
             }
 
-            // Make final copy for lambda
-            final boolean drewReplacement = drewReplacementArray[0];
-
-            // Update Firestore
-            db.collection("events").document(event.getId())
-                    .update(
-                            "selectedList", event.getSelectedList(),
-                            "waitingList", event.getWaitingList(),
-                            "declinedUsers", event.getDeclinedUsers(),
-                            "totalCancelled", newCancelledCount
-                    )
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "✅ User declined invitation");
-                        String message = drewReplacement ?
-                                "Invitation declined. Another entrant was selected!" :
-                                "Invitation declined";
-                        Toast.makeText(context, message, Toast.LENGTH_LONG).show();
-
-                        // Remove this event from the list
-                        int position = getAdapterPosition();
-                        if (position != RecyclerView.NO_POSITION) {
-                            events.remove(position);
-                            notifyItemRemoved(position);
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "❌ Error declining invitation", e);
-                        Toast.makeText(context, "Failed to decline. Try again.", Toast.LENGTH_SHORT).show();
-                        btnAccept.setEnabled(true);
-                        btnDecline.setEnabled(true);
-                    });
+            // Answered invitations leave the list
+            events.remove(position);
+            notifyItemRemoved(position);
+
+            // The row may hold the sync engine's shared event, so change a copy
+            outbox.submit(new Event(event), type, userId)
+                    .addOnSuccessListener(scope.onSuccess(mutation -> {
+                        Log.d(TAG, "✅ Queued " + type + " for " + event.getId());
+                        Toast.makeText(context, doneMessage, Toast.LENGTH_LONG).show();
+                    }))
+                    .addOnFailureListener(scope.onFailure(e -> {
+                        Log.e(TAG, "❌ Error saving " + type, e);
+                        Toast.makeText(context, failedMessage, Toast.LENGTH_SHORT).show();
+
+                        // The outbox has put the event back as it was
+                        int restoreAt = Math.min(position, events.size());
+                        events.add(restoreAt, event);
+                        notifyItemInserted(restoreAt);
+                    }));
         }
     }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import com.bumptech.glide.Glide;
 import com.example.event_app.R;
 import com.example.event_app.activities.organizer.OrganizerEventDetailsActivity;  // ✅ FIXED IMPORT
 import com.example.event_app.models.Event;
+import com.example.event_app.utils.PosterLoader;
 import com.google.android.material.card.MaterialCardView;
 
 import java.text.SimpleDateFormat;
@@ -97,9 +98,8 @@ public class OrganizerEventsAdapter extends RecyclerView.Adapter<OrganizerEvents
             tvAttendingCount.setText(String.format(Locale.getDefault(), "%d attending", attendingCount));
 
             // Load poster
-            if (event.getPosterUrl() != null && !event.getPosterUrl().isEmpty()) {
-                Glide.with(context)
-                        .load(event.getPosterUrl())
+            if (PosterLoader.hasPoster(event)) {
+                PosterLoader.load(Glide.with(context), event)
                         .centerCrop()
                         .into(ivPoster);
             } else {
@@ -18,28 +18,33 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.event_app.R;
 import com.example.event_app.adapters.AdminEventAdapter;
+import com.example.event_app.data.EventCatalog;
 import com.example.event_app.models.Event;
+import com.example.event_app.utils.AppExecutors;
+import com.example.event_app.utils.EventSyncEngine;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import android.content.Intent;
 
 /**
  * AdminBrowseEventsActivity - Admin can view, search, filter, and sort all events
  * US 03.04.01: Browse all events
  * Features:
- * - Search by event name or organizer
+ * - Search by event name, organizer or description
  * - Filter by status (All, Active, Inactive, Completed)
  * - Sort by date, name, or entrant count
  * - Display: event name, organizer, date, status, entrant count
+ * Events saved in the EventCatalog are shown and searched while offline.
  */
 public class AdminBrowseEventsActivity extends AppCompatActivity {
 
@@ -79,6 +84,7 @@ public class AdminBrowseEventsActivity extends AppCompatActivity {
 
     // Firebase
     private FirebaseFirestore db;
+    private EventCatalog catalog;
 
     // Data
     private final List<Event> allEvents = new ArrayList<>();
@@ -89,6 +95,9 @@ public class AdminBrowseEventsActivity extends AppCompatActivity {
     private String currentStatusFilter = "all";
     private SortOption currentSort = SortOption.NAME_ASC;
 
+    // Incremented per filter run, so an older run's result is dropped
+    private int filterRun;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -104,6 +113,10 @@ public class AdminBrowseEventsActivity extends AppCompatActivity {
 
         // Initialize Firebase
         db = FirebaseFirestore.getInstance();
+        catalog = EventCatalog.getInstance(this);
+
+        // Admins need inactive events too, which a catalog bundle leaves out
+        EventSyncEngine.getInstance(this).requireCompleteCatalog();
 
         // Initialize views
         initViews();
@@ -149,7 +162,7 @@ public class AdminBrowseEventsActivity extends AppCompatActivity {
      */
     private void setupRecyclerView() {
         // Create admin adapter
-        eventAdapter = new AdminEventAdapter();
+        eventAdapter = new AdminEventAdapter(this);
 
         // Set click listener
         eventAdapter.setOnEventClickListener(event -> {
@@ -261,21 +274,34 @@ public class AdminBrowseEventsActivity extends AppCompatActivity {
     private void loadEvents() {
         Log.d(TAG, "Loading events from Firebase...");
 
-        db.collection("events")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    allEvents.clear();
+        // Show the local copy right away; the sync only fetches changes
+        EventSyncEngine sync = EventSyncEngine.getInstance(this);
+        List<Event> local = sync.getEvents();
+        if (!local.isEmpty()) {
+            allEvents.clear();
+            allEvents.addAll(local);
+            applyFiltersAndSort();
+        } else if (allEvents.isEmpty()) {
+            // After a restart, the catalog on disk is ready before the sync
+            catalog.loadAll()
+                    .addOnSuccessListener(this, saved -> {
+                        if (allEvents.isEmpty() && !saved.isEmpty()) {
+                            Log.d(TAG, "Showing " + saved.size() + " saved events");
+                            allEvents.addAll(saved);
+                            applyFiltersAndSort();
+                        }
+                    });
+        }
 
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Event event = document.toObject(Event.class);
-                        event.setEventId(document.getId());
-                        allEvents.add(event);
-                    }
+        sync.sync()
+                .addOnSuccessListener(this, events -> {
+                    allEvents.clear();
+                    allEvents.addAll(events);
 
                     Log.d(TAG, "Loaded " + allEvents.size() + " events");
                     applyFiltersAndSort();
                 })
-                .addOnFailureListener(e -> {
+                .addOnFailureListener(this, e -> {
                     Log.e(TAG, "Error loading events", e);
                     Toast.makeText(this, "Error loading events: " + e.getMessage(),
                             Toast.LENGTH_SHORT).show();
@@ -284,40 +310,92 @@ public class AdminBrowseEventsActivity extends AppCompatActivity {
     }
 
     /**
-     * Apply filters and sort
+     * Apply filters and sort. A search runs against the catalog's full-text index.
      */
     private void applyFiltersAndSort() {
-        String searchQuery = currentSearchQuery.toLowerCase().trim();
-        filteredEvents.clear();
+        String searchQuery = currentSearchQuery.trim();
+        if (searchQuery.isEmpty()) {
+            applyFiltersAndSort(null);
+            return;
+        }
 
-        // Step 1: Apply filters
-        for (Event event : allEvents) {
-            if (!matchesStatusFilter(event)) {
-                continue;
-            }
+        catalog.search(searchQuery)
+                .addOnSuccessListener(this, matches -> {
+                    // The query has changed since this search started
+                    if (!searchQuery.equals(currentSearchQuery.trim())) {
+                        return;
+                    }
 
-            if (!searchQuery.isEmpty() && !matchesSearchQuery(event, searchQuery)) {
-                continue;
+                    Set<String> matchingIds = new HashSet<>();
+                    for (Event event : matches) {
+                        matchingIds.add(event.getId());
+                    }
+                    applyFiltersAndSort(matchingIds);
+                })
+                .addOnFailureListener(this, e -> {
+                    Log.e(TAG, "Full-text search failed, matching in memory", e);
+                    applyFiltersAndSort(null);
+                });
+    }
+
+    /**
+     * Filtering and sorting run on the compute pool, and only the finished
+     * list is handed to the adapter. A newer run replaces an older one.
+     *
+     * @param matchingIds events the search matched, or null to match the
+     *                    search text in memory
+     */
+    private void applyFiltersAndSort(Set<String> matchingIds) {
+        String searchQuery = currentSearchQuery.toLowerCase().trim();
+        String statusFilter = currentStatusFilter;
+        SortOption sort = currentSort;
+        List<Event> events = Event.copyAll(allEvents);
+        int run = ++filterRun;
+
+        AppExecutors.compute().execute(() -> {
+            List<Event> filtered = new ArrayList<>();
+
+            // Step 1: Apply filters
+            for (Event event : events) {
+                if (!matchesStatusFilter(event, statusFilter)) {
+                    continue;
+                }
+
+                if (matchingIds != null) {
+                    if (!matchingIds.contains(event.getId())) {
+                        continue;
+                    }
+                } else if (!searchQuery.isEmpty() && !matchesSearchQuery(event, searchQuery)) {
+                    continue;
+                }
+
+                filtered.add(event);
             }
 
-            filteredEvents.add(event);
-        }
+            // Step 2: Apply sort
+            sortEvents(filtered, sort);
 
-        // Step 2: Apply sort
-        sortEvents(filteredEvents);
+            AppExecutors.main().execute(() -> {
+                if (isFinishing() || run != filterRun) {
+                    return;
+                }
+                filteredEvents.clear();
+                filteredEvents.addAll(filtered);
 
-        Log.d(TAG, "Filtered to " + filteredEvents.size() + " events " +
-                "(search: '" + searchQuery + "', status: " + currentStatusFilter +
-                ", sort: " + currentSort.getDisplayName() + ")");
+                Log.d(TAG, "Filtered to " + filteredEvents.size() + " events " +
+                        "(search: '" + searchQuery + "', status: " + statusFilter +
+                        ", sort: " + sort.getDisplayName() + ")");
 
-        updateUI(false);
+                updateUI(false);
+            });
+        });
     }
 
     /**
-     * Sort events based on current sort option
+     * Sort events based on the given sort option
      */
-    private void sortEvents(List<Event> events) {
-        switch (currentSort) {
+    private static void sortEvents(List<Event> events, SortOption sort) {
+        switch (sort) {
             case NAME_ASC:
                 Collections.sort(events, (e1, e2) -> {
                     String name1 = e1.getName() != null ? e1.getName() : "";
@@ -371,10 +449,10 @@ public class AdminBrowseEventsActivity extends AppCompatActivity {
     }
 
     /**
-     * Check if event matches the current status filter
+     * Check if event matches the given status filter
      */
-    private boolean matchesStatusFilter(Event event) {
-        if ("all".equals(currentStatusFilter)) {
+    private static boolean matchesStatusFilter(Event event, String statusFilter) {
+        if ("all".equals(statusFilter)) {
             return true;
         }
 
@@ -383,13 +461,13 @@ public class AdminBrowseEventsActivity extends AppCompatActivity {
             eventStatus = "active";
         }
 
-        return eventStatus.equalsIgnoreCase(currentStatusFilter);
+        return eventStatus.equalsIgnoreCase(statusFilter);
     }
 
     /**
      * Check if event matches the search query
      */
-    private boolean matchesSearchQuery(Event event, String query) {
+    private static boolean matchesSearchQuery(Event event, String query) {
         boolean matchesName = event.getName() != null &&
                 event.getName().toLowerCase().contains(query);
 
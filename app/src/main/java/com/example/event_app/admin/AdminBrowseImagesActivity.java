@@ -7,18 +7,28 @@ import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.MemoryCategory;
+import com.bumptech.glide.RequestManager;
 import com.example.event_app.R;
 import com.example.event_app.adapters.ImageAdapter;
 import com.example.event_app.models.ImageData;
+import com.example.event_app.utils.EventSyncEngine;
+import com.example.event_app.utils.ImageRegistry;
+import com.example.event_app.utils.TaskScope;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.WriteBatch;
 import com.google.firebase.storage.FirebaseStorage;
-import com.google.firebase.storage.StorageReference;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -32,14 +42,28 @@ public class AdminBrowseImagesActivity extends AppCompatActivity {
 
     private static final String TAG = "BrowseImagesActivity";
 
+    private final TaskScope scope = TaskScope.of(this);
+
+    private static final int PAGE_SIZE = 30;
+    private static final int GRID_COLUMNS = 2;
+    private static final int PREVIEW_HEIGHT_DP = 200;   // matches ivImagePreview in item_image.xml
+
+    // Start fetching the next page when this many cells remain below the screen
+    private static final int PREFETCH_DISTANCE = 10;
+
     private RecyclerView recyclerViewImages;
     private LinearLayout emptyStateLayout;
     private ProgressBar progressBar;
     private ImageAdapter imageAdapter;
 
     private FirebaseFirestore db;
-    private FirebaseStorage storage;
-    private List<ImageData> imageList;
+    private ImageRegistry registry;
+
+    // Paging state
+    private DocumentSnapshot lastVisible;
+    private boolean loadingPage;
+    private boolean reachedEnd;
+    private int cellWidth, cellHeight;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -54,10 +78,10 @@ public class AdminBrowseImagesActivity extends AppCompatActivity {
 
         // Initialize Firebase
         db = FirebaseFirestore.getInstance();
-        storage = FirebaseStorage.getInstance();
+        registry = new ImageRegistry(db, FirebaseStorage.getInstance());
 
-        // Initialize list
-        imageList = new ArrayList<>();
+        // Thousands of thumbnails can pass through here; keep Glide's caches small
+        Glide.get(this).setMemoryCategory(MemoryCategory.LOW);
 
         // Initialize views
         initViews();
@@ -65,8 +89,14 @@ public class AdminBrowseImagesActivity extends AppCompatActivity {
         // Set up RecyclerView
         setupRecyclerView();
 
-        // Load images
-        loadImages();
+        // Load first page
+        loadNextPage();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        Glide.get(this).setMemoryCategory(MemoryCategory.NORMAL);
     }
 
     /**
@@ -104,75 +134,103 @@ public class AdminBrowseImagesActivity extends AppCompatActivity {
         });
 
         // Use GridLayoutManager for 2 columns
-        recyclerViewImages.setLayoutManager(new GridLayoutManager(this, 2));
+        GridLayoutManager layoutManager = new GridLayoutManager(this, GRID_COLUMNS);
+        recyclerViewImages.setLayoutManager(layoutManager);
         recyclerViewImages.setAdapter(imageAdapter);
+
+        // Decode images at the size they are shown
+        recyclerViewImages.post(() -> {
+            int gridWidth = recyclerViewImages.getWidth()
+                    - recyclerViewImages.getPaddingLeft() - recyclerViewImages.getPaddingRight();
+            cellWidth = gridWidth / GRID_COLUMNS;
+            cellHeight = (int) (PREVIEW_HEIGHT_DP * getResources().getDisplayMetrics().density);
+            imageAdapter.setCellSize(cellWidth, cellHeight);
+        });
+
+        // Fetch the next page before the user reaches the end
+        recyclerViewImages.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) return;
+                int lastPosition = layoutManager.findLastVisibleItemPosition();
+                if (lastPosition >= imageAdapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
     }
 
     /**
-     * Load all images from Firebase
-     * For now, we'll create dummy data since images collection doesn't exist yet
+     * Load the next page of images, newest first
      */
-    private void loadImages() {
-        Log.d(TAG, "Loading images from Firebase...");
+    private void loadNextPage() {
+        if (loadingPage || reachedEnd) return;
+        loadingPage = true;
 
-        // Show loading
-        progressBar.setVisibility(View.VISIBLE);
+        Log.d(TAG, "Loading image page after " + (lastVisible != null ? lastVisible.getId() : "start"));
 
-        // Try to load from Firestore (if images collection exists)
-        db.collection("images")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    imageList.clear();
-
-                    if (queryDocumentSnapshots.isEmpty()) {
-                        // No images in Firestore, create dummy data
-                        createDummyImages();
-                    } else {
-                        // Load real images
-                        for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                            ImageData imageData = document.toObject(ImageData.class);
-                            imageList.add(imageData);
-                        }
+        // Only show the big spinner for the first page
+        if (lastVisible == null) {
+            progressBar.setVisibility(View.VISIBLE);
+        }
+
+        Query query = db.collection("images")
+                .orderBy("uploadedAt", Query.Direction.DESCENDING)
+                .limit(PAGE_SIZE);
+        if (lastVisible != null) {
+            query = query.startAfter(lastVisible);
+        }
+
+        query.get()
+                .addOnSuccessListener(scope.onSuccess(queryDocumentSnapshots -> {
+                    List<ImageData> page = new ArrayList<>();
+                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
+                        ImageData imageData = document.toObject(ImageData.class);
+                        imageData.setImageId(document.getId());
+                        page.add(imageData);
                     }
 
-                    Log.d(TAG, "Loaded " + imageList.size() + " images");
+                    if (!queryDocumentSnapshots.isEmpty()) {
+                        lastVisible = queryDocumentSnapshots.getDocuments()
+                                .get(queryDocumentSnapshots.size() - 1);
+                    }
+                    reachedEnd = page.size() < PAGE_SIZE;
 
-                    // Hide loading
-                    progressBar.setVisibility(View.GONE);
+                    Log.d(TAG, "Loaded " + page.size() + " images");
+
+                    imageAdapter.addImages(page);
+                    preloadThumbnails(page);
 
-                    // Update UI
+                    loadingPage = false;
+                    progressBar.setVisibility(View.GONE);
                     updateUI();
-                })
-                .addOnFailureListener(e -> {
+                }))
+                .addOnFailureListener(scope.onFailure(e -> {
                     Log.e(TAG, "Error loading images", e);
-
-                    // Hide loading
+                    loadingPage = false;
                     progressBar.setVisibility(View.GONE);
-
-                    // Create dummy data for testing
-                    createDummyImages();
+                    Toast.makeText(this, "Error loading images", Toast.LENGTH_SHORT).show();
                     updateUI();
-                });
+                }));
     }
 
     /**
-     * Create dummy images for testing (temporary)
-     * Remove this once real image upload is implemented
+     * Start decoding a freshly loaded page so its cells are ready when scrolled to
      */
-    private void createDummyImages() {
-        // Create some dummy images for testing
-        imageList.add(new ImageData("img1", "https://via.placeholder.com/300", "user1", "event_poster"));
-        imageList.add(new ImageData("img2", "https://via.placeholder.com/300", "user2", "profile_picture"));
-        imageList.add(new ImageData("img3", "https://via.placeholder.com/300", "user3", "event_poster"));
+    private void preloadThumbnails(List<ImageData> page) {
+        if (cellWidth <= 0) return;
 
-        Log.d(TAG, "Created " + imageList.size() + " dummy images");
+        RequestManager glide = Glide.with(this);
+        for (ImageData imageData : page) {
+            ImageAdapter.thumbnailRequest(glide, imageData, cellWidth, cellHeight).preload();
+        }
     }
 
     /**
      * Update UI based on image list
      */
     private void updateUI() {
-        if (imageList.isEmpty()) {
+        if (imageAdapter.getItemCount() == 0) {
             // Show empty state
             recyclerViewImages.setVisibility(View.GONE);
             emptyStateLayout.setVisibility(View.VISIBLE);
@@ -180,9 +238,6 @@ public class AdminBrowseImagesActivity extends AppCompatActivity {
             // Show images
             recyclerViewImages.setVisibility(View.VISIBLE);
             emptyStateLayout.setVisibility(View.GONE);
-
-            // Update adapter
-            imageAdapter.setImages(imageList);
         }
     }
 
@@ -204,42 +259,43 @@ public class AdminBrowseImagesActivity extends AppCompatActivity {
     /**
      * Delete image from Firebase Storage and Firestore
      * US 03.03.01: Remove images
+     *
+     * Events still showing the image as their poster lose it in the same
+     * batch that deletes the registry entry, so no event is left pointing at
+     * a missing object and no registry reference outlives its events.
      */
     private void deleteImage(ImageData imageData) {
         Log.d(TAG, "Deleting image: " + imageData.getImageId());
 
-        // For dummy data, just remove from list
-        if (imageData.getImageUrl().contains("placeholder")) {
-            imageList.remove(imageData);
-            updateUI();
-            Toast.makeText(this, "Dummy image removed", Toast.LENGTH_SHORT).show();
-            return;
-        }
+        db.collection("events")
+                .whereEqualTo("posterUrl", imageData.getImageUrl())
+                .get()
+                .onSuccessTask(events -> {
+                    WriteBatch batch = db.batch();
+                    for (QueryDocumentSnapshot event : events) {
+                        batch.update(event.getReference(),
+                                "posterUrl", null,
+                                "posterVersion", null,
+                                "posterBlurHash", null,
+                                EventSyncEngine.UPDATED_AT, FieldValue.serverTimestamp());
+                    }
+                    batch.delete(db.collection("images").document(imageData.getImageId()));
+                    Log.d(TAG, "Clearing poster from " + events.size() + " events");
+                    return batch.commit();
+                })
+                .addOnSuccessListener(aVoid -> {
+                    // Nothing points at the objects any more, remove the image and its thumbnail
+                    registry.deleteStored(imageData);
 
-        // For real images: Delete from Storage first, then Firestore
-        StorageReference imageRef = storage.getReferenceFromUrl(imageData.getImageUrl());
+                    Log.d(TAG, "Image deleted successfully");
+                    Toast.makeText(this, "Image deleted", Toast.LENGTH_SHORT).show();
 
-        imageRef.delete()
-                .addOnSuccessListener(aVoid -> {
-                    // Image deleted from storage, now delete from Firestore
-                    db.collection("images")
-                            .document(imageData.getImageId())
-                            .delete()
-                            .addOnSuccessListener(aVoid2 -> {
-                                Log.d(TAG, "Image deleted successfully");
-                                Toast.makeText(this, "Image deleted", Toast.LENGTH_SHORT).show();
-
-                                // Remove from list and update UI
-                                imageList.remove(imageData);
-                                updateUI();
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Error deleting image from Firestore", e);
-                                Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                            });
+                    // Remove from list and update UI
+                    imageAdapter.removeImage(imageData);
+                    updateUI();
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error deleting image from Storage", e);
+                    Log.e(TAG, "Error deleting image", e);
                     Toast.makeText(this, "Error deleting image: " + e.getMessage(),
                             Toast.LENGTH_SHORT).show();
                 });
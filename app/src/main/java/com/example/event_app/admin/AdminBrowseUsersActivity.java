@@ -13,7 +13,9 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.event_app.R;
 import com.example.event_app.adapters.UserAdapter;
+import com.example.event_app.data.UserMapper;
 import com.example.event_app.models.User;
+import com.example.event_app.utils.TaskScope;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 
@@ -29,6 +31,8 @@ public class AdminBrowseUsersActivity extends AppCompatActivity {
 
     private static final String TAG = "BrowseUsersActivity";
 
+    private final TaskScope scope = TaskScope.of(this);
+
     private RecyclerView recyclerViewUsers;
     private LinearLayout emptyStateLayout;
     private UserAdapter userAdapter;
@@ -109,11 +113,11 @@ public class AdminBrowseUsersActivity extends AppCompatActivity {
 
         db.collection("users")
                 .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
+                .addOnSuccessListener(scope.onSuccess(queryDocumentSnapshots -> {
                     userList.clear();
 
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        User user = document.toObject(User.class);
+                        User user = UserMapper.fromSnapshot(document);
                         userList.add(user);
                     }
 
@@ -121,15 +125,15 @@ public class AdminBrowseUsersActivity extends AppCompatActivity {
 
                     // Update UI
                     updateUI();
-                })
-                .addOnFailureListener(e -> {
+                }))
+                .addOnFailureListener(scope.onFailure(e -> {
                     Log.e(TAG, "Error loading users", e);
                     Toast.makeText(this, "Error loading users: " + e.getMessage(),
                             Toast.LENGTH_SHORT).show();
 
                     // Show empty state
                     updateUI();
-                });
+                }));
     }
 
     /**
@@ -175,19 +179,19 @@ public class AdminBrowseUsersActivity extends AppCompatActivity {
         db.collection("users")
                 .document(user.getUserId())
                 .delete()
-                .addOnSuccessListener(aVoid -> {
+                .addOnSuccessListener(scope.onSuccess(aVoid -> {
                     Log.d(TAG, "User deleted successfully");
                     Toast.makeText(this, "User deleted", Toast.LENGTH_SHORT).show();
 
                     // Remove from list and update UI
                     userList.remove(user);
                     updateUI();
-                })
-                .addOnFailureListener(e -> {
+                }))
+                .addOnFailureListener(scope.onFailure(e -> {
                     Log.e(TAG, "Error deleting user", e);
                     Toast.makeText(this, "Error deleting user: " + e.getMessage(),
                             Toast.LENGTH_SHORT).show();
-                });
+                }));
     }
 
     @Override
@@ -14,9 +14,15 @@ import androidx.cardview.widget.CardView;
 
 import com.bumptech.glide.Glide;
 import com.example.event_app.R;
+import com.example.event_app.data.EventMapper;
 import com.example.event_app.models.Event;
+import com.example.event_app.utils.EventSyncEngine;
+import com.example.event_app.utils.PosterLoader;
+import com.example.event_app.utils.PosterUploader;
+import com.example.event_app.utils.TaskScope;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.storage.FirebaseStorage;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -30,6 +36,8 @@ import java.util.Locale;
 public class AdminEventDetailsActivity extends AppCompatActivity {
 
     private static final String TAG = "AdminEventDetails";
+
+    private final TaskScope scope = TaskScope.of(this);
     public static final String EXTRA_EVENT_ID = "event_id";
 
     // Views
@@ -125,14 +133,14 @@ public class AdminEventDetailsActivity extends AppCompatActivity {
         db.collection("events")
                 .document(eventId)
                 .get()
-                .addOnSuccessListener(documentSnapshot -> {
+                .addOnSuccessListener(scope.onSuccess(documentSnapshot -> {
                     if (!documentSnapshot.exists()) {
                         Toast.makeText(this, "Event not found", Toast.LENGTH_SHORT).show();
                         finish();
                         return;
                     }
 
-                    currentEvent = documentSnapshot.toObject(Event.class);
+                    currentEvent = EventMapper.fromSnapshot(documentSnapshot);
                     if (currentEvent != null) {
                         currentEvent.setEventId(documentSnapshot.getId());
                         displayEventDetails();
@@ -140,12 +148,12 @@ public class AdminEventDetailsActivity extends AppCompatActivity {
                         Toast.makeText(this, "Error loading event", Toast.LENGTH_SHORT).show();
                         finish();
                     }
-                })
-                .addOnFailureListener(e -> {
+                }))
+                .addOnFailureListener(scope.onFailure(e -> {
                     Log.e(TAG, "Error loading event", e);
                     Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
                     finish();
-                });
+                }));
     }
 
     /**
@@ -219,11 +227,9 @@ public class AdminEventDetailsActivity extends AppCompatActivity {
         tvDetailEventId.setText(currentEvent.getEventId());
 
         // Poster (if available)
-        String posterUrl = currentEvent.getPosterUrl();
-        if (posterUrl != null && !posterUrl.isEmpty()) {
+        if (PosterLoader.hasPoster(currentEvent)) {
             cardPoster.setVisibility(View.VISIBLE);
-            Glide.with(this)
-                    .load(posterUrl)
+            PosterLoader.load(Glide.with(this), currentEvent)
                     .placeholder(android.R.drawable.ic_menu_gallery)
                     .into(ivEventPoster);
         } else {
@@ -268,17 +274,28 @@ public class AdminEventDetailsActivity extends AppCompatActivity {
         btnDeleteEvent.setEnabled(false);
         btnDeleteEvent.setText("Deleting...");
 
-        db.collection("events")
-                .document(eventId)
-                .delete()
+        // Poster may be shared with other events, so only drop this reference.
+        // Taken now and released unscoped, so leaving the screen can't skip it.
+        boolean hasPoster = currentEvent != null && PosterLoader.hasPoster(currentEvent);
+        String posterUrl = hasPoster ? currentEvent.getPosterUrl() : null;
+        String posterVersion = hasPoster ? currentEvent.getPosterVersion() : null;
+
+        // Leaves a tombstone so other devices drop the event on their next sync
+        EventSyncEngine.deleteEvent(db, eventId)
                 .addOnSuccessListener(aVoid -> {
+                    if (hasPoster) {
+                        new PosterUploader(FirebaseStorage.getInstance())
+                                .release(posterUrl, posterVersion);
+                    }
+                })
+                .addOnSuccessListener(scope.onSuccess(aVoid -> {
                     Log.d(TAG, "Event deleted successfully");
                     Toast.makeText(this, "Event deleted", Toast.LENGTH_SHORT).show();
 
                     // Return to previous screen
                     finish();
-                })
-                .addOnFailureListener(e -> {
+                }))
+                .addOnFailureListener(scope.onFailure(e -> {
                     Log.e(TAG, "Error deleting event", e);
                     Toast.makeText(this, "Error deleting event: " + e.getMessage(),
                             Toast.LENGTH_SHORT).show();
@@ -286,7 +303,7 @@ public class AdminEventDetailsActivity extends AppCompatActivity {
                     // Re-enable button
                     btnDeleteEvent.setEnabled(true);
                     btnDeleteEvent.setText("Delete Event");
-                });
+                }));
     }
 
     @Override
@@ -9,12 +9,23 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.LiveData;
+import androidx.work.Data;
+import androidx.work.Operation;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
 
 import com.example.event_app.R;
+import com.example.event_app.data.UserMapper;
 import com.example.event_app.models.Event;
 import com.example.event_app.models.User;
+import com.example.event_app.utils.CatalogBundle;
+import com.example.event_app.utils.EventSyncEngine;
 import com.example.event_app.utils.ReportExporter;
+import com.example.event_app.utils.StorageGarbageCollector;
+import com.example.event_app.utils.TaskScope;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 
@@ -29,6 +40,8 @@ public class AdminHomeActivity extends AppCompatActivity {
 
     private static final String TAG = "AdminHomeActivity";
 
+    private final TaskScope scope = TaskScope.of(this);
+
     // UI Components - Statistics
     private TextView tvEventsCount;
     private TextView tvUsersCount;
@@ -40,6 +53,8 @@ public class AdminHomeActivity extends AppCompatActivity {
     private Button btnBrowseUsers;
     private Button btnBrowseImages;
     private Button btnGenerateReports;
+    private Button btnPublishCatalog;
+    private Button btnCleanUpStorage;
     private Button btnFlaggedItems;
 
     private LinearLayout layoutFlaggedEvents;
@@ -62,6 +77,9 @@ public class AdminHomeActivity extends AppCompatActivity {
         // Initialize Firebase
         db = FirebaseFirestore.getInstance();
 
+        // Admins need inactive events too, which a catalog bundle leaves out
+        EventSyncEngine.getInstance(this).requireCompleteCatalog();
+
         // Initialize views
         initViews();
 
@@ -90,6 +108,8 @@ public class AdminHomeActivity extends AppCompatActivity {
         btnBrowseUsers = findViewById(R.id.btnBrowseUsers);
         btnBrowseImages = findViewById(R.id.btnBrowseImages);
         btnGenerateReports = findViewById(R.id.btnGenerateReports);
+        btnPublishCatalog = findViewById(R.id.btnPublishCatalog);
+        btnCleanUpStorage = findViewById(R.id.btnCleanUpStorage);
         btnFlaggedItems = findViewById(R.id.btnFlaggedItems);
 
         layoutFlaggedEvents = findViewById(R.id.layoutFlaggedEvents);
@@ -126,6 +146,18 @@ public class AdminHomeActivity extends AppCompatActivity {
             generateAndExportReport();
         });
 
+        // Publish Event Catalog
+        btnPublishCatalog.setOnClickListener(v -> {
+            Log.d(TAG, "Publish Event Catalog clicked");
+            publishCatalogBundle();
+        });
+
+        // Clean Up Storage
+        btnCleanUpStorage.setOnClickListener(v -> {
+            Log.d(TAG, "Clean Up Storage clicked");
+            showStorageCleanupDialog();
+        });
+
         // Flagged Items
         btnFlaggedItems.setOnClickListener(v -> {
             Log.d(TAG, "Flagged Items clicked");
@@ -143,59 +175,51 @@ public class AdminHomeActivity extends AppCompatActivity {
     private void loadStatistics() {
         Log.d(TAG, "Loading platform statistics...");
 
-        // Load Events Count
-        db.collection("events")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    int count = queryDocumentSnapshots.size();
-                    tvEventsCount.setText(String.valueOf(count));
-                    Log.d(TAG, "Events count: " + count);
+        // Load Events and Active Events Count from the synced catalog
+        EventSyncEngine.getInstance(this).sync()
+                .addOnSuccessListener(this, events -> {
+                    int activeCount = 0;
+                    for (Event event : events) {
+                        if ("active".equals(event.getStatus())) {
+                            activeCount++;
+                        }
+                    }
+                    tvEventsCount.setText(String.valueOf(events.size()));
+                    tvActiveCount.setText(String.valueOf(activeCount));
+                    Log.d(TAG, "Events count: " + events.size() + ", active: " + activeCount);
                 })
-                .addOnFailureListener(e -> {
+                .addOnFailureListener(this, e -> {
                     tvEventsCount.setText("0");
+                    tvActiveCount.setText("0");
                     Log.e(TAG, "Error loading events count", e);
                 });
 
         // Load Users Count
         db.collection("users")
                 .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
+                .addOnSuccessListener(scope.onSuccess(queryDocumentSnapshots -> {
                     int count = queryDocumentSnapshots.size();
                     tvUsersCount.setText(String.valueOf(count));
                     Log.d(TAG, "Users count: " + count);
-                })
-                .addOnFailureListener(e -> {
+                }))
+                .addOnFailureListener(scope.onFailure(e -> {
                     tvUsersCount.setText("0");
                     Log.e(TAG, "Error loading users count", e);
-                });
+                }));
 
         // Load Organizers Count
         db.collection("users")
                 .whereArrayContains("roles", "organizer")
                 .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
+                .addOnSuccessListener(scope.onSuccess(queryDocumentSnapshots -> {
                     int count = queryDocumentSnapshots.size();
                     tvOrganizersCount.setText(String.valueOf(count));
                     Log.d(TAG, "Organizers count: " + count);
-                })
-                .addOnFailureListener(e -> {
+                }))
+                .addOnFailureListener(scope.onFailure(e -> {
                     tvOrganizersCount.setText("0");
                     Log.e(TAG, "Error loading organizers count", e);
-                });
-
-        // Load Active Events Count
-        db.collection("events")
-                .whereEqualTo("status", "active")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    int count = queryDocumentSnapshots.size();
-                    tvActiveCount.setText(String.valueOf(count));
-                    Log.d(TAG, "Active events count: " + count);
-                })
-                .addOnFailureListener(e -> {
-                    tvActiveCount.setText("0");
-                    Log.e(TAG, "Error loading active events count", e);
-                });
+                }));
     }
 
     /**
@@ -204,13 +228,12 @@ public class AdminHomeActivity extends AppCompatActivity {
     private void loadFlaggedEvents() {
         Log.d(TAG, "Loading flagged events...");
 
-        db.collection("events")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
+        // Shares the sync started by loadStatistics
+        EventSyncEngine.getInstance(this).sync()
+                .addOnSuccessListener(this, events -> {
                     int flaggedCount = 0;
 
-                    for (QueryDocumentSnapshot doc : queryDocumentSnapshots) {
-                        Event event = doc.toObject(Event.class);
+                    for (Event event : events) {
                         if (event.hasHighCancellationRate()) {
                             flaggedCount++;
                         }
@@ -228,7 +251,7 @@ public class AdminHomeActivity extends AppCompatActivity {
                         layoutFlaggedEvents.setVisibility(View.GONE);
                     }
                 })
-                .addOnFailureListener(e -> {
+                .addOnFailureListener(this, e -> {
                     Log.e(TAG, "Error loading flagged events", e);
                     btnFlaggedItems.setText("Flagged Items (0)");
                 });
@@ -244,23 +267,17 @@ public class AdminHomeActivity extends AppCompatActivity {
         Log.d(TAG, "Starting report generation...");
 
         // Fetch all events
-        db.collection("events")
-                .get()
-                .addOnSuccessListener(eventSnapshots -> {
-                    List<Event> events = new ArrayList<>();
-                    for (QueryDocumentSnapshot doc : eventSnapshots) {
-                        events.add(doc.toObject(Event.class));
-                    }
-
+        EventSyncEngine.getInstance(this).sync()
+                .addOnSuccessListener(this, events -> {
                     Log.d(TAG, "Loaded " + events.size() + " events for report");
 
                     // Fetch all users
                     db.collection("users")
                             .get()
-                            .addOnSuccessListener(userSnapshots -> {
+                            .addOnSuccessListener(scope.onSuccess(userSnapshots -> {
                                 List<User> users = new ArrayList<>();
                                 for (QueryDocumentSnapshot doc : userSnapshots) {
-                                    users.add(doc.toObject(User.class));
+                                    users.add(UserMapper.fromSnapshot(doc));
                                 }
 
                                 Log.d(TAG, "Loaded " + users.size() + " users for report");
@@ -268,20 +285,108 @@ public class AdminHomeActivity extends AppCompatActivity {
                                 // Export report
                                 ReportExporter.exportPlatformReport(this, events, users);
                                 Toast.makeText(this, "Report generated!", Toast.LENGTH_SHORT).show();
-                            })
-                            .addOnFailureListener(e -> {
+                            }))
+                            .addOnFailureListener(scope.onFailure(e -> {
                                 Log.e(TAG, "Error loading users for report", e);
                                 Toast.makeText(this, "Error loading users: " + e.getMessage(),
                                         Toast.LENGTH_SHORT).show();
-                            });
+                            }));
                 })
-                .addOnFailureListener(e -> {
+                .addOnFailureListener(scope.onFailure(e -> {
                     Log.e(TAG, "Error loading events for report", e);
                     Toast.makeText(this, "Error loading events: " + e.getMessage(),
                             Toast.LENGTH_SHORT).show();
+                }));
+    }
+
+    /**
+     * Publish the active events as a bundle that new entrants load on first launch
+     */
+    private void publishCatalogBundle() {
+        Toast.makeText(this, "Publishing event catalog...", Toast.LENGTH_SHORT).show();
+        btnPublishCatalog.setEnabled(false);
+
+        CatalogBundle.publish(this)
+                .addOnSuccessListener(this, file -> {
+                    btnPublishCatalog.setEnabled(true);
+                    Log.d(TAG, "✅ Catalog bundle published, copy saved to " + file);
+                    Toast.makeText(this, "Event catalog published", Toast.LENGTH_SHORT).show();
+                })
+                .addOnFailureListener(this, e -> {
+                    btnPublishCatalog.setEnabled(true);
+                    Log.e(TAG, "❌ Error publishing catalog bundle", e);
+                    Toast.makeText(this, "Error publishing catalog: " + e.getMessage(),
+                            Toast.LENGTH_SHORT).show();
                 });
     }
 
+    /**
+     * Ask whether to preview or actually delete orphaned storage files
+     */
+    private void showStorageCleanupDialog() {
+        new AlertDialog.Builder(this)
+                .setTitle("Clean Up Storage")
+                .setMessage("Remove posters and QR codes that no event uses anymore.\n\n" +
+                        "A dry run only reports what would be deleted.")
+                .setPositiveButton("Delete Orphans", (dialog, which) -> startStorageCleanup(false))
+                .setNeutralButton("Dry Run", (dialog, which) -> startStorageCleanup(true))
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void startStorageCleanup(boolean dryRun) {
+        Toast.makeText(this, "Storage cleanup started", Toast.LENGTH_SHORT).show();
+        btnCleanUpStorage.setEnabled(false);
+
+        // Observe only once the run is queued, so a previous run's result is not shown
+        StorageGarbageCollector.enqueue(this, dryRun).getState().observe(this, state -> {
+            if (state instanceof Operation.State.SUCCESS) {
+                observeStorageCleanup();
+            } else if (state instanceof Operation.State.FAILURE) {
+                btnCleanUpStorage.setEnabled(true);
+                Toast.makeText(this, "Could not start storage cleanup", Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    private void observeStorageCleanup() {
+        LiveData<List<WorkInfo>> workInfoLiveData = WorkManager.getInstance(this)
+                .getWorkInfosForUniqueWorkLiveData(StorageGarbageCollector.WORK_NAME);
+        workInfoLiveData.observe(this, workInfos -> {
+            if (workInfos == null || workInfos.isEmpty()) return;
+            WorkInfo info = workInfos.get(workInfos.size() - 1);
+            if (!info.getState().isFinished()) return;
+
+            // One summary per run
+            workInfoLiveData.removeObservers(this);
+            btnCleanUpStorage.setEnabled(true);
+            if (info.getState() == WorkInfo.State.SUCCEEDED) {
+                showStorageCleanupSummary(info.getOutputData());
+            } else {
+                Toast.makeText(this, "Storage cleanup failed", Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    private void showStorageCleanupSummary(Data summary) {
+        boolean dryRun = summary.getBoolean(StorageGarbageCollector.KEY_DRY_RUN, true);
+        int orphans = summary.getInt(StorageGarbageCollector.KEY_ORPHANS, 0);
+        long kilobytes = summary.getLong(StorageGarbageCollector.KEY_BYTES, 0) / 1024;
+
+        String message = "Files scanned: " + summary.getInt(StorageGarbageCollector.KEY_SCANNED, 0) + "\n" +
+                (dryRun ? "Would delete: " : "Deleted: ") +
+                (dryRun ? orphans : summary.getInt(StorageGarbageCollector.KEY_DELETED, 0)) +
+                " (" + kilobytes + " KB)\n" +
+                "Unused image entries: " + summary.getInt(StorageGarbageCollector.KEY_REGISTRY_REMOVED, 0) + "\n" +
+                "Failures: " + summary.getInt(StorageGarbageCollector.KEY_FAILED, 0);
+
+        new AlertDialog.Builder(this)
+                .setTitle(dryRun ? "Dry Run Results" : "Cleanup Complete")
+                .setMessage(message)
+                .setPositiveButton("OK", null)
+                .show();
+    }
+
     /**
      * Reload statistics when activity resumes
      */
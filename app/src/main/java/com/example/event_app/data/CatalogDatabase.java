@@ -0,0 +1,37 @@
+package com.example.event_app.data;
+
+import android.content.Context;
+
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+
+/**
+ * CatalogDatabase - On-device copy of the event catalog
+ *
+ * Everything here can be downloaded again, so a schema change simply
+ * drops the tables instead of migrating them.
+ */
+@Database(entities = {EventCardEntity.class, EventCardFts.class}, version = 2, exportSchema = false)
+public abstract class CatalogDatabase extends RoomDatabase {
+
+    private static final String DATABASE_NAME = "catalog.db";
+
+    private static volatile CatalogDatabase instance;
+
+    public abstract EventCardDao eventCardDao();
+
+    public static CatalogDatabase getInstance(Context context) {
+        if (instance == null) {
+            synchronized (CatalogDatabase.class) {
+                if (instance == null) {
+                    instance = Room.databaseBuilder(context.getApplicationContext(),
+                                    CatalogDatabase.class, DATABASE_NAME)
+                            .fallbackToDestructiveMigration()
+                            .build();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.event_app.data;
+
+import com.google.firebase.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DocumentFields - Typed reads from a document's getData() map
+ *
+ * Applies the same conversions toObject() does: numbers are widened or
+ * narrowed to the property's type, timestamps become Dates, and a value
+ * of the wrong type reads as the property's default.
+ */
+final class DocumentFields {
+
+    private DocumentFields() {}
+
+    static String string(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value instanceof String ? (String) value : null;
+    }
+
+    static boolean bool(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value instanceof Boolean && (Boolean) value;
+    }
+
+    static long longValue(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    static int intValue(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    static Long boxedLong(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    static Date date(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toDate();
+        }
+        return value instanceof Date ? (Date) value : null;
+    }
+
+    /**
+     * getData() builds a new list for every read, so it is used as is
+     * when it only holds strings
+     */
+    @SuppressWarnings("unchecked")
+    static List<String> stringList(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (!(value instanceof List)) {
+            return null;
+        }
+        List<Object> list = (List<Object>) value;
+        for (Object item : list) {
+            if (!(item instanceof String)) {
+                return copyStrings(list);
+            }
+        }
+        return (List<String>) value;
+    }
+
+    /**
+     * A map of maps of numbers, e.g. entrant locations
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Map<String, Double>> doubleMaps(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Map<String, Map<String, Double>> result = new HashMap<>();
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+            if (!(entry.getValue() instanceof Map)) {
+                continue;
+            }
+            Map<String, Double> inner = new HashMap<>();
+            for (Map.Entry<String, Object> number : ((Map<String, Object>) entry.getValue()).entrySet()) {
+                // Whole numbers come back as Long
+                if (number.getValue() instanceof Number) {
+                    inner.put(number.getKey(), ((Number) number.getValue()).doubleValue());
+                }
+            }
+            result.put(entry.getKey(), inner);
+        }
+        return result;
+    }
+
+    private static List<String> copyStrings(List<Object> list) {
+        List<String> strings = new ArrayList<>(list.size());
+        for (Object item : list) {
+            if (item instanceof String) {
+                strings.add((String) item);
+            }
+        }
+        return strings;
+    }
+}
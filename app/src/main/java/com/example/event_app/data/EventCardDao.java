@@ -0,0 +1,37 @@
+package com.example.event_app.data;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Upsert;
+
+import java.util.List;
+
+/**
+ * EventCardDao - Reads and writes for the local event catalog
+ */
+@Dao
+public interface EventCardDao {
+
+    @Query("SELECT * FROM event_cards ORDER BY createdAt DESC")
+    List<EventCardEntity> getAll();
+
+    @Query("SELECT * FROM event_cards WHERE status = :status ORDER BY createdAt DESC")
+    List<EventCardEntity> getByStatus(String status);
+
+    @Query("SELECT event_cards.* FROM event_cards "
+            + "JOIN event_cards_fts ON event_cards.rowid = event_cards_fts.rowid "
+            + "WHERE event_cards_fts MATCH :matchQuery "
+            + "ORDER BY event_cards.createdAt DESC")
+    List<EventCardEntity> search(String matchQuery);
+
+    @Query("SELECT id FROM event_cards")
+    List<String> getIds();
+
+    // An upsert updates rows in place, which keeps the FTS triggers correct;
+    // REPLACE would delete without updating the index
+    @Upsert
+    void upsert(List<EventCardEntity> cards);
+
+    @Query("DELETE FROM event_cards WHERE id IN (:ids)")
+    void deleteByIds(List<String> ids);
+}
@@ -0,0 +1,90 @@
+package com.example.event_app.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.example.event_app.models.Event;
+
+import java.util.Date;
+
+/**
+ * EventCardEntity - The part of an event the list screens show, stored in Room
+ *
+ * Lists are not stored, only their sizes, so an event rebuilt from a card
+ * has no waiting list or attendees. The poster is kept as its URL, version
+ * and blur hash, which is enough for PosterLoader to show a thumbnail.
+ */
+@Entity(tableName = "event_cards", indices = {@Index("status")})
+public class EventCardEntity {
+
+    @PrimaryKey
+    @NonNull
+    public String id = "";
+
+    public String name;
+    public String description;
+    public String organizerId;
+    public String organizerName;
+    public String location;
+    public String status;
+    public Long eventDate;      // millis, null if not set
+    public long createdAt;
+    public Long capacity;
+    public int waitingCount;
+    public int entrantCount;
+    public int totalSelected;
+    public int totalCancelled;
+    public String posterUrl;
+    public String posterVersion;
+    public String posterBlurHash;
+    public Long updatedAt;      // millis, null for events written before updatedAt existed
+
+    public static EventCardEntity fromEvent(Event event) {
+        EventCardEntity card = new EventCardEntity();
+        card.id = event.getId() != null ? event.getId() : event.getEventId();
+        card.name = event.getName();
+        card.description = event.getDescription();
+        card.organizerId = event.getOrganizerId();
+        card.organizerName = event.getOrganizerName();
+        card.location = event.getLocation();
+        card.status = event.getStatus();
+        card.eventDate = event.getEventDate() != null ? event.getEventDate().getTime() : null;
+        card.createdAt = event.getCreatedAt();
+        card.capacity = event.getCapacity();
+        card.waitingCount = event.getWaitingCount();
+        card.entrantCount = event.getEntrantCount();
+        card.totalSelected = event.getTotalSelected();
+        card.totalCancelled = event.getTotalCancelled();
+        card.posterUrl = event.getPosterUrl();
+        card.posterVersion = event.getPosterVersion();
+        card.posterBlurHash = event.getPosterBlurHash();
+        card.updatedAt = event.getUpdatedAt() != null ? event.getUpdatedAt().getTime() : null;
+        return card;
+    }
+
+    public Event toEvent() {
+        Event event = new Event();
+        event.setId(id);
+        event.setEventId(id);
+        event.setName(name);
+        event.setDescription(description);
+        event.setOrganizerId(organizerId);
+        event.setOrganizerName(organizerName);
+        event.setLocation(location);
+        event.setStatus(status);
+        event.setEventDate(eventDate != null ? new Date(eventDate) : null);
+        event.setCreatedAt(createdAt);
+        event.setCapacity(capacity);
+        event.setWaitingCount(waitingCount);
+        event.setEntrantCount(entrantCount);
+        event.setTotalSelected(totalSelected);
+        event.setTotalCancelled(totalCancelled);
+        event.setPosterUrl(posterUrl);
+        event.setPosterVersion(posterVersion);
+        event.setPosterBlurHash(posterBlurHash);
+        event.setUpdatedAt(updatedAt != null ? new Date(updatedAt) : null);
+        return event;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.event_app.data;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * EventCardFts - Full-text index over the searchable columns of event_cards
+ *
+ * Room keeps it in step with event_cards through triggers, so only the
+ * cards table is ever written. The unicode61 tokenizer folds case and
+ * accents beyond ASCII, so "cafe" finds "Café".
+ */
+@Fts4(contentEntity = EventCardEntity.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "event_cards_fts")
+public class EventCardFts {
+
+    public String name;
+    public String description;
+    public String organizerName;
+
+    /**
+     * Turn what the user typed into an FTS MATCH expression.
+     * Every word must match the start of a word in the card, so "jaz fest"
+     * finds "Jazz Festival". Returns null if there is nothing to search for.
+     */
+    public static String matchQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        // Letters and digits only, so quotes and operators can't break the query
+        List<String> terms = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                terms.add(word + "*");
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.event_app.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.event_app.models.Event;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * EventCatalog - Event cards saved on the device, with full-text search
+ *
+ * BrowseEventsActivity and AdminBrowseEventsActivity render from here
+ * before the network answers, and keep working offline after a restart.
+ * EventSyncEngine writes every sync result back in batched transactions.
+ *
+ * Reads run on Room's query executor and writes on its transaction
+ * executor, so callers get Tasks and never touch the database directly.
+ */
+public class EventCatalog {
+
+    private static final String TAG = "EventCatalog";
+
+    // Rows per transaction, and below SQLite's limit on bound arguments
+    private static final int BATCH_SIZE = 200;
+
+    private static EventCatalog instance;
+
+    private final CatalogDatabase database;
+    private final EventCardDao dao;
+
+    private EventCatalog(Context context) {
+        this.database = CatalogDatabase.getInstance(context);
+        this.dao = database.eventCardDao();
+    }
+
+    public static synchronized EventCatalog getInstance(Context context) {
+        if (instance == null) {
+            instance = new EventCatalog(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Every saved event, newest first
+     */
+    public Task<List<Event>> loadAll() {
+        return Tasks.call(database.getQueryExecutor(), () -> toEvents(dao.getAll()));
+    }
+
+    /**
+     * Saved events entrants can browse, newest first
+     */
+    public Task<List<Event>> loadActive() {
+        return Tasks.call(database.getQueryExecutor(), () -> toEvents(dao.getByStatus("active")));
+    }
+
+    /**
+     * Saved events whose name, description or organizer match the text, newest first
+     */
+    public Task<List<Event>> search(String text) {
+        String matchQuery = EventCardFts.matchQuery(text);
+        if (matchQuery == null) {
+            return Tasks.forResult(Collections.emptyList());
+        }
+        return Tasks.call(database.getQueryExecutor(), () -> toEvents(dao.search(matchQuery)));
+    }
+
+    /**
+     * Make the catalog match a full download
+     */
+    public Task<Void> replaceAll(Collection<Event> events) {
+        List<EventCardEntity> cards = toCards(events);
+        return Tasks.call(database.getTransactionExecutor(), () -> {
+            Set<String> keep = new HashSet<>();
+            for (EventCardEntity card : cards) {
+                keep.add(card.id);
+            }
+            List<String> stale = new ArrayList<>();
+            for (String id : dao.getIds()) {
+                if (!keep.contains(id)) {
+                    stale.add(id);
+                }
+            }
+
+            // Upsert first, so readers between batches never see events go missing
+            writeBatches(cards, stale);
+            Log.d(TAG, "✅ Catalog replaced: " + cards.size() + " events, " + stale.size() + " removed");
+            return null;
+        });
+    }
+
+    /**
+     * Apply the changes from a delta sync
+     */
+    public Task<Void> apply(Collection<Event> changed, Collection<String> deletedIds) {
+        if (changed.isEmpty() && deletedIds.isEmpty()) {
+            return Tasks.forResult(null);
+        }
+        List<EventCardEntity> cards = toCards(changed);
+        List<String> deleted = new ArrayList<>(deletedIds);
+        return Tasks.call(database.getTransactionExecutor(), () -> {
+            writeBatches(cards, deleted);
+            Log.d(TAG, "✅ Catalog updated: " + cards.size() + " changed, " + deleted.size() + " deleted");
+            return null;
+        });
+    }
+
+    private void writeBatches(List<EventCardEntity> cards, List<String> deletedIds) {
+        for (int start = 0; start < cards.size(); start += BATCH_SIZE) {
+            List<EventCardEntity> batch = cards.subList(start, Math.min(cards.size(), start + BATCH_SIZE));
+            database.runInTransaction(() -> dao.upsert(batch));
+        }
+        for (int start = 0; start < deletedIds.size(); start += BATCH_SIZE) {
+            List<String> batch = deletedIds.subList(start, Math.min(deletedIds.size(), start + BATCH_SIZE));
+            database.runInTransaction(() -> dao.deleteByIds(batch));
+        }
+    }
+
+    private static List<EventCardEntity> toCards(Collection<Event> events) {
+        List<EventCardEntity> cards = new ArrayList<>();
+        for (Event event : events) {
+            EventCardEntity card = EventCardEntity.fromEvent(event);
+            if (card.id != null) {
+                cards.add(card);
+            }
+        }
+        return cards;
+    }
+
+    private static List<Event> toEvents(List<EventCardEntity> cards) {
+        List<Event> events = new ArrayList<>();
+        for (EventCardEntity card : cards) {
+            events.add(card.toEvent());
+        }
+        return events;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.event_app.data;
+
+import com.example.event_app.models.Event;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.event_app.data.DocumentFields.bool;
+import static com.example.event_app.data.DocumentFields.boxedLong;
+import static com.example.event_app.data.DocumentFields.date;
+import static com.example.event_app.data.DocumentFields.doubleMaps;
+import static com.example.event_app.data.DocumentFields.intValue;
+import static com.example.event_app.data.DocumentFields.longValue;
+import static com.example.event_app.data.DocumentFields.string;
+import static com.example.event_app.data.DocumentFields.stringList;
+
+/**
+ * EventMapper - Builds Events straight from document data
+ *
+ * toObject() finds every bean property of Event through reflection and
+ * converts each document field by name, on the main thread for most
+ * lists. This reads the fields Event has directly instead. Fields Event
+ * doesn't have are skipped, as toObject() does.
+ *
+ * A new Event field has to be added here as well.
+ */
+public final class EventMapper {
+
+    private EventMapper() {}
+
+    /**
+     * The event in a document, with its ID set, or null if it doesn't exist
+     */
+    public static Event fromSnapshot(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        Event event = fromData(data);
+        event.setId(document.getId());
+        return event;
+    }
+
+    public static List<Event> fromSnapshots(List<? extends DocumentSnapshot> documents) {
+        List<Event> events = new ArrayList<>(documents.size());
+        for (DocumentSnapshot document : documents) {
+            Event event = fromSnapshot(document);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    static Event fromData(Map<String, Object> data) {
+        Event event = new Event();
+        event.setId(string(data, "id"));
+        event.setEventId(string(data, "eventId"));
+        event.setName(string(data, "name"));
+        event.setDescription(string(data, "description"));
+        event.setOrganizerId(string(data, "organizerId"));
+        event.setOrganizerName(string(data, "organizerName"));
+        event.setStatus(string(data, "status"));
+        event.setLocation(string(data, "location"));
+        event.setCreatedAt(longValue(data, "createdAt"));
+        event.setUpdatedAt(date(data, "updatedAt"));
+
+        event.setPosterUrl(string(data, "posterUrl"));
+        event.setPosterVersion(string(data, "posterVersion"));
+        event.setPosterBlurHash(string(data, "posterBlurHash"));
+
+        event.setCapacity(boxedLong(data, "capacity"));
+        event.setEntrantCount(intValue(data, "entrantCount"));
+        event.setTotalSelected(intValue(data, "totalSelected"));
+        event.setTotalCancelled(intValue(data, "totalCancelled"));
+        event.setTotalAttending(intValue(data, "totalAttending"));
+
+        event.setWaitingList(stringList(data, "waitingList"));
+        event.setSignedUpUsers(stringList(data, "signedUpUsers"));
+        event.setSelectedList(stringList(data, "selectedList"));
+        event.setDeclinedUsers(stringList(data, "declinedUsers"));
+        event.setCheckedInUsers(stringList(data, "checkedInUsers"));
+
+        event.setEventDate(date(data, "eventDate"));
+        event.setDate(date(data, "date"));
+        event.setRegistrationStartDate(date(data, "registrationStartDate"));
+        event.setRegistrationEndDate(date(data, "registrationEndDate"));
+
+        event.setGeolocationEnabled(bool(data, "geolocationEnabled"));
+        event.setEntrantLocations(doubleMaps(data, "entrantLocations"));
+        return event;
+    }
+}
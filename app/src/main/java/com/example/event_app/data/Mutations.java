@@ -0,0 +1,150 @@
+package com.example.event_app.data;
+
+import com.example.event_app.models.Event;
+import com.google.firebase.firestore.FieldValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Mutations - What each Outbox action does to an event
+ *
+ * The same rules patch the event on the device right away and, inside a
+ * transaction, the event on the server. Applying a mutation twice changes
+ * nothing the second time, so pending mutations can be laid over freshly
+ * loaded events as often as needed.
+ *
+ * The matching Firestore update uses array transforms and increments, so
+ * a write only carries the entries that changed.
+ */
+public class Mutations {
+
+    public enum Outcome {
+        APPLIED,
+        NO_OP,      // already in the requested state
+        CONFLICT    // the event has moved on, e.g. the invitation was withdrawn
+    }
+
+    /**
+     * @param replacements random source for drawing a replacement after a
+     *                     decline, or null to leave that to the server
+     */
+    public static Outcome apply(Event event, String type, String userId, Random replacements) {
+        return apply(event, type, userId, replacements, null);
+    }
+
+    /**
+     * @param updates if not null, receives the Firestore update that makes
+     *                the same change to the stored event
+     */
+    public static Outcome apply(Event event, String type, String userId, Random replacements,
+                                Map<String, Object> updates) {
+        if (updates == null) {
+            updates = new HashMap<>();
+        }
+
+        List<String> waitingList = listOf(event.getWaitingList());
+        List<String> selectedList = listOf(event.getSelectedList());
+        List<String> signedUpUsers = listOf(event.getSignedUpUsers());
+        List<String> declinedUsers = listOf(event.getDeclinedUsers());
+
+        switch (type) {
+            case PendingMutation.JOIN:
+                if (waitingList.contains(userId) || selectedList.contains(userId)
+                        || signedUpUsers.contains(userId)) {
+                    return Outcome.NO_OP;
+                }
+                waitingList.add(userId);
+                event.setWaitingList(waitingList);
+                updates.put("waitingList", FieldValue.arrayUnion(userId));
+                return Outcome.APPLIED;
+
+            case PendingMutation.LEAVE:
+                if (!waitingList.remove(userId)) {
+                    return Outcome.NO_OP;
+                }
+                event.setWaitingList(waitingList);
+                updates.put("waitingList", FieldValue.arrayRemove(userId));
+                return Outcome.APPLIED;
+
+            case PendingMutation.ACCEPT:
+                if (signedUpUsers.contains(userId)) {
+                    return Outcome.NO_OP;
+                }
+                if (!selectedList.contains(userId)) {
+                    return Outcome.CONFLICT;
+                }
+                signedUpUsers.add(userId);
+                selectedList.remove(userId);
+                waitingList.remove(userId);
+                event.setSignedUpUsers(signedUpUsers);
+                event.setSelectedList(selectedList);
+                event.setWaitingList(waitingList);
+                updates.put("signedUpUsers", FieldValue.arrayUnion(userId));
+                updates.put("selectedList", FieldValue.arrayRemove(userId));
+                updates.put("waitingList", FieldValue.arrayRemove(userId));
+                return Outcome.APPLIED;
+
+            case PendingMutation.DECLINE:
+                if (declinedUsers.contains(userId)) {
+                    return Outcome.NO_OP;
+                }
+                if (!selectedList.contains(userId)) {
+                    return Outcome.CONFLICT;
+                }
+                declinedUsers.add(userId);
+                selectedList.remove(userId);
+                waitingList.remove(userId);
+                event.setDeclinedUsers(declinedUsers);
+                event.setSelectedList(selectedList);
+                event.setWaitingList(waitingList);
+                event.setTotalCancelled(event.getTotalCancelled() + 1);
+                updates.put("declinedUsers", FieldValue.arrayUnion(userId));
+                updates.put("selectedList", FieldValue.arrayRemove(userId));
+                updates.put("waitingList", FieldValue.arrayRemove(userId));
+                updates.put("totalCancelled", FieldValue.increment(1));
+
+                // US 01.05.01: Automatically draw replacement if spots available
+                if (replacements != null && drawReplacement(event, replacements)) {
+                    // One field takes one transform, so the list is written whole.
+                    // It was read in the same transaction, so nothing is lost.
+                    updates.put("selectedList", event.getSelectedList());
+                }
+                return Outcome.APPLIED;
+
+            default:
+                throw new IllegalArgumentException("Unknown mutation: " + type);
+        }
+    }
+
+    /**
+     * @return whether a replacement was added to the selected list
+     */
+    private static boolean drawReplacement(Event event, Random random) {
+        if (event.getCapacity() == null) {
+            return false;
+        }
+
+        List<String> selectedList = event.getSelectedList();
+        if (selectedList.size() >= event.getCapacity().intValue()) {
+            return false;
+        }
+
+        List<String> availableEntrants = new ArrayList<>(event.getWaitingList());
+        availableEntrants.removeAll(selectedList);
+        if (availableEntrants.isEmpty()) {
+            return false;
+        }
+        Collections.shuffle(availableEntrants, random);
+        selectedList.add(availableEntrants.get(0));
+        return true;
+    }
+
+    private static List<String> listOf(List<String> list) {
+        return list != null ? new ArrayList<>(list) : new ArrayList<>();
+    }
+}
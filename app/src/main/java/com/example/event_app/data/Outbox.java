@@ -0,0 +1,134 @@
+package com.example.event_app.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.event_app.models.Event;
+import com.example.event_app.utils.OutboxWorker;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outbox - Durable queue of entrant actions
+ *
+ * US 01.01.01: Join waiting list
+ * US 01.01.02: Leave waiting list
+ * US 01.05.02: Accept invitation
+ * US 01.05.03: Decline invitation
+ *
+ * An action is saved on the device and applied to the screen's copy of the
+ * event straight away. OutboxWorker sends the queue in order once there is
+ * a connection, retrying with backoff. Screens lay the still-pending
+ * actions over every event they load, so a refresh never undoes what the
+ * user just did. If the server has moved on, the action is dropped and the
+ * worker reports the event as a conflict, so the screen shows the server's
+ * state instead.
+ *
+ * Events shared between screens, like EventSyncEngine's, are never changed
+ * here. overlay() returns copies, so a rejected action can't linger in
+ * them until the next full sync.
+ */
+public class Outbox {
+
+    private static final String TAG = "Outbox";
+
+    private static Outbox instance;
+
+    private final Context context;
+    private final OutboxDatabase database;
+    private final PendingMutationDao dao;
+
+    private Outbox(Context context) {
+        this.context = context.getApplicationContext();
+        this.database = OutboxDatabase.getInstance(context);
+        this.dao = database.pendingMutationDao();
+    }
+
+    public static synchronized Outbox getInstance(Context context) {
+        if (instance == null) {
+            instance = new Outbox(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Apply an action to the screen's own copy of the event and queue it for
+     * the server. The task fails only if the action could not be saved, and
+     * the event is then put back as it was.
+     */
+    public Task<PendingMutation> submit(Event event, String type, String userId) {
+        Event before = copyOf(event);
+        Mutations.apply(event, type, userId, null);
+
+        PendingMutation mutation = PendingMutation.create(type, event.getId(), userId);
+        return Tasks.call(database.getTransactionExecutor(), () -> {
+            mutation.seq = dao.insert(mutation);
+            Log.d(TAG, "Queued " + type + " for event " + mutation.eventId);
+            OutboxWorker.enqueue(context);
+            return mutation;
+        }).addOnFailureListener(e -> restore(event, before));
+    }
+
+    /**
+     * Actions for an event that the server has not confirmed yet
+     */
+    public Task<List<PendingMutation>> pendingForEvent(String eventId) {
+        return Tasks.call(database.getQueryExecutor(), () -> dao.getForEvent(eventId));
+    }
+
+    /**
+     * A user's actions that the server has not confirmed yet
+     */
+    public Task<List<PendingMutation>> pendingForUser(String userId) {
+        return Tasks.call(database.getQueryExecutor(), () -> dao.getForUser(userId));
+    }
+
+    private static Event copyOf(Event event) {
+        Event copy = new Event();
+        restore(copy, event);
+        return copy;
+    }
+
+    /**
+     * Copy back the fields Mutations changes
+     */
+    private static void restore(Event event, Event saved) {
+        event.setWaitingList(saved.getWaitingList());
+        event.setSelectedList(saved.getSelectedList());
+        event.setSignedUpUsers(saved.getSignedUpUsers());
+        event.setDeclinedUsers(saved.getDeclinedUsers());
+        event.setTotalCancelled(saved.getTotalCancelled());
+    }
+
+    /**
+     * Lay pending actions over an event loaded from the server or cache.
+     * Returns a copy with the actions applied, or the event itself if none
+     * of them are for it.
+     */
+    public static Event overlay(Event event, List<PendingMutation> pending) {
+        Event overlaid = event;
+        for (PendingMutation mutation : pending) {
+            if (mutation.eventId.equals(event.getId())) {
+                if (overlaid == event) {
+                    overlaid = new Event(event);
+                }
+                Mutations.apply(overlaid, mutation.type, mutation.userId, null);
+            }
+        }
+        return overlaid;
+    }
+
+    /**
+     * Lay pending actions over a list of events, in the same order
+     */
+    public static List<Event> overlay(List<Event> events, List<PendingMutation> pending) {
+        List<Event> overlaid = new ArrayList<>(events.size());
+        for (Event event : events) {
+            overlaid.add(overlay(event, pending));
+        }
+        return overlaid;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.event_app.data;
+
+import android.content.Context;
+
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+
+/**
+ * OutboxDatabase - Entrant actions not yet confirmed by the server
+ *
+ * Kept apart from CatalogDatabase because, unlike the catalog, nothing
+ * here can be downloaded again: a schema change needs a real migration.
+ */
+@Database(entities = {PendingMutation.class}, version = 1, exportSchema = false)
+public abstract class OutboxDatabase extends RoomDatabase {
+
+    private static final String DATABASE_NAME = "outbox.db";
+
+    private static volatile OutboxDatabase instance;
+
+    public abstract PendingMutationDao pendingMutationDao();
+
+    public static OutboxDatabase getInstance(Context context) {
+        if (instance == null) {
+            synchronized (OutboxDatabase.class) {
+                if (instance == null) {
+                    instance = Room.databaseBuilder(context.getApplicationContext(),
+                                    OutboxDatabase.class, DATABASE_NAME)
+                            .build();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.event_app.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.util.UUID;
+
+/**
+ * PendingMutation - One entrant action waiting in the Outbox
+ *
+ * The request ID is generated on the device, so a mutation that is sent
+ * twice (e.g. the reply was lost) is only applied once.
+ */
+@Entity(tableName = "pending_mutations",
+        indices = {@Index(value = "requestId", unique = true), @Index("eventId")})
+public class PendingMutation {
+
+    public static final String JOIN = "join";
+    public static final String LEAVE = "leave";
+    public static final String ACCEPT = "accept";
+    public static final String DECLINE = "decline";
+
+    // Sent in this order
+    @PrimaryKey(autoGenerate = true)
+    public long seq;
+
+    @NonNull
+    public String requestId = "";
+
+    public String type;
+    public String eventId;
+    public String userId;
+    public long createdAt;
+    public int attempts;
+    public String lastError;
+
+    public static PendingMutation create(String type, String eventId, String userId) {
+        PendingMutation mutation = new PendingMutation();
+        mutation.requestId = UUID.randomUUID().toString();
+        mutation.type = type;
+        mutation.eventId = eventId;
+        mutation.userId = userId;
+        mutation.createdAt = System.currentTimeMillis();
+        return mutation;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.event_app.data;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * PendingMutationDao - The Outbox queue
+ */
+@Dao
+public interface PendingMutationDao {
+
+    @Insert
+    long insert(PendingMutation mutation);
+
+    @Query("SELECT * FROM pending_mutations ORDER BY seq LIMIT :limit")
+    List<PendingMutation> getNext(int limit);
+
+    @Query("SELECT * FROM pending_mutations WHERE eventId = :eventId ORDER BY seq")
+    List<PendingMutation> getForEvent(String eventId);
+
+    @Query("SELECT * FROM pending_mutations WHERE userId = :userId ORDER BY seq")
+    List<PendingMutation> getForUser(String userId);
+
+    @Query("UPDATE pending_mutations SET attempts = attempts + 1, lastError = :error WHERE seq = :seq")
+    void recordFailure(long seq, String error);
+
+    @Query("DELETE FROM pending_mutations WHERE seq = :seq")
+    void delete(long seq);
+}
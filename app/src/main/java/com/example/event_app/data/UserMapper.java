@@ -0,0 +1,63 @@
+package com.example.event_app.data;
+
+import com.example.event_app.models.User;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.event_app.data.DocumentFields.bool;
+import static com.example.event_app.data.DocumentFields.longValue;
+import static com.example.event_app.data.DocumentFields.string;
+import static com.example.event_app.data.DocumentFields.stringList;
+
+/**
+ * UserMapper - Builds Users straight from document data
+ *
+ * The reflection-free counterpart of toObject(User.class), see EventMapper.
+ */
+public final class UserMapper {
+
+    private UserMapper() {}
+
+    /**
+     * The user in a document, or null if it doesn't exist
+     */
+    public static User fromSnapshot(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        return fromData(data);
+    }
+
+    public static List<User> fromSnapshots(List<? extends DocumentSnapshot> documents) {
+        List<User> users = new ArrayList<>(documents.size());
+        for (DocumentSnapshot document : documents) {
+            User user = fromSnapshot(document);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    static User fromData(Map<String, Object> data) {
+        User user = new User();
+        user.setUserId(string(data, "userId"));
+        user.setDeviceId(string(data, "deviceId"));
+        user.setName(string(data, "name"));
+        user.setEmail(string(data, "email"));
+        user.setPhoneNumber(string(data, "phoneNumber"));
+        // Keep the constructor's empty list when the field is missing
+        List<String> roles = stringList(data, "roles");
+        if (roles != null) {
+            user.setRoles(roles);
+        }
+        user.setNotificationsEnabled(bool(data, "notificationsEnabled"));
+        user.setCreatedAt(longValue(data, "createdAt"));
+        user.setUpdatedAt(longValue(data, "updatedAt"));
+        return user;
+    }
+}
@@ -18,6 +18,7 @@ import com.example.event_app.R;
 import com.example.event_app.activities.entrant.BrowseEventsActivity;
 import com.example.event_app.activities.entrant.MyEventsActivity;
 import com.example.event_app.utils.PermissionManager;
+import com.example.event_app.utils.QRService;
 import com.google.android.material.card.MaterialCardView;
 import com.journeyapps.barcodescanner.ScanContract;
 import com.journeyapps.barcodescanner.ScanOptions;
@@ -28,6 +29,8 @@ import com.journeyapps.barcodescanner.ScanOptions;
  */
 public class HomeFragment extends Fragment {
 
+    private final QRService qrService = new QRService();
+
     // Permission launcher for camera
     private final ActivityResultLauncher<String> requestPermissionLauncher =
             registerForActivityResult(new ActivityResultContracts.RequestPermission(), isGranted -> {
@@ -42,8 +45,7 @@ public class HomeFragment extends Fragment {
     private final ActivityResultLauncher<ScanOptions> qrCodeLauncher =
             registerForActivityResult(new ScanContract(), result -> {
                 if (result.getContents() != null) {
-                    // TEMP: Show toast until we build EventDetailsActivity
-                    Toast.makeText(requireContext(), "Scanned: " + result.getContents(), Toast.LENGTH_SHORT).show();
+                    qrService.processQrCode(requireContext(), result.getContents());
                 }
             });
 
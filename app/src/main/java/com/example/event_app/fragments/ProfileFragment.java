@@ -17,9 +17,13 @@ import com.example.event_app.R;
 import com.example.event_app.activities.entrant.SettingsActivity;
 import com.example.event_app.activities.organizer.CreateEventActivity;
 import com.example.event_app.activities.organizer.OrganizerEventsActivity;
+import com.example.event_app.data.UserMapper;
 import com.example.event_app.models.User;
+import com.example.event_app.utils.FirestoreReads;
+import com.example.event_app.utils.SessionCache;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 /**
@@ -82,47 +86,68 @@ public class ProfileFragment extends Fragment {
         }
         String userId = mAuth.getCurrentUser().getUid();
 
-        db.collection("users").document(userId)
-                .get()
-                .addOnSuccessListener(document -> {
-                    if (document.exists()) {
-                        User user = document.toObject(User.class);
-                        if (user != null) {
-                            // Display user info
-                            tvName.setText(user.getName());
-                            tvEmail.setText(user.getEmail());
-
-                            // Display roles
-                            String roleText = user.isOrganizer() ? "Entrant & Organizer" : "Entrant";
-                            tvRole.setText(roleText);
-
-                            // Show/hide buttons based on the user's role
-                            if (user.isOrganizer()) {
-                                btnCreateEvent.setVisibility(View.VISIBLE);
-                                btnMyOrganizerEvents.setVisibility(View.VISIBLE);
-                                Log.d(TAG, "✅ User is organizer - showing Create Event and My Events buttons");
-
-                                // Set the click listener for My Organizer Events here
-                                btnMyOrganizerEvents.setOnClickListener(v -> {
-                                    Intent intent = new Intent(requireContext(), OrganizerEventsActivity.class);
-                                    startActivity(intent);
-                                });
-                            } else {
-                                btnCreateEvent.setVisibility(View.GONE);
-                                btnMyOrganizerEvents.setVisibility(View.GONE);
-                                Log.d(TAG, "❌ User is NOT organizer - hiding Create Event and My Events buttons");
+        // Show the profile loaded at startup right away, then refresh it
+        User cached = SessionCache.getUser(userId);
+        if (cached != null) {
+            displayUser(cached);
+        }
+
+        FirestoreReads.get("profile", db.collection("users").document(userId),
+                new FirestoreReads.Listener<DocumentSnapshot>() {
+                    @Override
+                    public void onResult(DocumentSnapshot document, boolean fromCache) {
+                        if (!isAdded()) {
+                            return;
+                        }
+                        if (document.exists()) {
+                            User user = UserMapper.fromSnapshot(document);
+                            if (user != null) {
+                                user.setUserId(userId);
+                                SessionCache.putUser(user);
+                                displayUser(user);
                             }
+                        } else {
+                            Log.d(TAG, "No such user document!");
+                        }
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e(TAG, "Error loading profile", e);
+                        if (isAdded()) {
+                            Toast.makeText(requireContext(), "Error loading profile", Toast.LENGTH_SHORT).show();
                         }
-                    } else {
-                        Log.d(TAG, "No such user document!");
                     }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading profile", e);
-                    Toast.makeText(requireContext(), "Error loading profile", Toast.LENGTH_SHORT).show();
                 });
     }
 
+    private void displayUser(User user) {
+        // Display user info
+        tvName.setText(user.getName());
+        tvEmail.setText(user.getEmail());
+
+        // Display roles
+        String roleText = user.isOrganizer() ? "Entrant & Organizer" : "Entrant";
+        tvRole.setText(roleText);
+
+        // Show/hide buttons based on the user's role
+        if (user.isOrganizer()) {
+            btnCreateEvent.setVisibility(View.VISIBLE);
+            btnMyOrganizerEvents.setVisibility(View.VISIBLE);
+            Log.d(TAG, "✅ User is organizer - showing Create Event and My Events buttons");
+
+            // Set the click listener for My Organizer Events here
+            btnMyOrganizerEvents.setOnClickListener(v -> {
+                Intent intent = new Intent(requireContext(), OrganizerEventsActivity.class);
+                startActivity(intent);
+            });
+        } else {
+            btnCreateEvent.setVisibility(View.GONE);
+            btnMyOrganizerEvents.setVisibility(View.GONE);
+            Log.d(TAG, "❌ User is NOT organizer - hiding Create Event and My Events buttons");
+        }
+    }
+
     @Override
     public void onResume() {
         super.onResume();
@@ -1,6 +1,8 @@
 package com.example.event_app.models;
 
+import com.google.firebase.firestore.Exclude;
 import com.google.firebase.firestore.ServerTimestamp;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +26,8 @@ public class Event {
     private String status;           // "active", "cancelled", "completed"
     private long createdAt;
     private String posterUrl;
+    private String posterVersion;    // content hash of the current poster, used as its cache key
+    private String posterBlurHash;   // tiny blurred preview shown while the poster loads
     private String location;
 
     // Registration and Capacity
@@ -32,9 +36,11 @@ public class Event {
     private List<String> signedUpUsers;
     private List<String> selectedList;  // Users selected by lottery
     private List<String> declinedUsers;  // Users who declined invitation
+    private List<String> checkedInUsers;  // Attendees checked in at the door
     private String organizerName;
     private Date eventDate;
     private int entrantCount;
+    private int waitingCount;        // only set on events rebuilt from the local catalog
 
     // Timestamps
     @ServerTimestamp
@@ -43,6 +49,8 @@ public class Event {
     private Date registrationStartDate;
     @ServerTimestamp
     private Date registrationEndDate;
+    @ServerTimestamp
+    private Date updatedAt;          // set by the server on every write, drives EventSyncEngine
 
 
     // Lottery statistics
@@ -53,6 +61,55 @@ public class Event {
     // Empty constructor required for Firebase
     public Event() {}
 
+    /**
+     * Copy of another event. Lists are shared, so change them by setting
+     * new ones, as Mutations does.
+     */
+    public Event(Event other) {
+        this.id = other.id;
+        this.geolocationEnabled = other.geolocationEnabled;
+        this.entrantLocations = other.entrantLocations;
+        this.eventId = other.eventId;
+        this.name = other.name;
+        this.description = other.description;
+        this.organizerId = other.organizerId;
+        this.status = other.status;
+        this.createdAt = other.createdAt;
+        this.posterUrl = other.posterUrl;
+        this.posterVersion = other.posterVersion;
+        this.posterBlurHash = other.posterBlurHash;
+        this.location = other.location;
+        this.capacity = other.capacity;
+        this.waitingList = other.waitingList;
+        this.signedUpUsers = other.signedUpUsers;
+        this.selectedList = other.selectedList;
+        this.declinedUsers = other.declinedUsers;
+        this.checkedInUsers = other.checkedInUsers;
+        this.organizerName = other.organizerName;
+        this.eventDate = other.eventDate;
+        this.entrantCount = other.entrantCount;
+        this.waitingCount = other.waitingCount;
+        this.date = other.date;
+        this.registrationStartDate = other.registrationStartDate;
+        this.registrationEndDate = other.registrationEndDate;
+        this.updatedAt = other.updatedAt;
+        this.totalSelected = other.totalSelected;
+        this.totalCancelled = other.totalCancelled;
+        this.totalAttending = other.totalAttending;
+    }
+
+    /**
+     * Copies of events, so another thread can read them while the originals
+     * stay with the main thread
+     */
+    public static List<Event> copyAll(List<Event> events) {
+        List<Event> copies = new ArrayList<>(events.size());
+        for (Event event : events) {
+            copies.add(new Event(event));
+        }
+        return copies;
+    }
+
     // Constructor for creating new events
     public Event(String eventId, String name, String description, String organizerId) {
         this.eventId = eventId;
@@ -74,7 +131,10 @@ public class Event {
     public String getOrganizerId() { return organizerId; }
     public String getStatus() { return status; }
     public long getCreatedAt() { return createdAt; }
+    public Date getUpdatedAt() { return updatedAt; }
     public String getPosterUrl() { return posterUrl; }
+    public String getPosterVersion() { return posterVersion; }
+    public String getPosterBlurHash() { return posterBlurHash; }
     public String getLocation() { return location; }
     public Long getCapacity() { return capacity; }
     public List<String> getWaitingList() { return waitingList; }
@@ -99,7 +159,10 @@ public class Event {
     public void setOrganizerId(String organizerId) { this.organizerId = organizerId; }
     public void setStatus(String status) { this.status = status; }
     public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
     public void setPosterUrl(String posterUrl) { this.posterUrl = posterUrl; }
+    public void setPosterVersion(String posterVersion) { this.posterVersion = posterVersion; }
+    public void setPosterBlurHash(String posterBlurHash) { this.posterBlurHash = posterBlurHash; }
     public void setLocation(String location) { this.location = location; }
     public void setCapacity(Long capacity) { this.capacity = capacity; }
     public void setWaitingList(List<String> waitingList) { this.waitingList = waitingList; }
@@ -116,9 +179,18 @@ public class Event {
     public void setEntrantCount(int entrantCount) { this.entrantCount = entrantCount; }
     public void setGeolocationEnabled(boolean geolocationEnabled) { this.geolocationEnabled = geolocationEnabled; }
 
+    // Events rebuilt from the local catalog carry the count but not the list
+    @Exclude
+    public int getWaitingCount() { return waitingList != null ? waitingList.size() : waitingCount; }
+    @Exclude
+    public void setWaitingCount(int waitingCount) { this.waitingCount = waitingCount; }
+
     public List<String> getDeclinedUsers() { return declinedUsers; }
     public void setDeclinedUsers(List<String> declinedUsers) { this.declinedUsers = declinedUsers; }
 
+    public List<String> getCheckedInUsers() { return checkedInUsers; }
+    public void setCheckedInUsers(List<String> checkedInUsers) { this.checkedInUsers = checkedInUsers; }
+
     public Map<String, Map<String, Double>> getEntrantLocations() { return entrantLocations; }
     public void setEntrantLocations(Map<String, Map<String, Double>> entrantLocations) {
         this.entrantLocations = entrantLocations;
@@ -0,0 +1,147 @@
+package com.example.event_app.models;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+import com.example.event_app.utils.DayFormatter;
+import com.example.event_app.utils.PosterLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * EventCardUiModel - Everything an event card shows, worked out ahead of time
+ *
+ * Built on a background thread, so binding a row only copies these values
+ * into its views. Dates are formatted through a shared DayFormatter and
+ * colors are resolved from resources here. The blurred poster placeholder
+ * is decoded here too, so the first bind finds it cached.
+ *
+ * forBrowse() fills the fields of the entrant's event card, forAdmin() the
+ * ones of the admin's. The event is kept for clicks and poster loading.
+ */
+public final class EventCardUiModel {
+
+    private static final DayFormatter DATES = new DayFormatter("MMM dd, yyyy");
+
+    public final Event event;
+    public final String name;
+    public final String organizer;
+    public final String date;
+    public final boolean hasPoster;
+
+    // Entrant cards
+    public final String capacity;
+    public final String waiting;
+
+    // Admin cards
+    public final String description;     // null when there is none
+    public final String status;
+    public final int statusColor;
+    public final String entrantCount;
+    public final String warning;         // null unless cancellations are high
+    public final int nameColor;
+
+    private EventCardUiModel(Event event, String name, String organizer, String date,
+                             String capacity, String waiting, String description,
+                             String status, int statusColor, String entrantCount,
+                             String warning, int nameColor) {
+        this.event = event;
+        this.name = name;
+        this.organizer = organizer;
+        this.date = date;
+        this.hasPoster = PosterLoader.hasPoster(event);
+        this.capacity = capacity;
+        this.waiting = waiting;
+        this.description = description;
+        this.status = status;
+        this.statusColor = statusColor;
+        this.entrantCount = entrantCount;
+        this.warning = warning;
+        this.nameColor = nameColor;
+    }
+
+    /**
+     * Card for the Browse Events list
+     */
+    public static EventCardUiModel forBrowse(Context context, Event event) {
+        warmPlaceholder(context.getResources(), event);
+
+        String organizer = event.getOrganizerName() != null ?
+                event.getOrganizerName() : "Event Organizer";
+        String date = event.getEventDate() != null ?
+                DATES.format(event.getEventDate()) : "Date TBA";
+        String capacity = event.getCapacity() != null ?
+                String.format(Locale.getDefault(), "%d spots", event.getCapacity()) : "Unlimited";
+        String waiting = String.format(Locale.getDefault(), "%d waiting", event.getWaitingCount());
+
+        return new EventCardUiModel(event, event.getName(), organizer, date, capacity, waiting,
+                null, null, 0, null, null, 0);
+    }
+
+    public static List<EventCardUiModel> forBrowse(Context context, List<Event> events) {
+        List<EventCardUiModel> models = new ArrayList<>(events.size());
+        for (Event event : events) {
+            models.add(forBrowse(context, event));
+        }
+        return models;
+    }
+
+    /**
+     * Card for the admin's event list
+     */
+    public static EventCardUiModel forAdmin(Context context, Event event) {
+        String description = event.getDescription() != null && !event.getDescription().isEmpty() ?
+                event.getDescription() : null;
+
+        String status = event.getStatus() != null ? event.getStatus().toUpperCase() : "ACTIVE";
+        int statusColor;
+        switch (status.toLowerCase()) {
+            case "active":
+                statusColor = android.R.color.holo_green_dark;
+                break;
+            case "inactive":
+                statusColor = android.R.color.darker_gray;
+                break;
+            case "completed":
+                statusColor = android.R.color.holo_blue_dark;
+                break;
+            default:
+                statusColor = android.R.color.holo_orange_dark;
+        }
+
+        String organizer = event.getOrganizerName() != null && !event.getOrganizerName().isEmpty() ?
+                event.getOrganizerName() : "Unknown";
+        String date = event.getEventDate() != null ?
+                DATES.format(event.getEventDate()) : "No date";
+
+        // Warning for high cancellation
+        String warning = null;
+        int nameColor = android.R.color.black;
+        if (event.hasHighCancellationRate()) {
+            warning = String.format(Locale.getDefault(), "⚠️ High cancellation (%.0f%%)",
+                    event.getCancellationRate());
+            nameColor = android.R.color.holo_red_dark;
+        }
+
+        return new EventCardUiModel(event, event.getName(), organizer, date, null, null,
+                description, status, context.getColor(statusColor),
+                String.valueOf(event.getEntrantCount()), warning, context.getColor(nameColor));
+    }
+
+    public static List<EventCardUiModel> forAdmin(Context context, List<Event> events) {
+        List<EventCardUiModel> models = new ArrayList<>(events.size());
+        for (Event event : events) {
+            models.add(forAdmin(context, event));
+        }
+        return models;
+    }
+
+    private static void warmPlaceholder(Resources resources, Event event) {
+        if (PosterLoader.hasPoster(event)) {
+            // Decodes the BlurHash into PosterLoader's cache
+            PosterLoader.placeholder(resources, event);
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.example.event_app.models;
 /**
  * ImageData Model - Represents an uploaded image
  * Used for event posters and profile pictures
+ *
+ * Uploaded posters are registered under the SHA-256 of their bytes, so the
+ * same image is stored once and shared by every event that uses it.
+ * refCount tracks how many events point at it.
  */
 public class ImageData {
 
@@ -12,6 +16,13 @@ public class ImageData {
     private String associatedWith;  // eventId or userId
     private String type;            // "event_poster" or "profile_picture"
     private long uploadedAt;
+    private String contentHash;     // SHA-256 of the image bytes, also the document ID
+    private String storagePath;     // path of the object in Firebase Storage
+    private String thumbUrl;        // small rendition for image grids
+    private String blurHash;        // blurred preview of the image
+    private long sizeBytes;
+    private long refCount;          // number of events using this image
+    private long lastClaimedAt;     // when a reference was last taken
 
     // Empty constructor for Firebase
     public ImageData() {
@@ -32,6 +43,13 @@ public class ImageData {
     public String getAssociatedWith() { return associatedWith; }
     public String getType() { return type; }
     public long getUploadedAt() { return uploadedAt; }
+    public String getContentHash() { return contentHash; }
+    public String getStoragePath() { return storagePath; }
+    public String getThumbUrl() { return thumbUrl; }
+    public String getBlurHash() { return blurHash; }
+    public long getSizeBytes() { return sizeBytes; }
+    public long getRefCount() { return refCount; }
+    public long getLastClaimedAt() { return lastClaimedAt; }
 
     // Setters
     public void setImageId(String imageId) { this.imageId = imageId; }
@@ -40,4 +58,11 @@ public class ImageData {
     public void setAssociatedWith(String associatedWith) { this.associatedWith = associatedWith; }
     public void setType(String type) { this.type = type; }
     public void setUploadedAt(long uploadedAt) { this.uploadedAt = uploadedAt; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    public void setStoragePath(String storagePath) { this.storagePath = storagePath; }
+    public void setThumbUrl(String thumbUrl) { this.thumbUrl = thumbUrl; }
+    public void setBlurHash(String blurHash) { this.blurHash = blurHash; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+    public void setRefCount(long refCount) { this.refCount = refCount; }
+    public void setLastClaimedAt(long lastClaimedAt) { this.lastClaimedAt = lastClaimedAt; }
 }
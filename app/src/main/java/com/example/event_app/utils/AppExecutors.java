@@ -0,0 +1,215 @@
+package com.example.event_app.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AppExecutors - The app's shared background threads
+ *
+ * io is for work that waits on disk or the network, compute for parsing,
+ * filtering, sorting and encoding, and main posts finished results to the
+ * UI. Task callbacks take an executor, so a listener that walks a large
+ * result can run on compute and hand only what the screen needs to main:
+ *
+ *     task.addOnSuccessListener(AppExecutors.compute(), result -> {
+ *         List<Item> items = build(result);
+ *         AppExecutors.main().execute(() -> show(items));
+ *     });
+ *
+ * Both pools count queue depth and how long tasks waited and ran, and log
+ * them under the "AppExecutors" tag every LOG_EVERY tasks.
+ */
+public class AppExecutors {
+
+    private static final String TAG = "AppExecutors";
+
+    private static final int LOG_EVERY = 100;
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    private static final Pool IO = new Pool("io", 4);
+    private static final Pool COMPUTE = new Pool("compute", Math.max(2, Math.min(4, CORES)));
+    private static final Executor MAIN = new MainExecutor();
+
+    public static ExecutorService io() {
+        return IO;
+    }
+
+    public static ExecutorService compute() {
+        return COMPUTE;
+    }
+
+    public static Executor main() {
+        return MAIN;
+    }
+
+    /**
+     * Runs tasks one at a time and in order, on the threads of another executor
+     */
+    public static Executor serial(Executor executor) {
+        return new SerialExecutor(executor);
+    }
+
+    /**
+     * Counters for a pool
+     */
+    public static class Stats {
+        public int tasks;
+        public int queueDepth;
+        public int maxQueueDepth;
+        public long waitMillis;
+        public long maxWaitMillis;
+        public long runMillis;
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%d tasks, queue %d (max %d), wait %dms avg %dms max, run %dms avg",
+                    tasks, queueDepth, maxQueueDepth,
+                    tasks == 0 ? 0 : waitMillis / tasks, maxWaitMillis,
+                    tasks == 0 ? 0 : runMillis / tasks);
+        }
+    }
+
+    public static Stats getIoStats() {
+        return IO.snapshot();
+    }
+
+    public static Stats getComputeStats() {
+        return COMPUTE.snapshot();
+    }
+
+    /**
+     * A fixed pool of background-priority threads that times every task
+     */
+    private static class Pool extends ThreadPoolExecutor {
+
+        private final String name;
+        private final Stats stats = new Stats();
+
+        Pool(String name, int threads) {
+            super(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new NamedThreadFactory(name));
+            this.name = name;
+            allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            long queuedAt = SystemClock.elapsedRealtime();
+            super.execute(() -> {
+                long startedAt = SystemClock.elapsedRealtime();
+                try {
+                    command.run();
+                } finally {
+                    record(startedAt - queuedAt, SystemClock.elapsedRealtime() - startedAt);
+                }
+            });
+            recordQueueDepth(getQueue().size());
+        }
+
+        private synchronized void recordQueueDepth(int depth) {
+            stats.maxQueueDepth = Math.max(stats.maxQueueDepth, depth);
+        }
+
+        private synchronized void record(long waitMillis, long runMillis) {
+            stats.tasks++;
+            stats.waitMillis += waitMillis;
+            stats.maxWaitMillis = Math.max(stats.maxWaitMillis, waitMillis);
+            stats.runMillis += runMillis;
+            if (stats.tasks % LOG_EVERY == 0) {
+                stats.queueDepth = getQueue().size();
+                Log.i(TAG, name + ": " + stats);
+            }
+        }
+
+        synchronized Stats snapshot() {
+            Stats copy = new Stats();
+            copy.tasks = stats.tasks;
+            copy.queueDepth = getQueue().size();
+            copy.maxQueueDepth = stats.maxQueueDepth;
+            copy.waitMillis = stats.waitMillis;
+            copy.maxWaitMillis = stats.maxWaitMillis;
+            copy.runMillis = stats.runMillis;
+            return copy;
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String name;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(() -> {
+                // Below the UI thread, so background work can't make it stutter
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "app-" + name + "-" + count.incrementAndGet());
+        }
+    }
+
+    private static class MainExecutor implements Executor {
+
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(Runnable command) {
+            if (Looper.myLooper() == Looper.getMainLooper()) {
+                command.run();
+            } else {
+                handler.post(command);
+            }
+        }
+    }
+
+    private static class SerialExecutor implements Executor {
+
+        private final Executor executor;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private Runnable active;
+
+        SerialExecutor(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(() -> {
+                try {
+                    command.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+            if (active == null) {
+                scheduleNext();
+            }
+        }
+
+        private synchronized void scheduleNext() {
+            active = tasks.poll();
+            if (active != null) {
+                executor.execute(active);
+            }
+        }
+    }
+}
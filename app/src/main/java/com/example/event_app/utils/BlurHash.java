@@ -0,0 +1,250 @@
+package com.example.event_app.utils;
+
+import android.graphics.Bitmap;
+
+/**
+ * BlurHash - Compact blurred previews of poster images
+ *
+ * Encodes an image into a short string (about 30 characters) that is stored
+ * on the event document, and decodes it back into a tiny bitmap that can be
+ * shown while the real poster loads.
+ *
+ * Implements the BlurHash algorithm (https://blurha.sh).
+ */
+public class BlurHash {
+
+    private static final String BASE83 =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    // Components used for posters: enough for a recognisable blur, small enough to store
+    public static final int COMPONENTS_X = 4;
+    public static final int COMPONENTS_Y = 3;
+
+    /**
+     * Encode a (small) bitmap
+     */
+    public static String encode(Bitmap bitmap) {
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        int[] pixels = new int[width * height];
+        bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
+        return encode(pixels, width, height, COMPONENTS_X, COMPONENTS_Y);
+    }
+
+    /**
+     * Decode a hash into a bitmap of the given size
+     */
+    public static Bitmap decodeBitmap(String hash, int width, int height) {
+        int[] pixels = decode(hash, width, height, 1.0);
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        bitmap.setPixels(pixels, 0, width, 0, 0, width, height);
+        return bitmap;
+    }
+
+    /**
+     * Encode ARGB pixels into a hash
+     */
+    public static String encode(int[] pixels, int width, int height, int componentsX, int componentsY) {
+        if (componentsX < 1 || componentsX > 9 || componentsY < 1 || componentsY > 9) {
+            throw new IllegalArgumentException("Components must be between 1 and 9");
+        }
+        if (pixels.length < width * height) {
+            throw new IllegalArgumentException("Pixel array is smaller than width * height");
+        }
+
+        double[][] factors = new double[componentsX * componentsY][];
+        for (int j = 0; j < componentsY; j++) {
+            for (int i = 0; i < componentsX; i++) {
+                double normalisation = (i == 0 && j == 0) ? 1 : 2;
+                factors[j * componentsX + i] =
+                        multiplyBasis(pixels, width, height, i, j, normalisation);
+            }
+        }
+
+        StringBuilder hash = new StringBuilder(4 + 2 * factors.length);
+        int sizeFlag = (componentsX - 1) + (componentsY - 1) * 9;
+        encode83(sizeFlag, 1, hash);
+
+        double maximumValue;
+        if (factors.length > 1) {
+            double actualMaximumValue = 0;
+            for (int k = 1; k < factors.length; k++) {
+                for (double component : factors[k]) {
+                    actualMaximumValue = Math.max(actualMaximumValue, Math.abs(component));
+                }
+            }
+            int quantisedMaximumValue = (int) Math.max(0, Math.min(82,
+                    Math.floor(actualMaximumValue * 166 - 0.5)));
+            maximumValue = (quantisedMaximumValue + 1) / 166.0;
+            encode83(quantisedMaximumValue, 1, hash);
+        } else {
+            maximumValue = 1;
+            encode83(0, 1, hash);
+        }
+
+        encode83(encodeDC(factors[0]), 4, hash);
+        for (int k = 1; k < factors.length; k++) {
+            encode83(encodeAC(factors[k], maximumValue), 2, hash);
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Decode a hash into ARGB pixels
+     *
+     * @param punch contrast multiplier, 1.0 for the original look
+     */
+    public static int[] decode(String hash, int width, int height, double punch) {
+        if (hash == null || hash.length() < 6) {
+            throw new IllegalArgumentException("BlurHash must be at least 6 characters");
+        }
+
+        int sizeFlag = decode83(hash, 0, 1);
+        int numY = sizeFlag / 9 + 1;
+        int numX = sizeFlag % 9 + 1;
+        if (hash.length() != 4 + 2 * numX * numY) {
+            throw new IllegalArgumentException("Invalid BlurHash length: " + hash.length());
+        }
+
+        int quantisedMaximumValue = decode83(hash, 1, 2);
+        double maximumValue = (quantisedMaximumValue + 1) / 166.0 * punch;
+
+        double[][] colors = new double[numX * numY][];
+        colors[0] = decodeDC(decode83(hash, 2, 6));
+        for (int k = 1; k < colors.length; k++) {
+            colors[k] = decodeAC(decode83(hash, 4 + k * 2, 6 + k * 2), maximumValue);
+        }
+
+        // Cosines only depend on one axis, so compute them once per row and column
+        double[] cosX = new double[width * numX];
+        for (int x = 0; x < width; x++) {
+            for (int i = 0; i < numX; i++) {
+                cosX[x * numX + i] = Math.cos(Math.PI * x * i / width);
+            }
+        }
+        double[] cosY = new double[height * numY];
+        for (int y = 0; y < height; y++) {
+            for (int j = 0; j < numY; j++) {
+                cosY[y * numY + j] = Math.cos(Math.PI * y * j / height);
+            }
+        }
+
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                double r = 0, g = 0, b = 0;
+                for (int j = 0; j < numY; j++) {
+                    double basisY = cosY[y * numY + j];
+                    for (int i = 0; i < numX; i++) {
+                        double basis = cosX[x * numX + i] * basisY;
+                        double[] color = colors[j * numX + i];
+                        r += color[0] * basis;
+                        g += color[1] * basis;
+                        b += color[2] * basis;
+                    }
+                }
+                pixels[y * width + x] = 0xFF000000
+                        | (linearToSrgb(r) << 16)
+                        | (linearToSrgb(g) << 8)
+                        | linearToSrgb(b);
+            }
+        }
+        return pixels;
+    }
+
+    private static double[] multiplyBasis(int[] pixels, int width, int height,
+                                          int i, int j, double normalisation) {
+        double r = 0, g = 0, b = 0;
+        for (int y = 0; y < height; y++) {
+            double basisY = Math.cos(Math.PI * j * y / height);
+            for (int x = 0; x < width; x++) {
+                double basis = normalisation * Math.cos(Math.PI * i * x / width) * basisY;
+                int pixel = pixels[y * width + x];
+                r += basis * srgbToLinear((pixel >> 16) & 0xFF);
+                g += basis * srgbToLinear((pixel >> 8) & 0xFF);
+                b += basis * srgbToLinear(pixel & 0xFF);
+            }
+        }
+        double scale = 1.0 / (width * height);
+        return new double[]{r * scale, g * scale, b * scale};
+    }
+
+    private static int encodeDC(double[] value) {
+        return (linearToSrgb(value[0]) << 16) + (linearToSrgb(value[1]) << 8) + linearToSrgb(value[2]);
+    }
+
+    private static int encodeAC(double[] value, double maximumValue) {
+        int quantR = quantiseAC(value[0], maximumValue);
+        int quantG = quantiseAC(value[1], maximumValue);
+        int quantB = quantiseAC(value[2], maximumValue);
+        return quantR * 19 * 19 + quantG * 19 + quantB;
+    }
+
+    private static int quantiseAC(double value, double maximumValue) {
+        return (int) Math.max(0, Math.min(18,
+                Math.floor(signPow(value / maximumValue, 0.5) * 9 + 9.5)));
+    }
+
+    private static double[] decodeDC(int value) {
+        return new double[]{
+                srgbToLinear(value >> 16),
+                srgbToLinear((value >> 8) & 0xFF),
+                srgbToLinear(value & 0xFF)
+        };
+    }
+
+    private static double[] decodeAC(int value, double maximumValue) {
+        int quantR = value / (19 * 19);
+        int quantG = (value / 19) % 19;
+        int quantB = value % 19;
+        return new double[]{
+                signPow((quantR - 9) / 9.0, 2.0) * maximumValue,
+                signPow((quantG - 9) / 9.0, 2.0) * maximumValue,
+                signPow((quantB - 9) / 9.0, 2.0) * maximumValue
+        };
+    }
+
+    private static double srgbToLinear(int value) {
+        double v = value / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    private static int linearToSrgb(double value) {
+        double v = Math.max(0, Math.min(1, value));
+        if (v <= 0.0031308) {
+            return (int) (v * 12.92 * 255 + 0.5);
+        }
+        return (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+    }
+
+    private static double signPow(double value, double exp) {
+        return Math.copySign(Math.pow(Math.abs(value), exp), value);
+    }
+
+    private static void encode83(int value, int length, StringBuilder out) {
+        for (int i = 1; i <= length; i++) {
+            int digit = (value / pow83(length - i)) % 83;
+            out.append(BASE83.charAt(digit));
+        }
+    }
+
+    private static int decode83(String hash, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = BASE83.indexOf(hash.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid BlurHash character: " + hash.charAt(i));
+            }
+            value = value * 83 + digit;
+        }
+        return value;
+    }
+
+    private static int pow83(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 83;
+        }
+        return result;
+    }
+}
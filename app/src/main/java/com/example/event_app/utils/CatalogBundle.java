@@ -0,0 +1,303 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.util.Base64;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.Blob;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CatalogBundle - A Firestore data bundle of the public event catalog
+ *
+ * Every entrant's first launch reads the same active events. An admin
+ * publishes them once as a bundle: a file of length-prefixed JSON
+ * elements holding the documents and an "active-events" named query. The
+ * bundle goes to Cloud Storage and to the app's files, so it can also be
+ * copied into assets/ to ship with the app.
+ *
+ * EventSyncEngine loads it on first launch with loadBundle() and reads
+ * the named query from the cache. Only events changed after the bundle
+ * was built are then read from the server.
+ */
+public class CatalogBundle {
+
+    private static final String TAG = "CatalogBundle";
+
+    public static final String QUERY_NAME = "active-events";
+    private static final String BUNDLE_ID = "active-events";
+    private static final String FILE_NAME = "active-events.bundle";
+    private static final String STORAGE_PATH = "bundles/" + FILE_NAME;
+
+    // A bundle larger than this is not worth downloading instead of the query
+    private static final long MAX_DOWNLOAD_BYTES = 10 * 1024 * 1024;
+
+    private static final int BUNDLE_VERSION = 1;
+
+    /**
+     * Build a bundle of the active events from the server, upload it and
+     * save a copy in the app's files. Returns the saved file.
+     */
+    public static Task<File> publish(Context context) {
+        Context appContext = context.getApplicationContext();
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        Timestamp readTime = Timestamp.now();
+
+        Query activeEvents = db.collection("events")
+                .whereEqualTo("status", "active")
+                .orderBy("createdAt", Query.Direction.DESCENDING);
+
+        return activeEvents.get(Source.SERVER).continueWithTask(task -> {
+            if (!task.isSuccessful()) {
+                throw task.getException();
+            }
+
+            List<DocumentSnapshot> documents = task.getResult().getDocuments();
+            byte[] bundle = build(projectId(), documents, readTime);
+            File dir = appContext.getExternalFilesDir("bundles");
+            if (dir == null) {
+                // External storage is unavailable, keep the copy in internal storage
+                dir = new File(appContext.getFilesDir(), "bundles");
+                if (!dir.exists() && !dir.mkdirs()) {
+                    throw new IOException("Cannot create " + dir);
+                }
+            }
+            File file = new File(dir, FILE_NAME);
+            try (OutputStream out = new FileOutputStream(file)) {
+                out.write(bundle);
+            }
+            Log.d(TAG, "✅ Built bundle of " + documents.size() + " events, "
+                    + bundle.length + " bytes");
+
+            StorageMetadata metadata = new StorageMetadata.Builder()
+                    .setContentType("application/octet-stream")
+                    .setCacheControl("public, max-age=3600")
+                    .build();
+            return FirebaseStorage.getInstance().getReference(STORAGE_PATH)
+                    .putBytes(bundle, metadata)
+                    .continueWith(upload -> {
+                        if (!upload.isSuccessful()) {
+                            throw upload.getException();
+                        }
+                        return file;
+                    });
+        });
+    }
+
+    /**
+     * The bundle shipped in assets/, or the published one from Storage
+     */
+    public static Task<byte[]> fetch(Context context) {
+        try (InputStream in = context.getAssets().open(FILE_NAME)) {
+            return Tasks.forResult(readAll(in));
+        } catch (IOException e) {
+            // Not shipped with this build
+        }
+
+        StorageReference reference = FirebaseStorage.getInstance().getReference(STORAGE_PATH);
+        return reference.getBytes(MAX_DOWNLOAD_BYTES);
+    }
+
+    /**
+     * When the bundle was built, read from its metadata element
+     */
+    public static Timestamp readCreateTime(byte[] bundle) throws JSONException {
+        int start = 0;
+        while (start < bundle.length && Character.isDigit(bundle[start])) {
+            start++;
+        }
+        int length = Integer.parseInt(new String(bundle, 0, start, StandardCharsets.UTF_8));
+        JSONObject element = new JSONObject(new String(bundle, start, length, StandardCharsets.UTF_8));
+        return decodeTimestamp(element.getJSONObject("metadata").getJSONObject("createTime"));
+    }
+
+    /**
+     * Encode documents of the events collection as a bundle
+     */
+    static byte[] build(String projectId, List<DocumentSnapshot> documents, Timestamp readTime)
+            throws JSONException, IOException {
+        String documentsRoot = "projects/" + projectId + "/databases/(default)/documents";
+
+        // Everything after the metadata element, which has to state its size
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writeElement(body, new JSONObject().put("namedQuery", namedQuery(documentsRoot, readTime)));
+
+        for (DocumentSnapshot document : documents) {
+            String name = documentsRoot + "/" + document.getReference().getPath();
+            writeElement(body, new JSONObject().put("documentMetadata", new JSONObject()
+                    .put("name", name)
+                    .put("readTime", encodeTimestamp(readTime))
+                    .put("exists", true)
+                    .put("queries", new JSONArray().put(QUERY_NAME))));
+
+            Timestamp version = versionOf(document);
+            writeElement(body, new JSONObject().put("document", new JSONObject()
+                    .put("name", name)
+                    .put("fields", encodeFields(document.getData(), documentsRoot))
+                    .put("createTime", encodeTimestamp(version))
+                    .put("updateTime", encodeTimestamp(version))));
+        }
+
+        ByteArrayOutputStream bundle = new ByteArrayOutputStream();
+        writeElement(bundle, new JSONObject().put("metadata", new JSONObject()
+                .put("id", BUNDLE_ID)
+                .put("createTime", encodeTimestamp(readTime))
+                .put("version", BUNDLE_VERSION)
+                .put("totalDocuments", documents.size())
+                .put("totalBytes", body.size())));
+        body.writeTo(bundle);
+        return bundle.toByteArray();
+    }
+
+    /**
+     * The same query publish() runs, in its REST form
+     */
+    private static JSONObject namedQuery(String documentsRoot, Timestamp readTime) throws JSONException {
+        JSONObject structuredQuery = new JSONObject()
+                .put("from", new JSONArray().put(new JSONObject().put("collectionId", "events")))
+                .put("where", new JSONObject().put("fieldFilter", new JSONObject()
+                        .put("field", new JSONObject().put("fieldPath", "status"))
+                        .put("op", "EQUAL")
+                        .put("value", new JSONObject().put("stringValue", "active"))))
+                .put("orderBy", new JSONArray().put(new JSONObject()
+                        .put("field", new JSONObject().put("fieldPath", "createdAt"))
+                        .put("direction", "DESCENDING")));
+
+        return new JSONObject()
+                .put("name", QUERY_NAME)
+                .put("bundledQuery", new JSONObject()
+                        .put("parent", documentsRoot)
+                        .put("structuredQuery", structuredQuery)
+                        .put("limitType", "FIRST"))
+                .put("readTime", encodeTimestamp(readTime));
+    }
+
+    /**
+     * The client ignores server updates older than the cached version, so
+     * this must not be later than the document's real update time.
+     * updatedAt is written by the server with each update; older events
+     * fall back to their creation time.
+     */
+    private static Timestamp versionOf(DocumentSnapshot document) {
+        Timestamp updatedAt = document.getTimestamp(EventSyncEngine.UPDATED_AT);
+        if (updatedAt != null) {
+            return updatedAt;
+        }
+        Long createdAt = document.getLong("createdAt");
+        if (createdAt != null && createdAt > 0) {
+            return new Timestamp(new Date(createdAt));
+        }
+        return new Timestamp(1, 0);
+    }
+
+    private static JSONObject encodeFields(Map<String, Object> data, String documentsRoot)
+            throws JSONException {
+        JSONObject fields = new JSONObject();
+        if (data != null) {
+            for (Map.Entry<String, Object> entry : data.entrySet()) {
+                fields.put(entry.getKey(), encodeValue(entry.getValue(), documentsRoot));
+            }
+        }
+        return fields;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject encodeValue(Object value, String documentsRoot) throws JSONException {
+        JSONObject encoded = new JSONObject();
+        if (value == null) {
+            encoded.put("nullValue", JSONObject.NULL);
+        } else if (value instanceof Boolean) {
+            encoded.put("booleanValue", value);
+        } else if (value instanceof Long || value instanceof Integer) {
+            // 64-bit integers are strings in the JSON form
+            encoded.put("integerValue", String.valueOf(value));
+        } else if (value instanceof Double) {
+            encoded.put("doubleValue", value);
+        } else if (value instanceof String) {
+            encoded.put("stringValue", value);
+        } else if (value instanceof Timestamp) {
+            encoded.put("timestampValue", encodeTimestamp((Timestamp) value));
+        } else if (value instanceof Blob) {
+            encoded.put("bytesValue", Base64.encodeToString(((Blob) value).toBytes(), Base64.NO_WRAP));
+        } else if (value instanceof GeoPoint) {
+            GeoPoint point = (GeoPoint) value;
+            encoded.put("geoPointValue", new JSONObject()
+                    .put("latitude", point.getLatitude())
+                    .put("longitude", point.getLongitude()));
+        } else if (value instanceof DocumentReference) {
+            encoded.put("referenceValue", documentsRoot + "/" + ((DocumentReference) value).getPath());
+        } else if (value instanceof List) {
+            JSONArray values = new JSONArray();
+            for (Object item : (List<Object>) value) {
+                values.put(encodeValue(item, documentsRoot));
+            }
+            encoded.put("arrayValue", new JSONObject().put("values", values));
+        } else if (value instanceof Map) {
+            encoded.put("mapValue", new JSONObject()
+                    .put("fields", encodeFields((Map<String, Object>) value, documentsRoot)));
+        } else {
+            throw new IllegalArgumentException("Cannot bundle " + value.getClass().getSimpleName());
+        }
+        return encoded;
+    }
+
+    private static JSONObject encodeTimestamp(Timestamp timestamp) throws JSONException {
+        return new JSONObject()
+                .put("seconds", timestamp.getSeconds())
+                .put("nanos", timestamp.getNanoseconds());
+    }
+
+    private static Timestamp decodeTimestamp(JSONObject timestamp) {
+        return new Timestamp(timestamp.optLong("seconds"), timestamp.optInt("nanos"));
+    }
+
+    /**
+     * One element: its length in bytes as decimal digits, then the JSON
+     */
+    private static void writeElement(ByteArrayOutputStream out, JSONObject element) throws IOException {
+        byte[] json = element.toString().getBytes(StandardCharsets.UTF_8);
+        out.write(String.valueOf(json.length).getBytes(StandardCharsets.UTF_8));
+        out.write(json);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static String projectId() {
+        return FirebaseApp.getInstance().getOptions().getProjectId();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * CheckInLog - Durable local record of door check-ins for one event
+ *
+ * Every check-in is appended to a file and flushed to disk before the scan
+ * is confirmed, so nothing is lost if the app is killed while offline. A
+ * cursor in SharedPreferences counts how many entries have reached
+ * Firestore; CheckInSyncWorker sends the rest in batches.
+ *
+ * The attendee list downloaded for the event is also kept here, so check-in
+ * keeps working when the door has no signal at all.
+ */
+public class CheckInLog {
+
+    private static final String PREFS_NAME = "check_in";
+    private static final String LOG_FOLDER = "check_in";
+
+    // All logs share one lock; appends and sync reads are short
+    private static final Object LOCK = new Object();
+
+    private final String eventId;
+    private final File file;
+    private final SharedPreferences prefs;
+
+    public CheckInLog(Context context, String eventId) {
+        this.eventId = eventId;
+        File dir = new File(context.getFilesDir(), LOG_FOLDER);
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        this.file = new File(dir, eventId + ".log");
+        this.prefs = context.getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Append a check-in and force it to disk
+     */
+    public void append(String userId, long timestamp) throws IOException {
+        byte[] line = (userId + "\t" + timestamp + "\n").getBytes(StandardCharsets.UTF_8);
+        synchronized (LOCK) {
+            try (FileOutputStream out = new FileOutputStream(file, true)) {
+                out.write(line);
+                out.getFD().sync();
+            }
+        }
+    }
+
+    /**
+     * All user IDs checked in on this device, synced or not
+     */
+    public Set<String> loadCheckedIn() throws IOException {
+        Set<String> userIds = new HashSet<>();
+        for (String line : readLines()) {
+            userIds.add(userIdOf(line));
+        }
+        return userIds;
+    }
+
+    /**
+     * Up to max user IDs that have not been synced yet, oldest first
+     */
+    public List<String> readUnsynced(int max) throws IOException {
+        List<String> lines = readLines();
+        int synced = getSyncedCount();
+        List<String> batch = new ArrayList<>();
+        for (int i = synced; i < lines.size() && batch.size() < max; i++) {
+            batch.add(userIdOf(lines.get(i)));
+        }
+        return batch;
+    }
+
+    /**
+     * Number of check-ins waiting to be synced
+     */
+    public int getPendingCount() throws IOException {
+        return Math.max(0, readLines().size() - getSyncedCount());
+    }
+
+    /**
+     * Advance the cursor past entries that reached Firestore
+     */
+    public void markSynced(int count) {
+        synchronized (LOCK) {
+            prefs.edit().putInt(syncedKey(), getSyncedCount() + count).commit();
+        }
+    }
+
+    /**
+     * Remember the attendee list so check-in works offline
+     */
+    public void saveAttendees(Set<String> userIds) {
+        prefs.edit().putStringSet(attendeesKey(), new HashSet<>(userIds)).apply();
+    }
+
+    /**
+     * Attendee list from the last download, or null if there is none
+     */
+    public Set<String> loadAttendees() {
+        Set<String> saved = prefs.getStringSet(attendeesKey(), null);
+        return saved != null ? new HashSet<>(saved) : null;
+    }
+
+    private int getSyncedCount() {
+        return prefs.getInt(syncedKey(), 0);
+    }
+
+    private List<String> readLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        synchronized (LOCK) {
+            if (!file.exists()) {
+                return lines;
+            }
+            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        lines.add(line);
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static String userIdOf(String line) {
+        int tab = line.indexOf('\t');
+        return tab >= 0 ? line.substring(0, tab) : line;
+    }
+
+    private String syncedKey() {
+        return eventId + "_synced";
+    }
+
+    private String attendeesKey() {
+        return eventId + "_attendees";
+    }
+}
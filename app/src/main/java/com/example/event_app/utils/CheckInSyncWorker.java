@@ -0,0 +1,106 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CheckInSyncWorker - Sends logged check-ins to Firestore
+ *
+ * Reads unsynced entries from the event's CheckInLog and adds them to the
+ * event's checkedInUsers with one arrayUnion write per batch. arrayUnion
+ * ignores IDs already present, so a batch that is resent after a crash
+ * does not create duplicates.
+ */
+public class CheckInSyncWorker extends Worker {
+
+    private static final String TAG = "CheckInSyncWorker";
+
+    private static final String KEY_EVENT_ID = "eventId";
+
+    // IDs per write
+    private static final int BATCH_SIZE = 200;
+
+    public CheckInSyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Unique work name for an event's sync
+     */
+    public static String workName(String eventId) {
+        return "check_in_sync_" + eventId;
+    }
+
+    /**
+     * Schedule a sync for an event once the network is available.
+     * Requests made while one is pending or running are dropped; the running
+     * sync reads the log until it is empty, and CheckInActivity checks the
+     * cursor again when it finishes.
+     */
+    public static void enqueue(Context context, String eventId) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(CheckInSyncWorker.class)
+                .setInputData(new Data.Builder().putString(KEY_EVENT_ID, eventId).build())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 10, TimeUnit.SECONDS)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(workName(eventId), ExistingWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String eventId = getInputData().getString(KEY_EVENT_ID);
+        if (eventId == null) {
+            return Result.failure();
+        }
+
+        CheckInLog log = new CheckInLog(getApplicationContext(), eventId);
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        int synced = 0;
+
+        try {
+            // Keep going until entries logged while syncing are sent too
+            List<String> batch;
+            while (!(batch = log.readUnsynced(BATCH_SIZE)).isEmpty()) {
+                Tasks.await(db.collection("events").document(eventId)
+                        .update("checkedInUsers", FieldValue.arrayUnion(batch.toArray()),
+                                EventSyncEngine.UPDATED_AT, FieldValue.serverTimestamp()));
+                log.markSynced(batch.size());
+                synced += batch.size();
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "❌ Cannot read check-in log", e);
+            return Result.failure();
+        } catch (ExecutionException | InterruptedException e) {
+            Log.w(TAG, "Check-in sync interrupted after " + synced + ", will retry", e);
+            return Result.retry();
+        }
+
+        Log.d(TAG, "✅ Synced " + synced + " check-ins for event " + eventId);
+        return Result.success();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.event_app.utils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DayFormatter - Formats dates to the day, remembering each day's text
+ *
+ * Events in a list share few distinct days, so each day is formatted once
+ * and the same String is handed out after that. DateTimeFormatter is
+ * immutable, so one instance is shared by every thread. The remembered
+ * days are dropped when the default locale changes or there are too many.
+ */
+public class DayFormatter {
+
+    private static final int MAX_DAYS = 512;
+
+    private final String pattern;
+    private final Map<Long, String> days = new ConcurrentHashMap<>();
+    private volatile Locale locale;
+    private volatile DateTimeFormatter formatter;
+
+    public DayFormatter(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public String format(Date date) {
+        return format(date, ZoneId.systemDefault());
+    }
+
+    public String format(Date date, ZoneId zone) {
+        DateTimeFormatter current = formatter();
+        LocalDate day = Instant.ofEpochMilli(date.getTime()).atZone(zone).toLocalDate();
+
+        Long key = day.toEpochDay();
+        String text = days.get(key);
+        if (text == null) {
+            if (days.size() >= MAX_DAYS) {
+                days.clear();
+            }
+            text = current.format(day);
+            days.put(key, text);
+        }
+        return text;
+    }
+
+    private DateTimeFormatter formatter() {
+        Locale now = Locale.getDefault();
+        if (!now.equals(locale)) {
+            days.clear();
+            formatter = DateTimeFormatter.ofPattern(pattern, now);
+            locale = now;
+        }
+        return formatter;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.event_app.utils;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * EventPrefetcher - Starts event reads before the details screen opens
+ *
+ * US 01.06.01: View event from QR code
+ *
+ * A scan starts the Firestore read right away and EventDetailsActivity picks
+ * up the same in-flight task, so the read overlaps the activity launch.
+ * Event IDs that turned out not to exist are remembered for a while so a
+ * repeated bad scan does not go to the network again.
+ */
+public class EventPrefetcher {
+
+    private static final String TAG = "EventPrefetcher";
+
+    // A prefetched read older than this is not handed out
+    private static final long PREFETCH_TTL_MS = 30 * 1000L;
+
+    // How long a missing event ID is remembered
+    private static final long MISSING_TTL_MS = 5 * 60 * 1000L;
+    private static final int MAX_MISSING = 100;
+
+    private static final Map<String, Prefetch> inFlight = new HashMap<>();
+
+    // Access-ordered so the oldest entry is evicted first
+    private static final Map<String, Long> missing =
+            new LinkedHashMap<String, Long>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > MAX_MISSING;
+                }
+            };
+
+    private static class Prefetch {
+        final Task<DocumentSnapshot> task;
+        final long startedAt;
+
+        Prefetch(Task<DocumentSnapshot> task, long startedAt) {
+            this.task = task;
+            this.startedAt = startedAt;
+        }
+    }
+
+    /**
+     * Start reading an event document, reusing a read already in flight
+     */
+    public static synchronized Task<DocumentSnapshot> prefetch(String eventId) {
+        Prefetch existing = inFlight.get(eventId);
+        long now = SystemClock.elapsedRealtime();
+        if (existing != null && now - existing.startedAt < PREFETCH_TTL_MS) {
+            return existing.task;
+        }
+
+        Log.d(TAG, "Prefetching event " + eventId);
+        Task<DocumentSnapshot> task = SingleFlight.get(FirebaseFirestore.getInstance()
+                        .collection("events").document(eventId))
+                .addOnSuccessListener(document -> {
+                    if (!document.exists()) {
+                        rememberMissing(eventId);
+                    }
+                });
+        inFlight.put(eventId, new Prefetch(task, now));
+        return task;
+    }
+
+    /**
+     * Hand over a recent prefetched read, or null if there is none
+     */
+    public static synchronized Task<DocumentSnapshot> take(String eventId) {
+        Prefetch prefetch = inFlight.remove(eventId);
+        if (prefetch == null || SystemClock.elapsedRealtime() - prefetch.startedAt >= PREFETCH_TTL_MS) {
+            return null;
+        }
+        return prefetch.task;
+    }
+
+    /**
+     * Check whether an event ID was recently found not to exist
+     */
+    public static synchronized boolean isKnownMissing(String eventId) {
+        Long until = missing.get(eventId);
+        if (until == null) {
+            return false;
+        }
+        if (SystemClock.elapsedRealtime() >= until) {
+            missing.remove(eventId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remember that an event ID does not exist
+     */
+    public static synchronized void rememberMissing(String eventId) {
+        missing.put(eventId, SystemClock.elapsedRealtime() + MISSING_TTL_MS);
+    }
+}
@@ -0,0 +1,423 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.event_app.data.EventCatalog;
+import com.example.event_app.data.EventMapper;
+import com.example.event_app.models.Event;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
+import com.google.firebase.storage.StorageException;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EventSyncEngine - Keeps a local copy of the event catalog up to date
+ *
+ * Every event write sets updatedAt to the server time, and deleting an
+ * event leaves a tombstone in event_tombstones. After one full download,
+ * a sync only asks the server for events and tombstones newer than the
+ * last ones it saw, so a refresh costs one read per change.
+ *
+ * The watermarks and deleted IDs are kept in SharedPreferences. After a
+ * restart the catalog is rebuilt from Firestore's disk cache, which costs
+ * no server reads. If the cache has lost documents, the next sync does a
+ * full download again. Deleted IDs only matter until the cache learns of
+ * the deletes, so a full download, which refreshes the whole cached
+ * collection, clears them.
+ *
+ * On first launch the catalog comes from a CatalogBundle instead of a
+ * full download, and the sync only reads events changed since the bundle
+ * was built. A bundle only holds active events, so the admin screens call
+ * requireCompleteCatalog() to get everything else.
+ *
+ * Each sync result is also written to the EventCatalog, the Room copy the
+ * browse screens can render and search before any sync has run. A sync
+ * completes once that write is done, so a search right after it sees the
+ * new events.
+ *
+ * sync() is called from the main thread. Query results are mapped on
+ * AppExecutors.compute(), one sync at a time, and the local copy is kept
+ * in concurrent collections so screens can read it meanwhile.
+ */
+public class EventSyncEngine {
+
+    private static final String TAG = "EventSyncEngine";
+
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String TOMBSTONES = "event_tombstones";
+    private static final String DELETED_AT = "deletedAt";
+
+    private static final String PREFS_NAME = "event_sync";
+    private static final String KEY_EVENTS = "events";
+    private static final String KEY_TOMBSTONES = "tombstones";
+    private static final String KEY_DELETED_IDS = "deleted_ids";
+    private static final String KEY_EVENT_COUNT = "event_count";
+    private static final String KEY_BUNDLE_TRIED = "bundle_tried";
+    private static final String KEY_ACTIVE_ONLY = "active_only";
+
+    // Used as the first watermark when no event has updatedAt yet
+    private static final long CLOCK_SKEW_MS = 10 * 60 * 1000L;
+
+    private static EventSyncEngine instance;
+
+    private final Context context;
+    private final FirebaseFirestore db;
+    private final SharedPreferences prefs;
+    private final EventCatalog catalog;
+    private final Map<String, Event> events = new ConcurrentHashMap<>();
+    private final Set<String> deletedIds;
+    private volatile boolean seeded;
+    private Task<List<Event>> inFlight;
+
+    private EventSyncEngine(Context context) {
+        this.context = context.getApplicationContext();
+        this.db = FirebaseFirestore.getInstance();
+        this.prefs = this.context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.deletedIds = ConcurrentHashMap.newKeySet();
+        this.deletedIds.addAll(prefs.getStringSet(KEY_DELETED_IDS, new HashSet<>()));
+        this.catalog = EventCatalog.getInstance(context);
+    }
+
+    public static synchronized EventSyncEngine getInstance(Context context) {
+        if (instance == null) {
+            instance = new EventSyncEngine(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Delete an event and leave a tombstone for other devices in one write
+     */
+    public static Task<Void> deleteEvent(FirebaseFirestore db, String eventId) {
+        DocumentReference tombstone = db.collection(TOMBSTONES).document(eventId);
+        Map<String, Object> data = new HashMap<>();
+        data.put("eventId", eventId);
+        data.put(DELETED_AT, FieldValue.serverTimestamp());
+
+        WriteBatch batch = db.batch();
+        batch.delete(db.collection("events").document(eventId));
+        batch.set(tombstone, data);
+        return batch.commit();
+    }
+
+    /**
+     * Events in the local copy, newest first. Empty before the first sync.
+     */
+    public List<Event> getEvents() {
+        List<Event> sorted = new ArrayList<>(events.values());
+        sorted.sort((a, b) -> Long.compare(b.getCreatedAt(), a.getCreatedAt()));
+        return sorted;
+    }
+
+    /**
+     * Active events in the local copy, newest first
+     */
+    public List<Event> getActiveEvents() {
+        return activeOnly(getEvents());
+    }
+
+    /**
+     * The active events in a list, in the same order
+     */
+    public static List<Event> activeOnly(List<Event> events) {
+        List<Event> active = new ArrayList<>();
+        for (Event event : events) {
+            if ("active".equals(event.getStatus())) {
+                active.add(event);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Make the next sync download every event if the local copy only has
+     * the active ones from a bundle
+     */
+    public void requireCompleteCatalog() {
+        if (prefs.getBoolean(KEY_ACTIVE_ONLY, false)) {
+            Log.d(TAG, "Catalog came from a bundle, doing a full sync");
+            prefs.edit()
+                    .remove(KEY_EVENTS + "_s")
+                    .remove(KEY_TOMBSTONES + "_s")
+                    .remove(KEY_ACTIVE_ONLY)
+                    .apply();
+        }
+    }
+
+    /**
+     * Bring the local copy up to date. Calls made while a sync is running share it.
+     */
+    public Task<List<Event>> sync() {
+        if (inFlight != null && !inFlight.isComplete()) {
+            return inFlight;
+        }
+
+        Task<Void> ready = seeded ? Tasks.forResult(null) : seedFromCache();
+        inFlight = ready
+                .continueWithTask(task -> loadWatermark(KEY_EVENTS) == null
+                        ? seedFromBundle() : Tasks.forResult(null))
+                .continueWithTask(task -> pullChanges())
+                .continueWith(AppExecutors.compute(), task -> {
+                    if (!task.isSuccessful()) {
+                        throw task.getException();
+                    }
+                    return getEvents();
+                });
+        return inFlight;
+    }
+
+    /**
+     * Rebuild the local copy from Firestore's disk cache
+     */
+    private Task<Void> seedFromCache() {
+        return db.collection("events").get(Source.CACHE).continueWith(AppExecutors.compute(), task -> {
+            seeded = true;
+            if (task.isSuccessful()) {
+                for (DocumentSnapshot document : task.getResult()) {
+                    if (!deletedIds.contains(document.getId())) {
+                        put(document);
+                    }
+                }
+            }
+
+            // Fewer events than we last saved means the cache dropped some
+            if (events.size() < prefs.getInt(KEY_EVENT_COUNT, 0)) {
+                Log.w(TAG, "Disk cache is missing events, doing a full sync");
+                events.clear();
+                prefs.edit().remove(KEY_EVENTS + "_s").remove(KEY_TOMBSTONES + "_s").apply();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Load the published catalog bundle, once per install. If there is no
+     * bundle, pullChanges() falls back to a full download.
+     *
+     * The bundle counts as tried once it has loaded or Storage reports it
+     * doesn't exist. A launch that fails offline tries it again next time.
+     */
+    private Task<Void> seedFromBundle() {
+        if (prefs.getBoolean(KEY_BUNDLE_TRIED, false)) {
+            return Tasks.forResult(null);
+        }
+
+        Timestamp[] createTime = new Timestamp[1];
+        return CatalogBundle.fetch(context)
+                .continueWithTask(task -> {
+                    byte[] bundle = task.getResult();
+                    createTime[0] = CatalogBundle.readCreateTime(bundle);
+                    return db.loadBundle(bundle);
+                })
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) {
+                        throw task.getException();
+                    }
+                    return db.getNamedQuery(CatalogBundle.QUERY_NAME);
+                })
+                .continueWithTask(task -> {
+                    Query query = task.getResult();
+                    if (query == null) {
+                        throw new IllegalStateException("Bundle has no " + CatalogBundle.QUERY_NAME + " query");
+                    }
+                    return query.get(Source.CACHE);
+                })
+                .continueWithTask(AppExecutors.compute(), task -> {
+                    events.clear();
+                    for (DocumentSnapshot document : task.getResult()) {
+                        if (!deletedIds.contains(document.getId())) {
+                            put(document);
+                        }
+                    }
+
+                    // The bundle's clock is the admin device's, so allow for skew
+                    Timestamp watermark = new Timestamp(new Date(
+                            createTime[0].toDate().getTime() - CLOCK_SKEW_MS));
+                    save(watermark, watermark, false);
+                    prefs.edit()
+                            .putBoolean(KEY_ACTIVE_ONLY, true)
+                            .putBoolean(KEY_BUNDLE_TRIED, true)
+                            .apply();
+                    Log.d(TAG, "✅ Seeded " + events.size() + " events from the catalog bundle");
+                    return writeCatalog(catalog.replaceAll(new ArrayList<>(events.values())));
+                })
+                .continueWith(task -> {
+                    if (!task.isSuccessful()) {
+                        Log.w(TAG, "No catalog bundle, doing a full sync", task.getException());
+                        events.clear();
+                        if (isMissing(task.getException())) {
+                            prefs.edit().putBoolean(KEY_BUNDLE_TRIED, true).apply();
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Whether a failure means no bundle was published, rather than that it
+     * couldn't be reached
+     */
+    private static boolean isMissing(Throwable e) {
+        for (; e != null; e = e.getCause()) {
+            if (e instanceof StorageException) {
+                return ((StorageException) e).getErrorCode() == StorageException.ERROR_OBJECT_NOT_FOUND;
+            }
+        }
+        return false;
+    }
+
+    private Task<Void> pullChanges() {
+        Timestamp eventsWatermark = loadWatermark(KEY_EVENTS);
+        if (eventsWatermark == null) {
+            return fullSync();
+        }
+
+        Timestamp tombstonesWatermark = loadWatermark(KEY_TOMBSTONES);
+        Task<QuerySnapshot> changed = db.collection("events")
+                .whereGreaterThan(UPDATED_AT, eventsWatermark)
+                .get(Source.SERVER);
+        Task<QuerySnapshot> deleted = db.collection(TOMBSTONES)
+                .whereGreaterThan(DELETED_AT, tombstonesWatermark != null ? tombstonesWatermark : eventsWatermark)
+                .get(Source.SERVER);
+
+        return Tasks.whenAll(changed, deleted).continueWithTask(AppExecutors.compute(), task -> {
+            if (!task.isSuccessful()) {
+                throw task.getException();
+            }
+
+            List<Event> changedEvents = new ArrayList<>();
+            Timestamp newEventsWatermark = eventsWatermark;
+            boolean deletedIdsChanged = false;
+            for (DocumentSnapshot document : changed.getResult()) {
+                Event event = put(document);
+                if (event != null) {
+                    changedEvents.add(event);
+                }
+                // An ID written again after its delete is live again
+                deletedIdsChanged |= deletedIds.remove(document.getId());
+                newEventsWatermark = max(newEventsWatermark, document.getTimestamp(UPDATED_AT));
+            }
+
+            List<String> deletedNow = new ArrayList<>();
+            Timestamp newTombstonesWatermark = tombstonesWatermark;
+            for (DocumentSnapshot tombstone : deleted.getResult()) {
+                events.remove(tombstone.getId());
+                deletedIdsChanged |= deletedIds.add(tombstone.getId());
+                deletedNow.add(tombstone.getId());
+                newTombstonesWatermark = max(newTombstonesWatermark, tombstone.getTimestamp(DELETED_AT));
+            }
+
+            save(newEventsWatermark, newTombstonesWatermark, deletedIdsChanged);
+            Log.d(TAG, "✅ Delta sync: " + changed.getResult().size() + " changed, "
+                    + deleted.getResult().size() + " deleted");
+            return writeCatalog(catalog.apply(changedEvents, deletedNow));
+        });
+    }
+
+    private Task<Void> fullSync() {
+        return db.collection("events").get(Source.SERVER).continueWithTask(AppExecutors.compute(), task -> {
+            if (!task.isSuccessful()) {
+                throw task.getException();
+            }
+
+            events.clear();
+            Timestamp watermark = null;
+            for (DocumentSnapshot document : task.getResult()) {
+                put(document);
+                watermark = max(watermark, document.getTimestamp(UPDATED_AT));
+            }
+            if (watermark == null) {
+                // No event has been written since updatedAt was introduced
+                watermark = new Timestamp(new Date(System.currentTimeMillis() - CLOCK_SKEW_MS));
+            }
+
+            // The server result has refreshed the cached collection, so no
+            // deleted event can come back from the cache any more
+            boolean deletedIdsChanged = !deletedIds.isEmpty();
+            deletedIds.clear();
+
+            // Anything deleted after this download has a later tombstone
+            save(watermark, watermark, deletedIdsChanged);
+            prefs.edit().remove(KEY_ACTIVE_ONLY).apply();
+            Log.d(TAG, "✅ Full sync: " + events.size() + " events");
+            return writeCatalog(catalog.replaceAll(new ArrayList<>(events.values())));
+        });
+    }
+
+    /**
+     * The in-memory copy is already up to date, so a failed catalog write
+     * doesn't fail the sync
+     */
+    private static Task<Void> writeCatalog(Task<Void> write) {
+        return write.continueWith(task -> {
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "❌ Error saving the event catalog", task.getException());
+            }
+            return null;
+        });
+    }
+
+    private Event put(DocumentSnapshot document) {
+        Event event = EventMapper.fromSnapshot(document);
+        if (event == null) {
+            return null;
+        }
+        event.setId(document.getId());
+        if (event.getEventId() == null) {
+            event.setEventId(document.getId());
+        }
+        events.put(document.getId(), event);
+        return event;
+    }
+
+    private void save(Timestamp eventsWatermark, Timestamp tombstonesWatermark,
+                      boolean deletedIdsChanged) {
+        SharedPreferences.Editor editor = prefs.edit()
+                .putInt(KEY_EVENT_COUNT, events.size());
+        if (deletedIdsChanged) {
+            editor.putStringSet(KEY_DELETED_IDS, new HashSet<>(deletedIds));
+        }
+        putWatermark(editor, KEY_EVENTS, eventsWatermark);
+        putWatermark(editor, KEY_TOMBSTONES, tombstonesWatermark);
+        editor.apply();
+    }
+
+    private Timestamp loadWatermark(String key) {
+        if (!prefs.contains(key + "_s")) {
+            return null;
+        }
+        return new Timestamp(prefs.getLong(key + "_s", 0), prefs.getInt(key + "_ns", 0));
+    }
+
+    private static void putWatermark(SharedPreferences.Editor editor, String key, Timestamp watermark) {
+        if (watermark != null) {
+            editor.putLong(key + "_s", watermark.getSeconds())
+                    .putInt(key + "_ns", watermark.getNanoseconds());
+        }
+    }
+
+    private static Timestamp max(Timestamp a, Timestamp b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
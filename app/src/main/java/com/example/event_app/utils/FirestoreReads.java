@@ -0,0 +1,173 @@
+package com.example.event_app.utils;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * FirestoreReads - Cache-first reads that reconcile with the server
+ *
+ * A read asks the local Firestore cache and the server at the same time.
+ * The cached result is shown first, so the screen renders without waiting
+ * on the network, unless the server answers before the cache does. The
+ * listener sees at most two results, cached then fresh, and never a cached
+ * one after a fresh one. An error is only reported when neither source
+ * could answer.
+ *
+ * Both reads go through SingleFlight, so two screens or a quick
+ * onCreate/onResume pair asking for the same data share them.
+ *
+ * Cache hits and latencies are counted per named read and logged under
+ * the "FirestoreReads" tag every LOG_EVERY reads of that name.
+ */
+public class FirestoreReads {
+
+    private static final String TAG = "FirestoreReads";
+
+    private static final int LOG_EVERY = 20;
+
+    private static final Map<String, Stats> stats = new HashMap<>();
+
+    /**
+     * Receives the cached result, then the server result
+     */
+    public interface Listener<T> {
+        void onResult(T result, boolean fromCache);
+
+        void onError(Exception e);
+    }
+
+    /**
+     * Read counters for one named read
+     */
+    public static class Stats {
+        public int reads;
+        public int cacheHits;
+        public long cacheMillis;
+        public long serverMillis;
+        public int serverReads;
+
+        public float hitRatio() {
+            return reads == 0 ? 0f : (float) cacheHits / reads;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%d reads, %.0f%% cache hits, cache %dms avg, server %dms avg",
+                    reads, hitRatio() * 100,
+                    cacheHits == 0 ? 0 : cacheMillis / cacheHits,
+                    serverReads == 0 ? 0 : serverMillis / serverReads);
+        }
+    }
+
+    /**
+     * Read a document from the cache and the server at once
+     */
+    public static void get(String name, DocumentReference document, Listener<DocumentSnapshot> listener) {
+        // A document missing from the cache fails the read
+        read(name, SingleFlight.get(document, Source.CACHE), SingleFlight.get(document, Source.SERVER),
+                DocumentSnapshot::exists, listener);
+    }
+
+    /**
+     * Run a query against the cache and the server at once
+     */
+    public static void get(String name, Query query, Listener<QuerySnapshot> listener) {
+        // An empty cached result can't be told apart from "never cached"
+        read(name, SingleFlight.get(query, Source.CACHE), SingleFlight.get(query, Source.SERVER),
+                result -> !result.isEmpty(), listener);
+    }
+
+    /**
+     * Counters for a named read, or null if it has not run yet
+     */
+    public static synchronized Stats getStats(String name) {
+        return stats.get(name);
+    }
+
+    /**
+     * Deliver the cached result unless the server answered first, then the
+     * server result. Both callbacks run on the main thread, so the state
+     * needs no locking.
+     */
+    private static <T> void read(String name, Task<T> cache, Task<T> server,
+                                 Predicate<T> isHit, Listener<T> listener) {
+        long start = SystemClock.elapsedRealtime();
+        ReadState state = new ReadState();
+
+        cache.addOnCompleteListener(cached -> {
+            boolean hit = cached.isSuccessful() && isHit.test(cached.getResult());
+            recordCache(name, hit, start);
+            state.cacheDone = true;
+            if (hit && !state.serverDelivered) {
+                state.cacheShown = true;
+                listener.onResult(cached.getResult(), true);
+            }
+            if (state.serverError != null) {
+                onServerFailure(name, state, listener);
+            }
+        });
+
+        server.addOnSuccessListener(fresh -> {
+            recordServer(name, start);
+            state.serverDelivered = true;
+            listener.onResult(fresh, false);
+        }).addOnFailureListener(e -> {
+            state.serverError = e;
+            if (state.cacheDone) {
+                onServerFailure(name, state, listener);
+            }
+            // Otherwise decided once the cache answers
+        });
+    }
+
+    private static <T> void onServerFailure(String name, ReadState state, Listener<T> listener) {
+        if (state.cacheShown) {
+            // The cached copy is already showing
+            Log.w(TAG, name + ": server read failed, keeping cached result", state.serverError);
+        } else {
+            listener.onError(state.serverError);
+        }
+    }
+
+    private static class ReadState {
+        boolean cacheDone;
+        boolean cacheShown;
+        boolean serverDelivered;
+        Exception serverError;
+    }
+
+    private static synchronized void recordCache(String name, boolean hit, long start) {
+        Stats s = stats.get(name);
+        if (s == null) {
+            s = new Stats();
+            stats.put(name, s);
+        }
+        s.reads++;
+        if (hit) {
+            s.cacheHits++;
+            s.cacheMillis += SystemClock.elapsedRealtime() - start;
+        }
+        if (s.reads % LOG_EVERY == 0) {
+            Log.i(TAG, name + ": " + s);
+        }
+    }
+
+    private static synchronized void recordServer(String name, long start) {
+        Stats s = stats.get(name);
+        s.serverReads++;
+        s.serverMillis += SystemClock.elapsedRealtime() - start;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.event_app.utils;
+
+import android.util.Log;
+
+import com.example.event_app.models.ImageData;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.storage.FirebaseStorage;
+
+/**
+ * ImageRegistry - Reference-counted registry of uploaded images
+ *
+ * Each stored image has a document in the images collection keyed by the
+ * SHA-256 of its bytes. Uploading an image that is already registered only
+ * bumps its reference count, and the stored object is deleted once the last
+ * event using it lets go. All count changes run in transactions so two
+ * organizers sharing a poster cannot lose each other's reference.
+ * Taking a reference also stamps lastClaimedAt, which StorageGarbageCollector
+ * checks before removing an entry.
+ */
+public class ImageRegistry {
+
+    private static final String TAG = "ImageRegistry";
+
+    private static final String COLLECTION = "images";
+
+    private final FirebaseFirestore db;
+    private final FirebaseStorage storage;
+
+    public ImageRegistry(FirebaseFirestore db, FirebaseStorage storage) {
+        this.db = db;
+        this.storage = storage;
+    }
+
+    /**
+     * Take a reference to an already stored image.
+     * Resolves to null if the image has not been uploaded yet.
+     */
+    public Task<ImageData> claim(String contentHash) {
+        DocumentReference ref = imageRef(contentHash);
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(ref);
+            if (!snapshot.exists()) {
+                return null;
+            }
+            transaction.update(ref, "refCount", FieldValue.increment(1),
+                    "lastClaimedAt", System.currentTimeMillis());
+            ImageData image = snapshot.toObject(ImageData.class);
+            image.setRefCount(image.getRefCount() + 1);
+            return image;
+        });
+    }
+
+    /**
+     * Look up a stored image without taking a reference.
+     * Resolves to null if it is not registered.
+     */
+    public Task<ImageData> find(String contentHash) {
+        return imageRef(contentHash).get().continueWith(task -> {
+            DocumentSnapshot snapshot = task.getResult();
+            return snapshot.exists() ? snapshot.toObject(ImageData.class) : null;
+        });
+    }
+
+    /**
+     * Record a freshly uploaded image with one reference. If another upload of
+     * the same bytes registered first, join that entry instead.
+     */
+    public Task<ImageData> register(ImageData image) {
+        DocumentReference ref = imageRef(image.getContentHash());
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(ref);
+            if (snapshot.exists()) {
+                transaction.update(ref, "refCount", FieldValue.increment(1),
+                        "lastClaimedAt", System.currentTimeMillis());
+                ImageData existing = snapshot.toObject(ImageData.class);
+                existing.setRefCount(existing.getRefCount() + 1);
+                return existing;
+            }
+            image.setImageId(image.getContentHash());
+            image.setRefCount(1);
+            image.setLastClaimedAt(System.currentTimeMillis());
+            transaction.set(ref, image);
+            return image;
+        });
+    }
+
+    /**
+     * Drop one reference to the image stored at imageUrl. The stored object and
+     * its thumbnail are deleted when no references remain. Images uploaded before the registry
+     * existed are not tracked and are deleted directly.
+     */
+    public void release(String contentHash, String imageUrl) {
+        if (imageUrl == null || imageUrl.isEmpty()) return;
+        if (contentHash == null) {
+            deleteStored(imageUrl);
+            return;
+        }
+
+        DocumentReference ref = imageRef(contentHash);
+        // Resolves to the image whose objects should be deleted, or null if still in use
+        db.runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(ref);
+            if (!snapshot.exists() || !imageUrl.equals(snapshot.getString("imageUrl"))) {
+                // Not this registry entry's object, so nobody else shares it
+                ImageData untracked = new ImageData();
+                untracked.setImageUrl(imageUrl);
+                return untracked;
+            }
+
+            Long refCount = snapshot.getLong("refCount");
+            if (refCount == null || refCount <= 1) {
+                transaction.delete(ref);
+                return snapshot.toObject(ImageData.class);
+            }
+            transaction.update(ref, "refCount", FieldValue.increment(-1));
+            return null;
+        }).addOnSuccessListener(unused -> {
+            if (unused != null) {
+                Log.d(TAG, "Deleting unreferenced image " + contentHash);
+                deleteStored(unused);
+            }
+        }).addOnFailureListener(e -> Log.w(TAG, "Could not release image " + contentHash, e));
+    }
+
+    /**
+     * Delete an image's stored objects
+     */
+    public void deleteStored(ImageData image) {
+        deleteStored(image.getImageUrl());
+        if (image.getThumbUrl() != null) {
+            deleteStored(image.getThumbUrl());
+        }
+    }
+
+    private void deleteStored(String imageUrl) {
+        try {
+            storage.getReferenceFromUrl(imageUrl)
+                    .delete()
+                    .addOnFailureListener(e -> Log.w(TAG, "Could not delete stored image", e));
+        } catch (IllegalArgumentException e) {
+            // Not a Firebase Storage URL, nothing to clean up
+            Log.w(TAG, "Image is not in storage: " + imageUrl);
+        }
+    }
+
+    private DocumentReference imageRef(String contentHash) {
+        return db.collection(COLLECTION).document(contentHash);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.event_app.data.EventMapper;
+import com.example.event_app.data.Mutations;
+import com.example.event_app.data.OutboxDatabase;
+import com.example.event_app.data.PendingMutation;
+import com.example.event_app.data.PendingMutationDao;
+import com.example.event_app.models.Event;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OutboxWorker - Sends queued entrant actions to Firestore, oldest first
+ *
+ * Each action runs in a transaction that checks the event's current state
+ * and writes a receipt named after the request ID to mutation_receipts.
+ * An action whose receipt already exists was applied by an earlier attempt
+ * and is skipped. Actions the server state no longer allows are dropped
+ * and their event IDs returned under KEY_CONFLICTS.
+ *
+ * A network failure stops the run, so later actions never overtake an
+ * earlier one, and WorkManager retries with exponential backoff. An action
+ * that has failed MAX_ATTEMPTS times is dropped and reported as a conflict,
+ * so one bad action cannot hold up the queue for good. Conflicts found
+ * before a retry are kept in SharedPreferences and returned by the run
+ * that finally succeeds.
+ */
+public class OutboxWorker extends Worker {
+
+    private static final String TAG = "OutboxWorker";
+
+    public static final String WORK_NAME = "outbox_flush";
+    public static final String KEY_CONFLICTS = "conflicts";
+
+    private static final String RECEIPTS = "mutation_receipts";
+
+    // Mutations read per query
+    private static final int BATCH_SIZE = 20;
+
+    // Give up on an action after this many failed sends
+    private static final int MAX_ATTEMPTS = 8;
+
+    // Conflicts found by runs that ended in a retry
+    private static final String PREFS_NAME = "outbox";
+    private static final String KEY_PENDING_CONFLICTS = "pending_conflicts";
+
+    public OutboxWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedule a flush once the network is available. A flush queued while
+     * another is running starts after it, so nothing is left waiting.
+     */
+    public static void enqueue(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(OutboxWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 10, TimeUnit.SECONDS)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        PendingMutationDao dao = OutboxDatabase.getInstance(getApplicationContext()).pendingMutationDao();
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        Set<String> conflicts = new LinkedHashSet<>();
+        int sent = 0;
+
+        List<PendingMutation> batch;
+        while (!(batch = dao.getNext(BATCH_SIZE)).isEmpty()) {
+            for (PendingMutation mutation : batch) {
+                try {
+                    Mutations.Outcome outcome = Tasks.await(send(db, mutation));
+                    if (outcome == Mutations.Outcome.CONFLICT) {
+                        Log.w(TAG, mutation.type + " conflicts with event " + mutation.eventId);
+                        conflicts.add(mutation.eventId);
+                    }
+                    dao.delete(mutation.seq);
+                    sent++;
+                } catch (ExecutionException e) {
+                    if (isPermanent(e.getCause())) {
+                        Log.e(TAG, "❌ Dropping " + mutation.type + " for event " + mutation.eventId, e);
+                        conflicts.add(mutation.eventId);
+                        dao.delete(mutation.seq);
+                        continue;
+                    }
+                    if (mutation.attempts + 1 >= MAX_ATTEMPTS) {
+                        Log.e(TAG, "❌ Giving up on " + mutation.type + " for event "
+                                + mutation.eventId + " after " + MAX_ATTEMPTS + " attempts", e);
+                        conflicts.add(mutation.eventId);
+                        dao.delete(mutation.seq);
+                        continue;
+                    }
+                    Log.w(TAG, "Outbox flush stopped after " + sent + ", will retry", e);
+                    dao.recordFailure(mutation.seq, String.valueOf(e.getCause()));
+                    saveConflicts(conflicts);
+                    return Result.retry();
+                } catch (InterruptedException e) {
+                    saveConflicts(conflicts);
+                    return Result.retry();
+                }
+            }
+        }
+
+        // Report what earlier runs found too
+        SharedPreferences prefs = prefs();
+        conflicts.addAll(prefs.getStringSet(KEY_PENDING_CONFLICTS, Collections.emptySet()));
+        prefs.edit().remove(KEY_PENDING_CONFLICTS).apply();
+
+        Log.d(TAG, "✅ Sent " + sent + " queued actions, " + conflicts.size() + " conflicts");
+        return Result.success(new Data.Builder()
+                .putStringArray(KEY_CONFLICTS, conflicts.toArray(new String[0]))
+                .build());
+    }
+
+    /**
+     * Keep this run's conflicts for the run that succeeds
+     */
+    private void saveConflicts(Set<String> conflicts) {
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        SharedPreferences prefs = prefs();
+        Set<String> pending = new HashSet<>(
+                prefs.getStringSet(KEY_PENDING_CONFLICTS, Collections.emptySet()));
+        pending.addAll(conflicts);
+        prefs.edit().putStringSet(KEY_PENDING_CONFLICTS, pending).commit();
+    }
+
+    private SharedPreferences prefs() {
+        return getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    private static Task<Mutations.Outcome> send(FirebaseFirestore db, PendingMutation mutation) {
+        DocumentReference eventRef = db.collection("events").document(mutation.eventId);
+        DocumentReference receiptRef = db.collection(RECEIPTS).document(mutation.requestId);
+        SecureRandom random = new SecureRandom();
+
+        return db.runTransaction(transaction -> {
+            // All reads come before the writes
+            if (transaction.get(receiptRef).exists()) {
+                return Mutations.Outcome.NO_OP;
+            }
+            DocumentSnapshot snapshot = transaction.get(eventRef);
+            Event event = EventMapper.fromSnapshot(snapshot);
+            if (event == null) {
+                // The event was deleted
+                return Mutations.Outcome.CONFLICT;
+            }
+
+            Map<String, Object> fields = new HashMap<>();
+            Mutations.Outcome outcome = Mutations.apply(event, mutation.type, mutation.userId,
+                    random, fields);
+            if (outcome == Mutations.Outcome.APPLIED) {
+                fields.put(EventSyncEngine.UPDATED_AT, FieldValue.serverTimestamp());
+                transaction.update(eventRef, fields);
+            }
+
+            Map<String, Object> receipt = new HashMap<>();
+            receipt.put("eventId", mutation.eventId);
+            receipt.put("userId", mutation.userId);
+            receipt.put("type", mutation.type);
+            receipt.put("outcome", outcome.name());
+            receipt.put("appliedAt", FieldValue.serverTimestamp());
+            transaction.set(receiptRef, receipt);
+            return outcome;
+        });
+    }
+
+    /**
+     * Errors that retrying will not fix
+     */
+    private static boolean isPermanent(Throwable error) {
+        if (!(error instanceof FirebaseFirestoreException)) {
+            return false;
+        }
+        FirebaseFirestoreException.Code code = ((FirebaseFirestoreException) error).getCode();
+        return code == FirebaseFirestoreException.Code.PERMISSION_DENIED
+                || code == FirebaseFirestoreException.Code.NOT_FOUND
+                || code == FirebaseFirestoreException.Code.INVALID_ARGUMENT;
+    }
+}
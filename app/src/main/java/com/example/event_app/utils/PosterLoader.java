@@ -0,0 +1,86 @@
+package com.example.event_app.utils;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.signature.ObjectKey;
+import com.example.event_app.models.Event;
+
+/**
+ * PosterLoader - Builds Glide requests for event posters
+ *
+ * The poster version is used as the Glide signature, so a cached poster
+ * stays valid until the event points at a new version.
+ *
+ * Events that carry a BlurHash get a blurred placeholder decoded on the
+ * spot. Decoded placeholders are kept in a small LRU so scrolling back
+ * through a list does not decode them again.
+ */
+public class PosterLoader {
+
+    private static final String TAG = "PosterLoader";
+
+    // Placeholders are stretched to fill the view, so a tiny bitmap is enough
+    private static final int PLACEHOLDER_WIDTH = 32;
+    private static final int PLACEHOLDER_HEIGHT = 24;
+
+    // Room for a few hundred 32x24 placeholders
+    private static final int PLACEHOLDER_CACHE_BYTES = 1024 * 1024;
+
+    private static final LruCache<String, Bitmap> placeholders =
+            new LruCache<String, Bitmap>(PLACEHOLDER_CACHE_BYTES) {
+                @Override
+                protected int sizeOf(String key, Bitmap value) {
+                    return value.getByteCount();
+                }
+            };
+
+    /**
+     * Check whether an event has a poster to load
+     */
+    public static boolean hasPoster(Event event) {
+        return event.getPosterUrl() != null && !event.getPosterUrl().isEmpty();
+    }
+
+    /**
+     * Start a poster request; callers add their own transformations and target
+     */
+    public static RequestBuilder<Drawable> load(RequestManager glide, Event event) {
+        return glide.load(event.getPosterUrl())
+                .signature(signatureFor(event));
+    }
+
+    /**
+     * Blurred placeholder for an event's poster, or null if it has no BlurHash
+     */
+    public static Drawable placeholder(Resources resources, Event event) {
+        String hash = event.getPosterBlurHash();
+        if (hash == null || hash.isEmpty()) {
+            return null;
+        }
+
+        Bitmap bitmap = placeholders.get(hash);
+        if (bitmap == null) {
+            try {
+                bitmap = BlurHash.decodeBitmap(hash, PLACEHOLDER_WIDTH, PLACEHOLDER_HEIGHT);
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Invalid BlurHash on event " + event.getId(), e);
+                return null;
+            }
+            placeholders.put(hash, bitmap);
+        }
+        return new BitmapDrawable(resources, bitmap);
+    }
+
+    private static ObjectKey signatureFor(Event event) {
+        // Older events have no version; their download URL changes on every upload
+        String version = event.getPosterVersion();
+        return new ObjectKey(version != null ? version : event.getPosterUrl());
+    }
+}
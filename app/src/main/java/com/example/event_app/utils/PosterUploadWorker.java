@@ -0,0 +1,353 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.event_app.models.ImageData;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageReference;
+import com.google.firebase.storage.UploadTask;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PosterUploadWorker - Uploads an event poster in the background
+ *
+ * US 02.04.01: Upload event poster
+ *
+ * The event document is written without a poster first. The picked image is
+ * copied into app storage and this worker uploads it with a resumable
+ * Firebase Storage session, then patches posterUrl, posterVersion and
+ * posterBlurHash onto the event.
+ *
+ * The session URI is saved as soon as the upload starts, so a retry after
+ * a dropped connection or process death continues where it stopped instead
+ * of sending the whole file again. Images already in the ImageRegistry are
+ * not uploaded at all.
+ *
+ * Each work request takes one registry reference however many attempts it
+ * needs. The reference is recorded when taken, retries reuse it, and it is
+ * released again if the worker gives up.
+ */
+public class PosterUploadWorker extends Worker {
+
+    private static final String TAG = "PosterUploadWorker";
+
+    private static final String KEY_EVENT_ID = "eventId";
+    private static final String KEY_FILE_PATH = "filePath";
+    private static final String KEY_CONTENT_TYPE = "contentType";
+
+    private static final String PREFS_NAME = "poster_uploads";
+
+    // Registry reference taken by a work request, "claim_{workId}" -> version and URL
+    private static final String CLAIM_PREFIX = "claim_";
+    private static final String PENDING_DIR = "pending_posters";
+
+    // Give up after this many attempts; the event simply stays without a poster
+    private static final int MAX_ATTEMPTS = 10;
+
+    public PosterUploadWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Copy the picked image into app storage and schedule its upload.
+     * The copy is needed because the picker's read permission ends with the
+     * activity, so the caller must not finish before the returned task completes.
+     */
+    public static Task<Void> enqueue(Context context, String eventId, Uri imageUri) {
+        Context appContext = context.getApplicationContext();
+        return Tasks.call(AppExecutors.io(), () -> {
+            // Each request gets its own file, so a replacing request never
+            // overwrites the one a running worker is still reading
+            File file = pendingFile(appContext, eventId);
+            copy(appContext, imageUri, file);
+
+            Data input = new Data.Builder()
+                    .putString(KEY_EVENT_ID, eventId)
+                    .putString(KEY_FILE_PATH, file.getAbsolutePath())
+                    .putString(KEY_CONTENT_TYPE, appContext.getContentResolver().getType(imageUri))
+                    .build();
+
+            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(PosterUploadWorker.class)
+                    .setInputData(input)
+                    .setConstraints(new Constraints.Builder()
+                            .setRequiredNetworkType(NetworkType.CONNECTED)
+                            .build())
+                    .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+                    .build();
+
+            // A newer poster for the same event replaces any pending one
+            WorkManager.getInstance(appContext)
+                    .enqueueUniqueWork("poster_upload_" + eventId, ExistingWorkPolicy.REPLACE, request);
+            deleteReplaced(file);
+            Log.d(TAG, "Queued poster upload for event " + eventId);
+            return null;
+        });
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String eventId = getInputData().getString(KEY_EVENT_ID);
+        String filePath = getInputData().getString(KEY_FILE_PATH);
+        if (eventId == null || filePath == null) {
+            return Result.failure();
+        }
+
+        File file = new File(filePath);
+        if (!file.exists()) {
+            Log.w(TAG, "Pending poster file is gone for event " + eventId);
+            releaseClaim();
+            return Result.failure();
+        }
+
+        String sessionKey = null;
+        try {
+            byte[] bytes = readFile(file);
+            String version = PosterUploader.contentVersion(bytes);
+            sessionKey = eventId + "_" + version;
+
+            PosterUploader uploader = new PosterUploader(FirebaseStorage.getInstance());
+
+            // An earlier attempt of this request may already hold the reference
+            ImageData image = null;
+            if (version.equals(claimedVersion())) {
+                image = Tasks.await(uploader.registry().find(version));
+            }
+
+            if (image == null) {
+                image = Tasks.await(uploader.registry().claim(version));
+                if (image == null) {
+                    StorageReference posterRef = uploader.posterRef(version);
+                    upload(posterRef, file, sessionKey, getInputData().getString(KEY_CONTENT_TYPE));
+                    String url = Tasks.await(posterRef.getDownloadUrl()).toString();
+
+                    String thumbUrl = Tasks.await(uploader.uploadThumbnail(bytes, version));
+
+                    image = Tasks.await(uploader.registry().register(PosterUploader.newImage(
+                            version, url, posterRef.getPath(), thumbUrl,
+                            PosterUploader.computeBlurHash(bytes), bytes.length, eventId)));
+                } else {
+                    Log.d(TAG, "Poster " + version + " already stored, skipping upload");
+                }
+                recordClaim(version, image.getImageUrl());
+            }
+            PosterUploader.Poster poster = PosterUploader.toPoster(image);
+
+            try {
+                Tasks.await(FirebaseFirestore.getInstance()
+                        .collection("events").document(eventId)
+                        .update("posterUrl", poster.url,
+                                "posterVersion", poster.version,
+                                "posterBlurHash", poster.blurHash,
+                                EventSyncEngine.UPDATED_AT, FieldValue.serverTimestamp()));
+            } catch (ExecutionException e) {
+                if (isMissingDocument(e)) {
+                    // Event was deleted while the upload was pending
+                    Log.w(TAG, "Event " + eventId + " no longer exists, discarding poster");
+                    uploader.release(poster.url, poster.version);
+                    finish(file, sessionKey);
+                    return Result.success();
+                }
+                throw e;
+            }
+
+            Log.d(TAG, "✅ Poster uploaded for event " + eventId);
+            finish(file, sessionKey);
+            return Result.success();
+
+        } catch (IOException e) {
+            Log.e(TAG, "❌ Cannot read pending poster", e);
+            releaseClaim();
+            file.delete();
+            return Result.failure();
+        } catch (ExecutionException | InterruptedException e) {
+            if (getRunAttemptCount() + 1 >= MAX_ATTEMPTS) {
+                Log.e(TAG, "❌ Giving up on poster upload for event " + eventId, e);
+                releaseClaim();
+                if (sessionKey != null) {
+                    prefs().edit().remove(sessionKey).apply();
+                }
+                file.delete();
+                return Result.failure();
+            }
+            Log.w(TAG, "Poster upload interrupted, will retry", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * Upload the file, resuming a saved session when there is one
+     */
+    private void upload(StorageReference posterRef, File file, String sessionKey, String contentType)
+            throws ExecutionException, InterruptedException {
+        SharedPreferences prefs = getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        String savedSession = prefs.getString(sessionKey, null);
+
+        UploadTask task;
+        if (savedSession != null) {
+            Log.d(TAG, "Resuming upload session for " + sessionKey);
+            task = posterRef.putFile(Uri.fromFile(file), PosterUploader.posterMetadata(contentType),
+                    Uri.parse(savedSession));
+        } else {
+            task = posterRef.putFile(Uri.fromFile(file), PosterUploader.posterMetadata(contentType));
+        }
+
+        // Save the session URI as soon as the server hands it out
+        task.addOnProgressListener(snapshot -> {
+            Uri session = snapshot.getUploadSessionUri();
+            if (session != null && !session.toString().equals(prefs.getString(sessionKey, null))) {
+                prefs.edit().putString(sessionKey, session.toString()).apply();
+            }
+        });
+
+        try {
+            Tasks.await(task);
+        } catch (ExecutionException e) {
+            // A session that was rejected cannot be resumed; start fresh next time
+            if (savedSession != null && !isNetworkFailure(e)) {
+                prefs.edit().remove(sessionKey).apply();
+            }
+            throw e;
+        }
+    }
+
+    private void finish(File file, String sessionKey) {
+        prefs().edit()
+                .remove(sessionKey)
+                .remove(claimKey())
+                .apply();
+        file.delete();
+    }
+
+    /**
+     * Version of the image this work request holds a registry reference to, if any
+     */
+    private String claimedVersion() {
+        String claim = prefs().getString(claimKey(), null);
+        return claim != null ? claim.substring(0, claim.indexOf(' ')) : null;
+    }
+
+    private void recordClaim(String version, String imageUrl) {
+        // commit() so the reference is on disk before anything can fail
+        prefs().edit().putString(claimKey(), version + " " + imageUrl).commit();
+    }
+
+    /**
+     * Give back the reference this work request took
+     */
+    private void releaseClaim() {
+        String claim = prefs().getString(claimKey(), null);
+        if (claim == null) {
+            return;
+        }
+        int split = claim.indexOf(' ');
+        new PosterUploader(FirebaseStorage.getInstance())
+                .release(claim.substring(split + 1), claim.substring(0, split));
+        prefs().edit().remove(claimKey()).apply();
+    }
+
+    private String claimKey() {
+        return CLAIM_PREFIX + getId();
+    }
+
+    private SharedPreferences prefs() {
+        return getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    private static boolean isNetworkFailure(ExecutionException e) {
+        return e.getCause() instanceof StorageException
+                && ((StorageException) e.getCause()).getErrorCode()
+                == StorageException.ERROR_RETRY_LIMIT_EXCEEDED;
+    }
+
+    private static boolean isMissingDocument(ExecutionException e) {
+        return e.getCause() instanceof FirebaseFirestoreException
+                && ((FirebaseFirestoreException) e.getCause()).getCode()
+                == FirebaseFirestoreException.Code.NOT_FOUND;
+    }
+
+    private static File pendingFile(Context context, String eventId) {
+        File dir = new File(context.getFilesDir(), PENDING_DIR);
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        return new File(dir, eventId + "_" + UUID.randomUUID() + ".jpg");
+    }
+
+    /**
+     * Delete the files of requests this one replaced. A replaced worker that
+     * is still reading keeps its open file; one that has not started yet is
+     * cancelled and never opens it.
+     */
+    private static void deleteReplaced(File current) {
+        String prefix = current.getName().substring(0, current.getName().lastIndexOf('_') + 1);
+        File[] files = current.getParentFile().listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.getName().startsWith(prefix) && !file.equals(current)) {
+                file.delete();
+            }
+        }
+    }
+
+    private static void copy(Context context, Uri source, File target) throws IOException {
+        try (InputStream in = context.getContentResolver().openInputStream(source);
+             OutputStream out = new FileOutputStream(target)) {
+            if (in == null) {
+                throw new IOException("Cannot open " + source);
+            }
+            byte[] buffer = new byte[16 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        try (InputStream in = new FileInputStream(file)) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                int read = in.read(bytes, offset, bytes.length - offset);
+                if (read == -1) {
+                    throw new IOException("Unexpected end of " + file);
+                }
+                offset += read;
+            }
+        }
+        return bytes;
+    }
+}
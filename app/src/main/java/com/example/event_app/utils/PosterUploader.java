@@ -0,0 +1,304 @@
+package com.example.event_app.utils;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.util.Log;
+
+import com.example.event_app.models.ImageData;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * PosterUploader - Uploads event posters under content-addressed storage paths
+ *
+ * US 02.04.01: Upload event poster
+ * US 02.04.02: Update poster
+ *
+ * Every poster is stored at event_posters/{version}.jpg, where the version
+ * is the SHA-256 of the image bytes. A stored object never changes, so it
+ * is uploaded with a long-lived Cache-Control header and clients never need
+ * to revalidate it.
+ *
+ * Posters are registered in the ImageRegistry before uploading. If the same
+ * image is already stored (an organizer reusing a poster across a series),
+ * the upload is skipped and the existing object is shared. A small thumbnail
+ * rendition is stored next to each new poster for image grids.
+ *
+ * A BlurHash of the image is computed at upload time so lists can show a
+ * blurred placeholder before the poster arrives.
+ */
+public class PosterUploader {
+
+    private static final String TAG = "PosterUploader";
+
+    public static final String POSTER_FOLDER = "event_posters";
+
+    // Poster objects are immutable, so they can be cached for a year
+    static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    public static final String THUMB_FOLDER = "thumbs";
+
+    // Width of the bitmap the BlurHash is computed from
+    private static final int BLUR_SOURCE_SIZE = 32;
+
+    // Used when the picker doesn't report a type; thumbnails are always JPEG
+    static final String DEFAULT_CONTENT_TYPE = "image/jpeg";
+
+    // Thumbnail rendition used by image grids
+    private static final int THUMB_WIDTH = 320;
+    private static final int THUMB_QUALITY = 80;
+
+    private final FirebaseStorage storage;
+    private final ImageRegistry registry;
+
+    /**
+     * Result of a successful upload
+     */
+    public static class Poster {
+        public final String url;
+        public final String version;
+        public final String blurHash;
+
+        Poster(String url, String version, String blurHash) {
+            this.url = url;
+            this.version = version;
+            this.blurHash = blurHash;
+        }
+    }
+
+    public PosterUploader(FirebaseStorage storage) {
+        this.storage = storage;
+        this.registry = new ImageRegistry(FirebaseFirestore.getInstance(), storage);
+    }
+
+    /**
+     * Upload the image at imageUri as the poster for an event.
+     * The returned poster holds one registry reference for the event.
+     */
+    public Task<Poster> upload(ContentResolver resolver, String eventId, Uri imageUri) {
+        return Tasks.call(AppExecutors.io(), () -> readBytes(resolver, imageUri))
+                .continueWithTask(AppExecutors.io(), readTask -> {
+                    byte[] bytes = readTask.getResult();
+                    String version = contentVersion(bytes);
+                    String contentType = resolver.getType(imageUri);
+
+                    return registry.claim(version).continueWithTask(AppExecutors.io(), claimTask -> {
+                        ImageData existing = claimTask.getResult();
+                        if (existing != null) {
+                            Log.d(TAG, "Poster " + version + " already stored, reusing it");
+                            return Tasks.forResult(toPoster(existing));
+                        }
+                        return uploadNew(bytes, version, contentType, eventId);
+                    });
+                });
+    }
+
+    private Task<Poster> uploadNew(byte[] bytes, String version, String contentType, String eventId) {
+        String blurHash = computeBlurHash(bytes);
+        StorageReference posterRef = posterRef(version);
+
+        return posterRef.putBytes(bytes, posterMetadata(contentType))
+                .continueWithTask(uploadTask -> {
+                    if (!uploadTask.isSuccessful()) {
+                        throw uploadTask.getException();
+                    }
+                    return posterRef.getDownloadUrl();
+                })
+                .continueWithTask(urlTask -> {
+                    Log.d(TAG, "Uploaded poster " + version + " for event " + eventId);
+                    String url = urlTask.getResult().toString();
+                    return uploadThumbnail(bytes, version).continueWithTask(thumbTask -> {
+                        ImageData image = newImage(version, url, posterRef.getPath(),
+                                thumbTask.getResult(), blurHash, bytes.length, eventId);
+                        return registry.register(image);
+                    });
+                })
+                .continueWith(registerTask -> toPoster(registerTask.getResult()));
+    }
+
+    /**
+     * Drop the event's reference to a poster it no longer uses. The stored
+     * object is deleted once no event uses it, so clients drop exactly one
+     * cache entry.
+     */
+    public void release(String posterUrl, String version) {
+        registry.release(version, posterUrl);
+    }
+
+    /**
+     * Upload the thumbnail rendition. Resolves to its URL, or null if it could
+     * not be made; the full poster is still usable without it.
+     */
+    Task<String> uploadThumbnail(byte[] bytes, String version) {
+        return Tasks.call(AppExecutors.compute(), () -> renderThumbnail(bytes))
+                .continueWithTask(renderTask -> {
+                    byte[] thumb = renderTask.getResult();
+                    if (thumb == null) {
+                        return Tasks.forResult(null);
+                    }
+                    StorageReference thumbRef = storage.getReference()
+                            .child(POSTER_FOLDER)
+                            .child(THUMB_FOLDER)
+                            .child(version + ".jpg");
+                    return thumbRef.putBytes(thumb, posterMetadata(DEFAULT_CONTENT_TYPE))
+                            .continueWithTask(uploadTask -> thumbRef.getDownloadUrl())
+                            .continueWith(urlTask -> {
+                                if (!urlTask.isSuccessful()) {
+                                    Log.w(TAG, "Could not upload thumbnail", urlTask.getException());
+                                    return null;
+                                }
+                                return urlTask.getResult().toString();
+                            });
+                });
+    }
+
+    StorageReference posterRef(String version) {
+        return storage.getReference()
+                .child(POSTER_FOLDER)
+                .child(version + ".jpg");
+    }
+
+    ImageRegistry registry() {
+        return registry;
+    }
+
+    static ImageData newImage(String version, String url, String storagePath, String thumbUrl,
+                              String blurHash, long sizeBytes, String eventId) {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        ImageData image = new ImageData(version, url,
+                user != null ? user.getUid() : null, "event_poster");
+        image.setAssociatedWith(eventId);
+        image.setContentHash(version);
+        image.setStoragePath(storagePath);
+        image.setThumbUrl(thumbUrl);
+        image.setBlurHash(blurHash);
+        image.setSizeBytes(sizeBytes);
+        return image;
+    }
+
+    static Poster toPoster(ImageData image) {
+        return new Poster(image.getImageUrl(), image.getContentHash(), image.getBlurHash());
+    }
+
+    /**
+     * Metadata for a stored image of the given MIME type, e.g. from ContentResolver.getType()
+     */
+    static StorageMetadata posterMetadata(String contentType) {
+        return new StorageMetadata.Builder()
+                .setContentType(contentType != null && contentType.startsWith("image/") ?
+                        contentType : DEFAULT_CONTENT_TYPE)
+                .setCacheControl(CACHE_CONTROL)
+                .build();
+    }
+
+    static byte[] readBytes(ContentResolver resolver, Uri uri) throws IOException {
+        try (InputStream in = resolver.openInputStream(uri)) {
+            if (in == null) {
+                throw new IOException("Cannot open " + uri);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[16 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Compute a BlurHash from a heavily downsampled copy of the image
+     */
+    static String computeBlurHash(byte[] bytes) {
+        Bitmap sampled = decodeSampled(bytes, BLUR_SOURCE_SIZE);
+        if (sampled == null) {
+            Log.w(TAG, "Poster is not a decodable image, skipping BlurHash");
+            return null;
+        }
+
+        Bitmap small = scaleToWidth(sampled, BLUR_SOURCE_SIZE);
+        String hash = BlurHash.encode(small);
+
+        if (small != sampled) {
+            small.recycle();
+        }
+        sampled.recycle();
+        return hash;
+    }
+
+    /**
+     * Render a small JPEG of the image for grids and lists
+     */
+    static byte[] renderThumbnail(byte[] bytes) {
+        Bitmap sampled = decodeSampled(bytes, THUMB_WIDTH);
+        if (sampled == null) {
+            return null;
+        }
+
+        Bitmap thumb = sampled.getWidth() > THUMB_WIDTH ? scaleToWidth(sampled, THUMB_WIDTH) : sampled;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        thumb.compress(Bitmap.CompressFormat.JPEG, THUMB_QUALITY, out);
+
+        if (thumb != sampled) {
+            thumb.recycle();
+        }
+        sampled.recycle();
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode at the smallest power-of-two reduction still at least minSize wide and tall
+     */
+    private static Bitmap decodeSampled(byte[] bytes, int minSize) {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(bytes, 0, bytes.length, bounds);
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            return null;
+        }
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = 1;
+        while (bounds.outWidth / (options.inSampleSize * 2) >= minSize
+                && bounds.outHeight / (options.inSampleSize * 2) >= minSize) {
+            options.inSampleSize *= 2;
+        }
+        return BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+    }
+
+    private static Bitmap scaleToWidth(Bitmap source, int width) {
+        int height = Math.max(1, width * source.getHeight() / source.getWidth());
+        return Bitmap.createScaledBitmap(source, width, height, true);
+    }
+
+    /**
+     * Hex SHA-256 of the image bytes
+     */
+    static String contentVersion(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,15 +1,35 @@
 package com.example.event_app.utils;
 
 import android.content.Context;
-import android.text.TextUtils;
 import android.util.Log;
 
 /**
  * QRService - Processes scanned QR codes
+ *
+ * US 01.06.01: Scan QR code to view event
+ *
+ * A valid scan starts reading the event immediately, before the details
+ * screen is launched. IDs already known not to exist are rejected without
+ * a network round trip.
  */
 public class QRService {
 
     private static final String TAG = "QRService";
+
+    private static final int MIN_ID_LENGTH = 10;
+    private static final int MAX_ID_LENGTH = 50;
+
+    // Characters allowed in an event ID: [a-zA-Z0-9_-]
+    private static final boolean[] ID_CHARS = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) ID_CHARS[c] = true;
+        for (char c = 'A'; c <= 'Z'; c++) ID_CHARS[c] = true;
+        for (char c = '0'; c <= '9'; c++) ID_CHARS[c] = true;
+        ID_CHARS['_'] = true;
+        ID_CHARS['-'] = true;
+    }
+
     private final Navigator navigator;
 
     /**
@@ -32,33 +52,50 @@ public class QRService {
     public void processQrCode(Context context, String qrContent) {
         Log.d(TAG, "Processing QR code: " + qrContent);
 
-        if (isValidEventId(qrContent)) {
-            Log.d(TAG, "Valid event ID, navigating to details");
-            navigator.navigateToEventDetails(context, qrContent);
-        } else {
+        if (!isValidEventId(qrContent)) {
             Log.w(TAG, "Invalid QR code format");
             navigator.showInvalidQrError(context);
+            return;
         }
+
+        String eventId = qrContent.trim();
+        if (EventPrefetcher.isKnownMissing(eventId)) {
+            Log.w(TAG, "Event " + eventId + " is known not to exist");
+            navigator.showError(context, "Event not found");
+            return;
+        }
+
+        // Start the read now; EventDetailsActivity picks it up
+        EventPrefetcher.prefetch(eventId);
+
+        Log.d(TAG, "Valid event ID, navigating to details");
+        navigator.navigateToEventDetails(context, eventId);
     }
 
     /**
-     * Validate event ID format
+     * Validate event ID format without allocating. Surrounding whitespace is ignored.
      */
-    private boolean isValidEventId(String eventId) {
-        if (TextUtils.isEmpty(eventId)) {
+    public static boolean isValidEventId(CharSequence eventId) {
+        if (eventId == null) {
             return false;
         }
 
-        eventId = eventId.trim();
+        int start = 0;
+        int end = eventId.length();
+        while (start < end && eventId.charAt(start) <= ' ') start++;
+        while (end > start && eventId.charAt(end - 1) <= ' ') end--;
 
-        if (eventId.length() < 10 || eventId.length() > 50) {
+        int length = end - start;
+        if (length < MIN_ID_LENGTH || length > MAX_ID_LENGTH) {
             return false;
         }
 
-        if (!eventId.matches("[a-zA-Z0-9_-]+")) {
-            return false;
+        for (int i = start; i < end; i++) {
+            char c = eventId.charAt(i);
+            if (c >= ID_CHARS.length || !ID_CHARS[c]) {
+                return false;
+            }
         }
-
         return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,155 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.util.LruCache;
+
+import androidx.core.content.FileProvider;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * QrCodeRenderer - Renders event QR codes off the main thread
+ *
+ * US 02.01.01: Generate QR code for event
+ *
+ * The code is rendered at one pixel per module with a single setPixels call,
+ * then scaled up by a whole number with nearest-neighbour sampling so module
+ * edges stay sharp. Rendered codes are kept in an LRU by event ID, so showing
+ * or sharing a code again does not regenerate or download it.
+ */
+public class QrCodeRenderer {
+
+    private static final int BLACK = 0xFF000000;
+    private static final int WHITE = 0xFFFFFFFF;
+
+    // Quiet zone around the code, in modules
+    private static final int QUIET_ZONE = 2;
+
+    // Room for a handful of 512px RGB_565 codes
+    private static final int CACHE_BYTES = 4 * 1024 * 1024;
+
+    private static final String SHARE_FOLDER = "qr_codes";
+
+    private static final LruCache<String, Bitmap> cache = new LruCache<String, Bitmap>(CACHE_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+
+    /**
+     * Render the QR code for an event, at most size pixels wide
+     */
+    public static Task<Bitmap> render(String eventId, int size) {
+        String key = eventId + ":" + size;
+        Bitmap cached = cache.get(key);
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
+
+        return Tasks.call(AppExecutors.compute(), () -> {
+            Bitmap bitmap = scale(renderModules(eventId), size);
+            cache.put(key, bitmap);
+            return bitmap;
+        });
+    }
+
+    /**
+     * Render the QR code and encode it as PNG for upload
+     */
+    public static Task<byte[]> renderPng(String eventId, int size) {
+        return render(eventId, size).continueWith(AppExecutors.compute(), task -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            task.getResult().compress(Bitmap.CompressFormat.PNG, 100, out);
+            return out.toByteArray();
+        });
+    }
+
+    /**
+     * Write the QR code to a shareable file and return its content URI
+     */
+    public static Task<Uri> renderForSharing(Context context, String eventId, int size) {
+        Context appContext = context.getApplicationContext();
+        return render(eventId, size).continueWith(AppExecutors.io(), task -> {
+            File dir = new File(appContext.getCacheDir(), SHARE_FOLDER);
+            if (!dir.exists() && !dir.mkdirs()) {
+                throw new IOException("Cannot create " + dir);
+            }
+
+            File file = new File(dir, eventId + ".png");
+            try (OutputStream out = new FileOutputStream(file)) {
+                task.getResult().compress(Bitmap.CompressFormat.PNG, 100, out);
+            }
+            return FileProvider.getUriForFile(appContext,
+                    appContext.getPackageName() + ".fileprovider", file);
+        });
+    }
+
+    /**
+     * One pixel per module, including the quiet zone
+     */
+    static Bitmap renderModules(String content) throws WriterException {
+        BitMatrix matrix = encode(content);
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
+        bitmap.setPixels(toPixels(matrix), 0, width, 0, 0, width, height);
+        return bitmap;
+    }
+
+    /**
+     * Encode at the natural module size; asking for 0x0 stops ZXing from scaling
+     */
+    static BitMatrix encode(String content) throws WriterException {
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        hints.put(EncodeHintType.MARGIN, QUIET_ZONE);
+        return new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, 0, 0, hints);
+    }
+
+    /**
+     * Fill a row-major ARGB buffer from the matrix
+     */
+    static int[] toPixels(BitMatrix matrix) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                pixels[offset + x] = matrix.get(x, y) ? BLACK : WHITE;
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * Scale up by the largest whole factor that fits, without filtering
+     */
+    private static Bitmap scale(Bitmap modules, int size) {
+        int factor = Math.max(1, size / modules.getWidth());
+        if (factor == 1) {
+            return modules;
+        }
+        Bitmap scaled = Bitmap.createScaledBitmap(modules,
+                modules.getWidth() * factor, modules.getHeight() * factor, false);
+        modules.recycle();
+        return scaled;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.pdf.PdfDocument;
+import android.net.Uri;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.Log;
+
+import androidx.core.content.FileProvider;
+
+import com.example.event_app.models.Event;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.zxing.common.BitMatrix;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Future;
+
+/**
+ * QrSheetExporter - Printable PDF of QR codes for many events
+ *
+ * US 02.01.01: Generate QR code for event
+ *
+ * Codes are encoded in parallel on the compute pool, a couple of pages ahead of
+ * the writer, so only those pages of bit matrices are held at once. The
+ * modules are drawn as vector rectangles instead of bitmaps, so the sheet
+ * prints sharply at any size and no bitmaps are held while it is built.
+ * PdfDocument keeps every finished page's drawing commands until writeTo,
+ * so the document itself still grows with the number of pages.
+ */
+public class QrSheetExporter {
+
+    private static final String TAG = "QrSheetExporter";
+
+    // Fallback under getFilesDir() when external storage is unavailable
+    private static final String SHEET_DIR = "qr_sheets";
+
+    // A4 in PostScript points
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int PAGE_MARGIN = 36;
+
+    private static final int COLUMNS = 3;
+    private static final int ROWS = 4;
+    private static final int CODES_PER_PAGE = COLUMNS * ROWS;
+
+    // Pages of codes encoded ahead of the page being drawn
+    private static final int PAGES_AHEAD = 2;
+
+    private static final int CELL_PADDING = 12;
+    private static final float LABEL_SIZE = 10f;
+
+    /**
+     * Write a sheet for the given events and return a shareable content URI
+     */
+    public static Task<Uri> export(Context context, List<Event> events) {
+        Context appContext = context.getApplicationContext();
+        List<Event> snapshot = new ArrayList<>(events);
+        // The writer waits on the encoders, so they run on different pools
+        return Tasks.call(AppExecutors.io(), () -> {
+            File file = createSheetFile(appContext);
+            long start = System.currentTimeMillis();
+            writeSheet(snapshot, file);
+            Log.d(TAG, "✅ QR sheet with " + snapshot.size() + " codes written in "
+                    + (System.currentTimeMillis() - start) + "ms");
+            return FileProvider.getUriForFile(appContext,
+                    appContext.getPackageName() + ".fileprovider", file);
+        });
+    }
+
+    private static void writeSheet(List<Event> events, File file) throws Exception {
+        PdfDocument document = new PdfDocument();
+        Deque<Future<BitMatrix>> encoded = new ArrayDeque<>();
+        try {
+            Paint modulePaint = new Paint();
+            modulePaint.setColor(Color.BLACK);
+            modulePaint.setStyle(Paint.Style.FILL);
+
+            TextPaint labelPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+            labelPaint.setColor(Color.BLACK);
+            labelPaint.setTextSize(LABEL_SIZE);
+            labelPaint.setTextAlign(Paint.Align.CENTER);
+
+            int next = 0;
+            int pageCount = (events.size() + CODES_PER_PAGE - 1) / CODES_PER_PAGE;
+            for (int page = 0; page < pageCount; page++) {
+                // Keep the pool busy with the next pages while this one is drawn
+                int encodeUntil = Math.min(events.size(), (page + PAGES_AHEAD) * CODES_PER_PAGE);
+                for (; next < encodeUntil; next++) {
+                    String content = contentOf(events.get(next));
+                    encoded.add(AppExecutors.compute().submit(() -> QrCodeRenderer.encode(content)));
+                }
+
+                PdfDocument.Page pdfPage = document.startPage(
+                        new PdfDocument.PageInfo.Builder(PAGE_WIDTH, PAGE_HEIGHT, page + 1).create());
+                Canvas canvas = pdfPage.getCanvas();
+
+                int first = page * CODES_PER_PAGE;
+                int last = Math.min(events.size(), first + CODES_PER_PAGE);
+                for (int i = first; i < last; i++) {
+                    drawCell(canvas, i - first, events.get(i), encoded.poll().get(),
+                            modulePaint, labelPaint);
+                }
+                document.finishPage(pdfPage);
+            }
+
+            try (OutputStream out = new FileOutputStream(file)) {
+                document.writeTo(out);
+            }
+        } finally {
+            for (Future<BitMatrix> pending : encoded) {
+                pending.cancel(true);
+            }
+            document.close();
+        }
+    }
+
+    private static void drawCell(Canvas canvas, int index, Event event, BitMatrix matrix,
+                                 Paint modulePaint, TextPaint labelPaint) {
+        float cellWidth = (PAGE_WIDTH - 2f * PAGE_MARGIN) / COLUMNS;
+        float cellHeight = (PAGE_HEIGHT - 2f * PAGE_MARGIN) / ROWS;
+        float cellLeft = PAGE_MARGIN + (index % COLUMNS) * cellWidth;
+        float cellTop = PAGE_MARGIN + (index / COLUMNS) * cellHeight;
+
+        float codeSize = Math.min(cellWidth, cellHeight - LABEL_SIZE * 2) - 2 * CELL_PADDING;
+        float left = cellLeft + (cellWidth - codeSize) / 2;
+        float top = cellTop + CELL_PADDING;
+        drawModules(canvas, matrix, left, top, codeSize / matrix.getWidth(), modulePaint);
+
+        String name = event.getName() != null ? event.getName() : "";
+        CharSequence label = TextUtils.ellipsize(name, labelPaint,
+                cellWidth - 2 * CELL_PADDING, TextUtils.TruncateAt.END);
+        canvas.drawText(label, 0, label.length(),
+                cellLeft + cellWidth / 2, top + codeSize + LABEL_SIZE * 1.5f, labelPaint);
+    }
+
+    /**
+     * One rectangle per horizontal run of dark modules
+     */
+    private static void drawModules(Canvas canvas, BitMatrix matrix, float left, float top,
+                                    float moduleSize, Paint paint) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        for (int y = 0; y < height; y++) {
+            float rowTop = top + y * moduleSize;
+            int x = 0;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int runStart = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                canvas.drawRect(left + runStart * moduleSize, rowTop,
+                        left + x * moduleSize, rowTop + moduleSize, paint);
+            }
+        }
+    }
+
+    private static String contentOf(Event event) {
+        return event.getId() != null ? event.getId() : event.getEventId();
+    }
+
+    private static File createSheetFile(Context context) {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault())
+                .format(new Date());
+        File dir = context.getExternalFilesDir(null);
+        if (dir == null) {
+            // External storage is unavailable, keep the sheet in internal storage
+            dir = new File(context.getFilesDir(), SHEET_DIR);
+            if (!dir.exists() && !dir.mkdirs()) {
+                Log.w(TAG, "Could not create " + dir);
+            }
+        }
+        return new File(dir, "qr_sheet_" + timestamp + ".pdf");
+    }
+}
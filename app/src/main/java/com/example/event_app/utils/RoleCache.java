@@ -0,0 +1,64 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.example.event_app.models.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * RoleCache - Remembers the signed-in user's roles on the device
+ *
+ * SplashActivity routes a returning user from this cache and checks the
+ * profile in the background, so startup does not wait for a Firestore read.
+ * Anything that changes the user's roles updates the cache as well.
+ */
+public class RoleCache {
+
+    private static final String PREFS_NAME = "role_cache";
+    private static final String KEY_USER_ID = "userId";
+    private static final String KEY_ROLES = "roles";
+
+    /**
+     * Save the roles of a user whose profile exists
+     */
+    public static void save(Context context, User user) {
+        List<String> roles = user.getRoles() != null ? user.getRoles() : new ArrayList<>();
+        prefs(context).edit()
+                .putString(KEY_USER_ID, user.getUserId())
+                .putStringSet(KEY_ROLES, new HashSet<>(roles))
+                .apply();
+    }
+
+    /**
+     * Cached roles for a user, or null if none are cached for that user
+     */
+    public static User load(Context context, String userId) {
+        SharedPreferences prefs = prefs(context);
+        Set<String> roles = prefs.getStringSet(KEY_ROLES, null);
+        if (userId == null || roles == null || !userId.equals(prefs.getString(KEY_USER_ID, null))) {
+            return null;
+        }
+
+        User user = new User();
+        user.setUserId(userId);
+        user.setRoles(new ArrayList<>(roles));
+        return user;
+    }
+
+    /**
+     * Forget the cached user, e.g. after the account is deleted
+     */
+    public static void clear(Context context) {
+        prefs(context).edit().clear().apply();
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
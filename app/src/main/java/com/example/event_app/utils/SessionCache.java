@@ -0,0 +1,118 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
+import com.example.event_app.models.Event;
+import com.example.event_app.models.User;
+
+import java.util.List;
+
+/**
+ * SessionCache - In-memory copies of data the entrant screens share
+ *
+ * SplashActivity warms this cache as soon as the user is known. The event
+ * catalog is synced through EventSyncEngine, which BrowseEventsActivity and
+ * MyEventsActivity read from. The current user's profile is kept for
+ * ProfileFragment. Posters for the first few events are preloaded into
+ * Glide's memory cache. Screens show the cached copy right away and still
+ * refresh from Firestore.
+ *
+ * Only touched from the main thread.
+ */
+public class SessionCache {
+
+    private static final String TAG = "SessionCache";
+
+    // Cached copies older than this are not shown
+    private static final long MAX_AGE_MS = 5 * 60 * 1000L;
+
+    // Posters are only preloaded if the events arrive within this time
+    private static final long WARMUP_BUDGET_MS = 3000;
+
+    // Memory spent on preloaded posters, at the list's poster size
+    private static final long POSTER_BYTE_BUDGET = 4 * 1024 * 1024;
+    private static final int POSTER_SIZE_DP = 100;
+
+    private static User currentUser;
+    private static long currentUserAt;
+
+    private static boolean warming;
+
+    /**
+     * Load the user's working set in the background. Safe to call more than once.
+     */
+    public static void warmUp(Context context, String userId) {
+        if (warming) {
+            return;
+        }
+        warming = true;
+
+        Context appContext = context.getApplicationContext();
+        long start = SystemClock.elapsedRealtime();
+
+        EventSyncEngine sync = EventSyncEngine.getInstance(appContext);
+        sync.sync()
+                .addOnSuccessListener(allEvents -> {
+                    List<Event> events = sync.getActiveEvents();
+
+                    long elapsed = SystemClock.elapsedRealtime() - start;
+                    Log.d(TAG, "✅ Warmed " + events.size() + " events in " + elapsed + "ms");
+                    if (elapsed < WARMUP_BUDGET_MS) {
+                        preloadPosters(appContext, events);
+                    }
+                })
+                .addOnFailureListener(e -> Log.w(TAG, "Warm-up failed", e))
+                .addOnCompleteListener(task -> warming = false);
+    }
+
+    /**
+     * Recently loaded profile for a user, or null if there is no fresh copy
+     */
+    public static User getUser(String userId) {
+        if (currentUser == null || userId == null || !userId.equals(currentUser.getUserId())
+                || SystemClock.elapsedRealtime() - currentUserAt > MAX_AGE_MS) {
+            return null;
+        }
+        return currentUser;
+    }
+
+    public static void putUser(User user) {
+        currentUser = user;
+        currentUserAt = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * Drop everything, e.g. after the account is deleted
+     */
+    public static void clear() {
+        currentUser = null;
+    }
+
+    private static void preloadPosters(Context context, List<Event> events) {
+        int size = Math.round(POSTER_SIZE_DP * context.getResources().getDisplayMetrics().density);
+        long bytesPerPoster = (long) size * size * 4;
+        long budget = POSTER_BYTE_BUDGET;
+
+        RequestManager glide = Glide.with(context);
+        int preloaded = 0;
+        for (Event event : events) {
+            if (budget < bytesPerPoster) {
+                break;
+            }
+            if (!PosterLoader.hasPoster(event)) {
+                continue;
+            }
+            // Same request as EventAdapter, so the list finds it in memory
+            PosterLoader.load(glide, event)
+                    .centerCrop()
+                    .preload(size, size);
+            budget -= bytesPerPoster;
+            preloaded++;
+        }
+        Log.d(TAG, "Preloading " + preloaded + " posters");
+    }
+}
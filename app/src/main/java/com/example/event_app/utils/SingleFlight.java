@@ -0,0 +1,116 @@
+package com.example.event_app.utils;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SingleFlight - One Firestore read per document or query at a time
+ *
+ * A screen often asks for the same document twice within milliseconds,
+ * e.g. from onCreate and onResume, and list rows ask for the same users
+ * again as they are rebound. A read that matches one still in flight gets
+ * the same Task instead of starting another, and every caller receives
+ * its result. Once the read completes the next caller starts a new one,
+ * so nothing is served stale.
+ *
+ * Reads are keyed by document path or query, and by source, since a cache
+ * read can't stand in for a server read.
+ */
+public class SingleFlight {
+
+    private static final String TAG = "SingleFlight";
+
+    private static final int LOG_EVERY = 50;
+
+    private static final Map<Object, Task<?>> inFlight = new HashMap<>();
+
+    private static int started;
+    private static int coalesced;
+
+    /**
+     * Starts the read when no matching one is in flight
+     */
+    public interface Read<T> {
+        Task<T> start();
+    }
+
+    public static Task<DocumentSnapshot> get(DocumentReference document) {
+        return get(document, Source.DEFAULT);
+    }
+
+    public static Task<DocumentSnapshot> get(DocumentReference document, Source source) {
+        return run(Arrays.asList(document.getPath(), source), () -> document.get(source));
+    }
+
+    public static Task<QuerySnapshot> get(Query query, Source source) {
+        // Query implements equals() over its filters, order and limits
+        return run(Arrays.asList(query, source), () -> query.get(source));
+    }
+
+    /**
+     * Join the read in flight for this key, or start one
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <T> Task<T> run(Object key, Read<T> read) {
+        Task<T> existing = (Task<T>) inFlight.get(key);
+        if (existing != null) {
+            coalesced++;
+            logIfDue();
+            return existing;
+        }
+
+        Task<T> task = read.start();
+        if (task.isComplete()) {
+            // Answered synchronously, there is nothing to share
+            started++;
+            logIfDue();
+            return task;
+        }
+
+        inFlight.put(key, task);
+        started++;
+        logIfDue();
+        task.addOnCompleteListener(done -> finish(key, task));
+        return task;
+    }
+
+    /**
+     * Reads started so far
+     */
+    public static synchronized int getStarted() {
+        return started;
+    }
+
+    /**
+     * Requests that joined a read already in flight
+     */
+    public static synchronized int getCoalesced() {
+        return coalesced;
+    }
+
+    private static synchronized void finish(Object key, Task<?> task) {
+        // A newer read may already be registered under the key
+        if (inFlight.get(key) == task) {
+            inFlight.remove(key);
+        }
+    }
+
+    private static void logIfDue() {
+        int requests = started + coalesced;
+        if (requests % LOG_EVERY == 0) {
+            Log.i(TAG, String.format(Locale.US, "%d requests, %d reads, %d coalesced (%.0f%%)",
+                    requests, started, coalesced, 100f * coalesced / requests));
+        }
+    }
+}
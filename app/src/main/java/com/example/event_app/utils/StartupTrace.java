@@ -0,0 +1,50 @@
+package com.example.event_app.utils;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * StartupTrace - Logs how long each startup phase takes
+ *
+ * Phases may overlap. Each log line gives the phase's own duration and the
+ * time since the process started, e.g.
+ * "auth: 212ms (done at +640ms)". Filter logcat by the "StartupTrace" tag.
+ */
+public class StartupTrace {
+
+    private static final String TAG = "StartupTrace";
+
+    private final long processStart = Process.getStartElapsedRealtime();
+    private final Map<String, Long> started = new HashMap<>();
+
+    /**
+     * Mark the start of a phase
+     */
+    public synchronized void begin(String phase) {
+        started.put(phase, SystemClock.elapsedRealtime());
+    }
+
+    /**
+     * Mark the end of a phase and log its duration
+     */
+    public synchronized void end(String phase) {
+        Long begin = started.remove(phase);
+        long now = SystemClock.elapsedRealtime();
+        if (begin == null) {
+            mark(phase);
+            return;
+        }
+        Log.d(TAG, phase + ": " + (now - begin) + "ms (done at +" + (now - processStart) + "ms)");
+    }
+
+    /**
+     * Log a single point in time
+     */
+    public synchronized void mark(String event) {
+        Log.d(TAG, event + " at +" + (SystemClock.elapsedRealtime() - processStart) + "ms");
+    }
+}
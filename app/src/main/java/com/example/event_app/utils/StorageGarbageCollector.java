@@ -0,0 +1,368 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.Operation;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.ListResult;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StorageGarbageCollector - Removes poster and QR code files no event uses
+ *
+ * US 03.03.01: Remove images
+ *
+ * Deleting an event or account only removes Firestore documents, so files in
+ * event_posters/ and qr_codes/ and entries in the images registry are left
+ * behind. This job loads the live event IDs and poster versions into hash
+ * sets, lists the storage folders page by page, and deletes every file that
+ * nothing refers to. Deletes run with bounded parallelism.
+ *
+ * A poster can be claimed again after the event snapshot is taken, so each
+ * registry entry is re-read in a transaction before it is removed. Entries
+ * still referenced, or claimed or uploaded within the grace period, are
+ * kept along with their files. Files are only scanned once the registry
+ * deletes have finished, so a file never goes before its entry.
+ *
+ * In dry-run mode nothing is deleted; the summary reports what would be.
+ * Every run writes its summary to the storage_gc_runs collection.
+ */
+public class StorageGarbageCollector extends Worker {
+
+    private static final String TAG = "StorageGC";
+
+    public static final String KEY_DRY_RUN = "dryRun";
+    public static final String KEY_SCANNED = "scanned";
+    public static final String KEY_ORPHANS = "orphans";
+    public static final String KEY_DELETED = "deleted";
+    public static final String KEY_FAILED = "failed";
+    public static final String KEY_BYTES = "bytes";
+    public static final String KEY_REGISTRY_REMOVED = "registryRemoved";
+
+    public static final String WORK_NAME = "storage_gc";
+    private static final String QR_FOLDER = "qr_codes";
+
+    // Firestore and Storage page sizes
+    private static final int EVENT_PAGE_SIZE = 500;
+    private static final int LIST_PAGE_SIZE = 500;
+
+    // Deletes in flight at once
+    private static final int MAX_PARALLEL = 8;
+
+    // Files this recent may belong to an upload whose event is not patched yet
+    private static final long GRACE_PERIOD_MS = 24 * 60 * 60 * 1000L;
+
+    // Completion callbacks only touch atomics, so run them where they complete
+    private static final Executor DIRECT = Runnable::run;
+
+    private final FirebaseFirestore db;
+    private final FirebaseStorage storage;
+
+    // Live references; registry entries that survive are added from callbacks
+    private final Set<String> liveEventIds = new HashSet<>();
+    private final Set<String> livePosterVersions = ConcurrentHashMap.newKeySet();
+
+    // Counters for the summary
+    private final AtomicInteger scanned = new AtomicInteger();
+    private final AtomicInteger orphans = new AtomicInteger();
+    private final AtomicInteger deleted = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger registryRemoved = new AtomicInteger();
+    private final AtomicLong bytesReclaimed = new AtomicLong();
+
+    private final Semaphore inFlight = new Semaphore(MAX_PARALLEL);
+    private boolean dryRun;
+    private long cutoff;
+
+    public StorageGarbageCollector(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+        db = FirebaseFirestore.getInstance();
+        storage = FirebaseStorage.getInstance();
+    }
+
+    /**
+     * Schedule a collection run. Once the returned operation succeeds, observe
+     * WORK_NAME for the summary; a run that is already in progress is kept.
+     */
+    public static Operation enqueue(Context context, boolean dryRun) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(StorageGarbageCollector.class)
+                .setInputData(new Data.Builder().putBoolean(KEY_DRY_RUN, dryRun).build())
+                .build();
+        return WorkManager.getInstance(context)
+                .enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        dryRun = getInputData().getBoolean(KEY_DRY_RUN, true);
+        long startedAt = System.currentTimeMillis();
+        cutoff = startedAt - GRACE_PERIOD_MS;
+
+        Log.d(TAG, "Starting storage GC" + (dryRun ? " (dry run)" : ""));
+
+        try {
+            loadLiveEvents();
+            collectRegistry();
+            collectFolder(storage.getReference().child(QR_FOLDER));
+            collectFolder(storage.getReference().child(PosterUploader.POSTER_FOLDER));
+
+            // Wait for the last deletes to finish
+            inFlight.acquire(MAX_PARALLEL);
+            inFlight.release(MAX_PARALLEL);
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e(TAG, "❌ Storage GC failed", e);
+            return Result.retry();
+        }
+
+        long durationMs = System.currentTimeMillis() - startedAt;
+        Log.d(TAG, "✅ Storage GC done in " + durationMs + "ms: "
+                + scanned.get() + " files scanned, "
+                + orphans.get() + " orphans, "
+                + deleted.get() + " deleted, "
+                + failed.get() + " failed, "
+                + bytesReclaimed.get() + " bytes, "
+                + registryRemoved.get() + " registry entries");
+
+        writeSummary(startedAt, durationMs);
+
+        return Result.success(new Data.Builder()
+                .putBoolean(KEY_DRY_RUN, dryRun)
+                .putInt(KEY_SCANNED, scanned.get())
+                .putInt(KEY_ORPHANS, orphans.get())
+                .putInt(KEY_DELETED, deleted.get())
+                .putInt(KEY_FAILED, failed.get())
+                .putLong(KEY_BYTES, bytesReclaimed.get())
+                .putInt(KEY_REGISTRY_REMOVED, registryRemoved.get())
+                .build());
+    }
+
+    /**
+     * Page through all events, keeping only their IDs and poster versions
+     */
+    private void loadLiveEvents() throws ExecutionException, InterruptedException {
+        DocumentSnapshot last = null;
+        while (true) {
+            Query query = db.collection("events")
+                    .orderBy(FieldPath.documentId())
+                    .limit(EVENT_PAGE_SIZE);
+            if (last != null) {
+                query = query.startAfter(last);
+            }
+
+            QuerySnapshot page = Tasks.await(query.get());
+            for (DocumentSnapshot doc : page.getDocuments()) {
+                liveEventIds.add(doc.getId());
+                String version = doc.getString("posterVersion");
+                if (version != null) {
+                    livePosterVersions.add(version);
+                }
+            }
+
+            if (page.size() < EVENT_PAGE_SIZE) break;
+            last = page.getDocuments().get(page.size() - 1);
+        }
+        Log.d(TAG, "Loaded " + liveEventIds.size() + " live events");
+    }
+
+    /**
+     * Remove poster registry entries no event points at. Their files are then
+     * picked up as orphans by the folder scan; the files of entries that are
+     * kept count as live.
+     */
+    private void collectRegistry() throws ExecutionException, InterruptedException {
+        QuerySnapshot entries = Tasks.await(db.collection("images")
+                .whereEqualTo("type", "event_poster")
+                .get());
+
+        for (DocumentSnapshot doc : entries.getDocuments()) {
+            if (livePosterVersions.contains(doc.getId())) {
+                continue;
+            }
+
+            if (dryRun) {
+                if (isCollectable(doc)) {
+                    registryRemoved.incrementAndGet();
+                } else {
+                    livePosterVersions.add(doc.getId());
+                }
+                continue;
+            }
+
+            DocumentReference ref = doc.getReference();
+            Task<Void> task = db.runTransaction(transaction -> {
+                // Re-read, the entry may have been claimed since the snapshot
+                DocumentSnapshot current = transaction.get(ref);
+                if (!current.exists()) {
+                    return false;
+                }
+                if (current.getLong("uploadedAt") == null) {
+                    // Unknown age, so start its grace period now
+                    transaction.update(ref, "uploadedAt", System.currentTimeMillis());
+                    return false;
+                }
+                if (!isCollectable(current)) {
+                    return false;
+                }
+                transaction.delete(ref);
+                return true;
+            }).continueWith(DIRECT, removed -> {
+                if (removed.isSuccessful() && Boolean.TRUE.equals(removed.getResult())) {
+                    registryRemoved.incrementAndGet();
+                    return null;
+                }
+                // Kept, or unknown after a failure: its file stays too
+                livePosterVersions.add(ref.getId());
+                if (!removed.isSuccessful()) {
+                    throw removed.getException();
+                }
+                return null;
+            });
+            track(task, null);
+        }
+
+        // The folder scan must see which entries were kept
+        inFlight.acquire(MAX_PARALLEL);
+        inFlight.release(MAX_PARALLEL);
+    }
+
+    /**
+     * An entry can go once nothing references it and it was neither uploaded
+     * nor claimed within the grace period
+     */
+    private boolean isCollectable(DocumentSnapshot entry) {
+        Long refCount = entry.getLong("refCount");
+        Long uploadedAt = entry.getLong("uploadedAt");
+        Long lastClaimedAt = entry.getLong("lastClaimedAt");
+        return (refCount == null || refCount <= 0)
+                && uploadedAt != null && uploadedAt <= cutoff
+                && (lastClaimedAt == null || lastClaimedAt <= cutoff);
+    }
+
+    /**
+     * List a folder and its subfolders page by page, deleting orphans as they are found
+     */
+    private void collectFolder(StorageReference folder) throws ExecutionException, InterruptedException {
+        String pageToken = null;
+        do {
+            ListResult page = Tasks.await(pageToken == null
+                    ? folder.list(LIST_PAGE_SIZE)
+                    : folder.list(LIST_PAGE_SIZE, pageToken));
+
+            for (StorageReference item : page.getItems()) {
+                scanned.incrementAndGet();
+                if (isOrphan(item.getName())) {
+                    orphans.incrementAndGet();
+                    collect(item);
+                }
+            }
+            for (StorageReference prefix : page.getPrefixes()) {
+                collectFolder(prefix);
+            }
+
+            pageToken = page.getPageToken();
+        } while (pageToken != null);
+    }
+
+    /**
+     * A file is live if its name (without extension) is a live event ID, an
+     * event ID followed by a version, or a poster version still in use
+     */
+    boolean isOrphan(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String base = dot >= 0 ? fileName.substring(0, dot) : fileName;
+        if (liveEventIds.contains(base) || livePosterVersions.contains(base)) {
+            return false;
+        }
+
+        int underscore = base.indexOf('_');
+        return underscore < 0 || !liveEventIds.contains(base.substring(0, underscore));
+    }
+
+    /**
+     * Delete one orphan, skipping files newer than the grace period
+     */
+    private void collect(StorageReference item) throws InterruptedException {
+        Task<Void> task = item.getMetadata().continueWithTask(DIRECT, metadataTask -> {
+            StorageMetadata metadata = metadataTask.getResult();
+            if (metadata.getCreationTimeMillis() > cutoff) {
+                orphans.decrementAndGet();
+                return Tasks.forResult(null);
+            }
+
+            bytesReclaimed.addAndGet(metadata.getSizeBytes());
+            if (dryRun) {
+                Log.d(TAG, "Would delete " + item.getPath());
+                return Tasks.forResult(null);
+            }
+
+            Log.d(TAG, "Deleting " + item.getPath());
+            return item.delete().addOnSuccessListener(DIRECT, aVoid -> deleted.incrementAndGet());
+        });
+        track(task, item.getPath());
+    }
+
+    /**
+     * Wait for a free slot, then release it when the task completes
+     */
+    private void track(Task<Void> task, String path) throws InterruptedException {
+        inFlight.acquire();
+        task.addOnCompleteListener(DIRECT, done -> {
+            if (!done.isSuccessful()) {
+                failed.incrementAndGet();
+                Log.w(TAG, "Could not collect " + (path != null ? path : "registry entry"),
+                        done.getException());
+            }
+            inFlight.release();
+        });
+    }
+
+    private void writeSummary(long startedAt, long durationMs) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("startedAt", startedAt);
+        summary.put("durationMs", durationMs);
+        summary.put("dryRun", dryRun);
+        summary.put("liveEvents", liveEventIds.size());
+        summary.put("filesScanned", scanned.get());
+        summary.put("orphansFound", orphans.get());
+        summary.put("filesDeleted", deleted.get());
+        summary.put("failures", failed.get());
+        summary.put("bytesReclaimed", bytesReclaimed.get());
+        summary.put("registryEntriesRemoved", registryRemoved.get());
+
+        try {
+            Tasks.await(db.collection("storage_gc_runs").add(summary));
+        } catch (ExecutionException | InterruptedException e) {
+            Log.w(TAG, "Could not save GC summary", e);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.event_app.utils;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.google.android.gms.tasks.OnCompleteListener;
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * TaskScope - Ties Task callbacks to an activity's lifecycle
+ *
+ * A Firestore or Storage callback keeps whatever its lambda captures,
+ * usually the activity, until the task completes, and it still runs if the
+ * activity was destroyed meanwhile. A listener wrapped by a scope only
+ * holds its lambda until the owner is destroyed. After that it does
+ * nothing, and the activity can be collected while the task is still in
+ * flight. Work registered with cancelOnDestroy() is cancelled then.
+ *
+ * Snapshot listeners started through listenWhileStarted() are attached in
+ * onStart and removed in onStop, so a stopped screen gets no updates.
+ *
+ *     private final TaskScope scope = TaskScope.of(this);
+ *     ...
+ *     task.addOnSuccessListener(scope.onSuccess(result -> show(result)));
+ *
+ * Only touched from the main thread, apart from wrapped listeners that
+ * run on another executor.
+ */
+public class TaskScope implements DefaultLifecycleObserver {
+
+    // One scope per owner, dropped when the owner is destroyed
+    private static final Map<LifecycleOwner, TaskScope> scopes = new WeakHashMap<>();
+
+    private final Set<Guard<?>> guards = new HashSet<>();
+    private final List<Cancellable> cancellables = new ArrayList<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private boolean started;
+    private boolean destroyed;
+
+    /**
+     * Work to stop when the owner is destroyed, e.g. StorageTask::cancel
+     */
+    public interface Cancellable {
+        void cancel();
+    }
+
+    /**
+     * Attaches a snapshot listener
+     */
+    public interface Subscribe {
+        ListenerRegistration start();
+    }
+
+    TaskScope() {}
+
+    /**
+     * The scope of an activity or fragment
+     */
+    public static synchronized TaskScope of(LifecycleOwner owner) {
+        TaskScope scope = scopes.get(owner);
+        if (scope != null) {
+            return scope;
+        }
+
+        scope = new TaskScope();
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            scope.destroyed = true;
+        } else {
+            scopes.put(owner, scope);
+            owner.getLifecycle().addObserver(scope);
+        }
+        return scope;
+    }
+
+    /**
+     * The scope of the activity behind a context. An application context
+     * never ends, so its listeners are never dropped.
+     */
+    public static TaskScope forContext(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof LifecycleOwner) {
+                return of((LifecycleOwner) context);
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return new TaskScope();
+    }
+
+    public <T> OnSuccessListener<T> onSuccess(OnSuccessListener<T> listener) {
+        Guard<OnSuccessListener<T>> guard = register(listener);
+        return result -> {
+            OnSuccessListener<T> delegate = guard.release();
+            if (delegate != null) {
+                delegate.onSuccess(result);
+            }
+        };
+    }
+
+    public OnFailureListener onFailure(OnFailureListener listener) {
+        Guard<OnFailureListener> guard = register(listener);
+        return e -> {
+            OnFailureListener delegate = guard.release();
+            if (delegate != null) {
+                delegate.onFailure(e);
+            }
+        };
+    }
+
+    public <T> OnCompleteListener<T> onComplete(OnCompleteListener<T> listener) {
+        Guard<OnCompleteListener<T>> guard = register(listener);
+        return task -> {
+            OnCompleteListener<T> delegate = guard.release();
+            if (delegate != null) {
+                delegate.onComplete(task);
+            }
+        };
+    }
+
+    public synchronized void cancelOnDestroy(Cancellable cancellable) {
+        if (destroyed) {
+            cancellable.cancel();
+        } else {
+            cancellables.add(cancellable);
+        }
+    }
+
+    /**
+     * Keep a snapshot listener attached only while the owner is started
+     */
+    public synchronized void listenWhileStarted(Subscribe subscribe) {
+        if (destroyed) {
+            return;
+        }
+        Subscription subscription = new Subscription(subscribe);
+        subscriptions.add(subscription);
+        if (started) {
+            subscription.start();
+        }
+    }
+
+    public synchronized boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Wrapped listeners waiting for their task
+     */
+    synchronized int pendingCount() {
+        return guards.size();
+    }
+
+    @Override
+    public synchronized void onStart(@NonNull LifecycleOwner owner) {
+        started = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.start();
+        }
+    }
+
+    @Override
+    public synchronized void onStop(@NonNull LifecycleOwner owner) {
+        started = false;
+        for (Subscription subscription : subscriptions) {
+            subscription.stop();
+        }
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        synchronized (TaskScope.class) {
+            scopes.remove(owner);
+        }
+
+        List<Cancellable> toCancel;
+        synchronized (this) {
+            destroyed = true;
+            for (Guard<?> guard : guards) {
+                guard.delegate = null;
+            }
+            guards.clear();
+            for (Subscription subscription : subscriptions) {
+                subscription.stop();
+            }
+            subscriptions.clear();
+            toCancel = new ArrayList<>(cancellables);
+            cancellables.clear();
+        }
+
+        for (Cancellable cancellable : toCancel) {
+            cancellable.cancel();
+        }
+    }
+
+    private synchronized <L> Guard<L> register(L listener) {
+        Guard<L> guard = new Guard<>(destroyed ? null : listener);
+        if (!destroyed) {
+            guards.add(guard);
+        }
+        return guard;
+    }
+
+    /**
+     * Holds a listener until it runs once or the scope is destroyed
+     */
+    private final class Guard<L> {
+
+        L delegate;
+
+        Guard(L delegate) {
+            this.delegate = delegate;
+        }
+
+        L release() {
+            synchronized (TaskScope.this) {
+                L listener = delegate;
+                delegate = null;
+                guards.remove(this);
+                return listener;
+            }
+        }
+    }
+
+    private static final class Subscription {
+
+        private final Subscribe subscribe;
+        private ListenerRegistration registration;
+
+        Subscription(Subscribe subscribe) {
+            this.subscribe = subscribe;
+        }
+
+        void start() {
+            if (registration == null) {
+                registration = subscribe.start();
+            }
+        }
+
+        void stop() {
+            if (registration != null) {
+                registration.remove();
+                registration = null;
+            }
+        }
+    }
+}
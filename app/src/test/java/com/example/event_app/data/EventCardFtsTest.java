@@ -0,0 +1,34 @@
+package com.example.event_app.data;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for turning search text into an FTS MATCH expression
+ */
+public class EventCardFtsTest {
+
+    @Test
+    public void testWordsBecomePrefixTerms() {
+        assertEquals("jaz* fest*", EventCardFts.matchQuery("Jaz Fest"));
+    }
+
+    @Test
+    public void testOperatorsAndQuotesAreDropped() {
+        // Lower-cased, OR is searched for as a word instead of acting as an operator
+        assertEquals("rock* or* roll*", EventCardFts.matchQuery("\"rock\" OR roll*"));
+        assertEquals("a* b*", EventCardFts.matchQuery("a:(b)"));
+    }
+
+    @Test
+    public void testDigitsAndAccentsAreKept() {
+        assertEquals("café* 2024*", EventCardFts.matchQuery("Café 2024"));
+    }
+
+    @Test
+    public void testBlankTextHasNoQuery() {
+        assertNull(EventCardFts.matchQuery(null));
+        assertNull(EventCardFts.matchQuery(""));
+        assertNull(EventCardFts.matchQuery("  -- \"\" "));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.event_app.data;
+
+import com.example.event_app.models.Event;
+import com.example.event_app.models.User;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.util.CustomClassMapper;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * EventMapper and UserMapper against toObject()
+ *
+ * toObject() hands getData() to CustomClassMapper, so the tests call that
+ * directly with the same map.
+ */
+public class EventMapperTest {
+
+    static Map<String, Object> eventData() {
+        List<Object> waiting = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            waiting.add("user" + i);
+        }
+        Map<String, Object> location = new HashMap<>();
+        location.put("latitude", 53.5);
+        location.put("longitude", -113L);
+        Map<String, Object> locations = new HashMap<>();
+        locations.put("user1", location);
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("eventId", "e1");
+        data.put("name", "Swim Lessons");
+        data.put("description", "Beginner swim lessons for kids");
+        data.put("organizerId", "org");
+        data.put("organizerName", "City Pool");
+        data.put("status", "active");
+        data.put("location", "Kinsmen Sports Centre");
+        data.put("createdAt", 1700000000000L);
+        data.put("updatedAt", new Timestamp(1700000500, 0));
+        data.put("eventDate", new Timestamp(1701000000, 0));
+        data.put("registrationEndDate", new Timestamp(1700900000, 0));
+        data.put("posterUrl", "https://example.com/poster.jpg");
+        data.put("capacity", 20L);
+        data.put("totalSelected", 20L);
+        data.put("totalCancelled", 3L);
+        data.put("waitingList", waiting);
+        data.put("selectedList", new ArrayList<Object>(waiting.subList(0, 20)));
+        data.put("signedUpUsers", new ArrayList<Object>(waiting.subList(0, 10)));
+        data.put("geolocationEnabled", true);
+        data.put("entrantLocations", locations);
+        return data;
+    }
+
+    static Map<String, Object> userData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("userId", "u1");
+        data.put("deviceId", "d1");
+        data.put("name", "Sam");
+        data.put("email", "sam@example.com");
+        data.put("roles", new ArrayList<Object>(Arrays.asList("entrant", "organizer")));
+        data.put("notificationsEnabled", true);
+        data.put("createdAt", 1700000000000L);
+        data.put("updatedAt", 1700000500000L);
+        return data;
+    }
+
+    @Test
+    public void testEventMatchesToObject() {
+        Event expected = CustomClassMapper.convertToCustomClass(eventData(), Event.class, null);
+        Event actual = EventMapper.fromData(eventData());
+
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+        assertEquals(expected.getEventDate(), actual.getEventDate());
+        assertEquals(expected.getRegistrationEndDate(), actual.getRegistrationEndDate());
+        assertNull(actual.getRegistrationStartDate());
+        assertEquals(expected.getCapacity(), actual.getCapacity());
+        assertEquals(expected.getTotalCancelled(), actual.getTotalCancelled());
+        assertEquals(expected.getWaitingList(), actual.getWaitingList());
+        assertEquals(expected.getSelectedList(), actual.getSelectedList());
+        assertNull(actual.getDeclinedUsers());
+        assertEquals(expected.isGeolocationEnabled(), actual.isGeolocationEnabled());
+        assertEquals(expected.getEntrantLocations(), actual.getEntrantLocations());
+    }
+
+    @Test
+    public void testUserMatchesToObject() {
+        User expected = CustomClassMapper.convertToCustomClass(userData(), User.class, null);
+        User actual = UserMapper.fromData(userData());
+
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getRoles(), actual.getRoles());
+        assertEquals(expected.isNotificationsEnabled(), actual.isNotificationsEnabled());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+    }
+
+    @Test
+    public void testMissingRolesKeepsEmptyList() {
+        Map<String, Object> data = userData();
+        data.remove("roles");
+        assertNotNull(UserMapper.fromData(data).getRoles());
+    }
+}
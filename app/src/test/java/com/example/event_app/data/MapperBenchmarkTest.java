@@ -0,0 +1,78 @@
+package com.example.event_app.data;
+
+import com.example.event_app.models.Event;
+import com.example.event_app.models.User;
+import com.google.firebase.firestore.util.CustomClassMapper;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+/**
+ * EventMapper and UserMapper timed against toObject()
+ *
+ * Reports ns/doc for both on every run. Timings depend on the machine and
+ * what else it is doing, so nothing is asserted about which is faster;
+ * compare the logged numbers instead.
+ */
+public class MapperBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger("MapperBenchmark");
+
+    private static final int WARMUP = 2000;
+    private static final int ITERATIONS = 20000;
+
+    @Test
+    public void benchmarkEvents() {
+        // getData() returns a new map for every read, so each iteration gets its own
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            inputs.add(EventMapperTest.eventData());
+        }
+
+        long reflection = time(inputs, data -> CustomClassMapper.convertToCustomClass(data, Event.class, null));
+        long direct = time(inputs, EventMapper::fromData);
+        report("EventMapper", direct, reflection);
+    }
+
+    @Test
+    public void benchmarkUsers() {
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            inputs.add(EventMapperTest.userData());
+        }
+
+        long reflection = time(inputs, data -> CustomClassMapper.convertToCustomClass(data, User.class, null));
+        long direct = time(inputs, UserMapper::fromData);
+        report("UserMapper", direct, reflection);
+    }
+
+    private interface Mapper {
+        Object map(Map<String, Object> data);
+    }
+
+    private static long time(List<Map<String, Object>> inputs, Mapper mapper) {
+        Object sink = null;
+        for (int i = 0; i < WARMUP; i++) {
+            sink = mapper.map(inputs.get(i % inputs.size()));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = mapper.map(inputs.get(i % inputs.size()));
+        }
+        long elapsed = System.nanoTime() - start;
+        assertNotNull(sink);
+        return elapsed;
+    }
+
+    private static void report(String name, long direct, long reflection) {
+        LOG.info(String.format(Locale.US, "%s %d ns/doc, toObject %d ns/doc",
+                name, direct / ITERATIONS, reflection / ITERATIONS));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.event_app.data;
+
+import com.example.event_app.models.Event;
+import com.google.firebase.firestore.FieldValue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the rules Outbox actions follow
+ */
+public class MutationsTest {
+
+    private static Event event(String... waiting) {
+        Event event = new Event("e1", "Swim Lessons", "", "org");
+        event.setWaitingList(new ArrayList<>(Arrays.asList(waiting)));
+        return event;
+    }
+
+    @Test
+    public void testJoinTwiceOnlyAddsOnce() {
+        Event event = event();
+        assertEquals(Mutations.Outcome.APPLIED, Mutations.apply(event, PendingMutation.JOIN, "u1", null));
+        assertEquals(Mutations.Outcome.NO_OP, Mutations.apply(event, PendingMutation.JOIN, "u1", null));
+        assertEquals(Arrays.asList("u1"), event.getWaitingList());
+    }
+
+    @Test
+    public void testLeaveWhenNotWaitingChangesNothing() {
+        Event event = event("u2");
+        assertEquals(Mutations.Outcome.NO_OP, Mutations.apply(event, PendingMutation.LEAVE, "u1", null));
+        assertEquals(Arrays.asList("u2"), event.getWaitingList());
+    }
+
+    @Test
+    public void testAcceptMovesUserToSignedUp() {
+        Event event = event("u1", "u2");
+        event.setSelectedList(new ArrayList<>(Arrays.asList("u1")));
+
+        assertEquals(Mutations.Outcome.APPLIED, Mutations.apply(event, PendingMutation.ACCEPT, "u1", null));
+        assertEquals(Arrays.asList("u1"), event.getSignedUpUsers());
+        assertTrue(event.getSelectedList().isEmpty());
+        assertEquals(Arrays.asList("u2"), event.getWaitingList());
+        assertEquals(Mutations.Outcome.NO_OP, Mutations.apply(event, PendingMutation.ACCEPT, "u1", null));
+    }
+
+    @Test
+    public void testAcceptWithoutInvitationConflicts() {
+        Event event = event("u1");
+        assertEquals(Mutations.Outcome.CONFLICT, Mutations.apply(event, PendingMutation.ACCEPT, "u1", null));
+        assertNull("Conflicts should leave the event alone", event.getSignedUpUsers());
+    }
+
+    @Test
+    public void testDeclineDrawsReplacementOnlyWhenAsked() {
+        Event local = event("u1", "u2");
+        local.setCapacity(1L);
+        local.setSelectedList(new ArrayList<>(Arrays.asList("u1")));
+        Mutations.apply(local, PendingMutation.DECLINE, "u1", null);
+        assertTrue(local.getSelectedList().isEmpty());
+        assertEquals(1, local.getTotalCancelled());
+
+        Event server = event("u1", "u2");
+        server.setCapacity(1L);
+        server.setSelectedList(new ArrayList<>(Arrays.asList("u1")));
+        Mutations.apply(server, PendingMutation.DECLINE, "u1", new Random(1));
+        assertEquals(Arrays.asList("u2"), server.getSelectedList());
+        assertEquals(Arrays.asList("u1"), server.getDeclinedUsers());
+    }
+
+    @Test
+    public void testUpdatesOnlyTouchChangedFields() {
+        Map<String, Object> join = new HashMap<>();
+        Mutations.apply(event(), PendingMutation.JOIN, "u1", null, join);
+        assertEquals(Collections.singleton("waitingList"), join.keySet());
+        assertTrue(join.get("waitingList") instanceof FieldValue);
+
+        Map<String, Object> repeat = new HashMap<>();
+        Mutations.apply(event("u1"), PendingMutation.JOIN, "u1", null, repeat);
+        assertTrue("A no-op should write nothing", repeat.isEmpty());
+
+        Event event = event("u1");
+        event.setSelectedList(new ArrayList<>(Arrays.asList("u1")));
+        Map<String, Object> decline = new HashMap<>();
+        Mutations.apply(event, PendingMutation.DECLINE, "u1", null, decline);
+        assertTrue(decline.get("totalCancelled") instanceof FieldValue);
+        assertTrue(decline.get("selectedList") instanceof FieldValue);
+    }
+
+    @Test
+    public void testReplacementWritesWholeSelectedList() {
+        Event event = event("u1", "u2");
+        event.setCapacity(1L);
+        event.setSelectedList(new ArrayList<>(Arrays.asList("u1")));
+        Map<String, Object> updates = new HashMap<>();
+        Mutations.apply(event, PendingMutation.DECLINE, "u1", new Random(1), updates);
+        assertEquals(Arrays.asList("u2"), updates.get("selectedList"));
+    }
+
+    @Test
+    public void testOverlayLeavesSharedEventUntouched() {
+        Event shared = event("u1");
+        shared.setId("e1");
+        shared.setSelectedList(new ArrayList<>(Arrays.asList("u2")));
+
+        Event shown = Outbox.overlay(shared,
+                Collections.singletonList(PendingMutation.create(PendingMutation.DECLINE, "e1", "u2")));
+
+        assertNotSame(shared, shown);
+        assertEquals(Arrays.asList("u2"), shown.getDeclinedUsers());
+        assertEquals(Arrays.asList("u2"), shared.getSelectedList());
+        assertNull(shared.getDeclinedUsers());
+        assertSame("Events without pending actions aren't copied",
+                shared, Outbox.overlay(shared, Collections.emptyList()));
+    }
+}
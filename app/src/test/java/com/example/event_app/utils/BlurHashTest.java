@@ -0,0 +1,81 @@
+package com.example.event_app.utils;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for BlurHash encoding and decoding
+ */
+public class BlurHashTest {
+
+    private static int[] solid(int color, int width, int height) {
+        int[] pixels = new int[width * height];
+        java.util.Arrays.fill(pixels, color);
+        return pixels;
+    }
+
+    @Test
+    public void testHashLengthMatchesComponents() {
+        String hash = BlurHash.encode(solid(0xFF336699, 16, 16), 16, 16, 4, 3);
+        assertEquals("4x3 hash should be 28 characters", 28, hash.length());
+    }
+
+    @Test
+    public void testSolidColorRoundTrip() {
+        int color = 0xFF336699;
+        String hash = BlurHash.encode(solid(color, 16, 16), 16, 16, 1, 1);
+        int[] decoded = BlurHash.decode(hash, 8, 8, 1.0);
+
+        for (int pixel : decoded) {
+            assertEquals("Red should survive round trip", 0x33, (pixel >> 16) & 0xFF, 1);
+            assertEquals("Green should survive round trip", 0x66, (pixel >> 8) & 0xFF, 1);
+            assertEquals("Blue should survive round trip", 0x99, pixel & 0xFF, 1);
+            assertEquals("Decoded pixels should be opaque", 0xFF, (pixel >>> 24));
+        }
+    }
+
+    @Test
+    public void testAverageColorIndependentOfComponents() {
+        int[] pixels = solid(0xFF336699, 16, 16);
+        String small = BlurHash.encode(pixels, 16, 16, 1, 1);
+        String large = BlurHash.encode(pixels, 16, 16, 4, 3);
+        assertEquals("DC component should not depend on component count",
+                small.substring(2, 6), large.substring(2, 6));
+    }
+
+    @Test
+    public void testGradientKeepsDirection() {
+        int width = 32;
+        int[] pixels = new int[width * 4];
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < width; x++) {
+                int v = x * 255 / (width - 1);
+                pixels[y * width + x] = 0xFF000000 | (v << 16) | (v << 8) | v;
+            }
+        }
+
+        String hash = BlurHash.encode(pixels, width, 4, 4, 3);
+        int[] decoded = BlurHash.decode(hash, width, 4, 1.0);
+
+        int left = decoded[0] & 0xFF;
+        int right = decoded[width - 1] & 0xFF;
+        assertTrue("Left edge should be darker than right edge", left < right);
+    }
+
+    @Test
+    public void testSingleComponentHash() {
+        String hash = BlurHash.encode(solid(0xFFFFFFFF, 4, 4), 4, 4, 1, 1);
+        assertEquals("1x1 hash should be 6 characters", 6, hash.length());
+        assertEquals("White should decode to white", 0xFFFFFFFF, BlurHash.decode(hash, 1, 1, 1.0)[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLengthRejected() {
+        BlurHash.decode("LEHV6nWB2yk8", 4, 4, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCharacterRejected() {
+        BlurHash.decode("00000!", 4, 4, 1.0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.event_app.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DayFormatter
+ */
+public class DayFormatterTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Edmonton");
+
+    private Locale defaultLocale;
+
+    @Before
+    public void setUp() {
+        // The tests pin the locale; put the JVM's back afterwards
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    private static Date at(int year, int month, int day, int hour) {
+        return Date.from(ZonedDateTime.of(year, month, day, hour, 0, 0, 0, ZONE).toInstant());
+    }
+
+    @Test
+    public void testSameDayReturnsSameString() {
+        DayFormatter formatter = new DayFormatter("MMM dd, yyyy");
+
+        String morning = formatter.format(at(2025, 3, 14, 8), ZONE);
+        String evening = formatter.format(at(2025, 3, 14, 23), ZONE);
+        assertEquals("Mar 14, 2025", morning);
+        assertSame("A day should only be formatted once", morning, evening);
+    }
+
+    @Test
+    public void testDayFollowsZone() {
+        DayFormatter formatter = new DayFormatter("MMM dd, yyyy");
+
+        // 11pm in Edmonton is already the next day in UTC
+        Date late = at(2025, 3, 14, 23);
+        assertEquals("Mar 14, 2025", formatter.format(late, ZONE));
+        assertEquals("Mar 15, 2025", formatter.format(late, ZoneId.of("UTC")));
+    }
+
+    @Test
+    public void testLocaleChangeReformats() {
+        DayFormatter formatter = new DayFormatter("MMM dd, yyyy");
+        assertEquals("Mar 14, 2025", formatter.format(at(2025, 3, 14, 12), ZONE));
+
+        Locale.setDefault(Locale.FRANCE);
+        assertNotEquals("Mar 14, 2025", formatter.format(at(2025, 3, 14, 12), ZONE));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.event_app.utils;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QRService event ID validation
+ */
+public class QRServiceTest {
+
+    @Test
+    public void testUuidIsValid() {
+        assertTrue("UUID event IDs should be valid",
+                QRService.isValidEventId("3f2b8c1e-9a4d-4e7f-b2c6-1d5e8f9a0b3c"));
+    }
+
+    @Test
+    public void testFirestoreIdIsValid() {
+        assertTrue("Firestore auto IDs should be valid",
+                QRService.isValidEventId("aB3dE5fG7hJ9kL1mN2pQ"));
+    }
+
+    @Test
+    public void testSurroundingWhitespaceIgnored() {
+        assertTrue("Whitespace around the ID should be ignored",
+                QRService.isValidEventId("  event_123456\n"));
+    }
+
+    @Test
+    public void testNullAndEmptyRejected() {
+        assertFalse("Null should be invalid", QRService.isValidEventId(null));
+        assertFalse("Empty string should be invalid", QRService.isValidEventId(""));
+        assertFalse("Whitespace only should be invalid", QRService.isValidEventId("          "));
+    }
+
+    @Test
+    public void testLengthBounds() {
+        assertFalse("9 characters should be too short", QRService.isValidEventId("abcdefghi"));
+        assertTrue("10 characters should be allowed", QRService.isValidEventId("abcdefghij"));
+        assertTrue("50 characters should be allowed", QRService.isValidEventId(repeat('a', 50)));
+        assertFalse("51 characters should be too long", QRService.isValidEventId(repeat('a', 51)));
+    }
+
+    @Test
+    public void testInvalidCharactersRejected() {
+        assertFalse("URLs should be invalid", QRService.isValidEventId("https://example.com/event"));
+        assertFalse("Inner spaces should be invalid", QRService.isValidEventId("event 1234567"));
+        assertFalse("Non-ASCII should be invalid", QRService.isValidEventId("évènement12345"));
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
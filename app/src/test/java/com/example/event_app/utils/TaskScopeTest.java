@@ -0,0 +1,173 @@
+package com.example.event_app.utils;
+
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TaskScope. A plain object stands in for the activity, and
+ * a list of listeners for a task that is still running. The lifecycle test
+ * drives a real LifecycleRegistry, which needs no main thread when created
+ * with createUnsafe().
+ */
+public class TaskScopeTest {
+
+    private static class FakeActivity {
+        final List<String> shown = new ArrayList<>();
+    }
+
+    private static class LifecycleActivity implements LifecycleOwner {
+        final LifecycleRegistry registry = LifecycleRegistry.createUnsafe(this);
+        final List<String> shown = new ArrayList<>();
+
+        @Override
+        public Lifecycle getLifecycle() {
+            return registry;
+        }
+    }
+
+    /**
+     * Registers a listener that captures a new activity and returns only a
+     * weak reference to it
+     */
+    private static WeakReference<FakeActivity> startRead(TaskScope scope,
+                                                         List<OnSuccessListener<String>> inFlight) {
+        FakeActivity activity = new FakeActivity();
+        OnSuccessListener<String> show = result -> activity.shown.add(result);
+        inFlight.add(scope != null ? scope.onSuccess(show) : show);
+        return new WeakReference<>(activity);
+    }
+
+    /**
+     * Starts an activity with a read in flight, then destroys it. Adds the
+     * activity's scope and what of() returns after destroy to scopes, and
+     * returns only a weak reference to the activity.
+     */
+    private static WeakReference<LifecycleActivity> startAndDestroy(
+            List<OnSuccessListener<String>> inFlight, List<TaskScope> scopes) {
+        LifecycleActivity activity = new LifecycleActivity();
+        activity.registry.setCurrentState(Lifecycle.State.STARTED);
+        TaskScope scope = TaskScope.of(activity);
+        assertSame(scope, TaskScope.of(activity));
+        inFlight.add(scope.onSuccess(activity.shown::add));
+
+        activity.registry.setCurrentState(Lifecycle.State.DESTROYED);
+        scopes.add(scope);
+        scopes.add(TaskScope.of(activity));
+        return new WeakReference<>(activity);
+    }
+
+    private static boolean collected(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 20 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        return reference.get() == null;
+    }
+
+    @Test
+    public void testDestroyedActivityIsNotRetained() throws InterruptedException {
+        TaskScope scope = new TaskScope();
+        List<OnSuccessListener<String>> inFlight = new ArrayList<>();
+        WeakReference<FakeActivity> activity = startRead(scope, inFlight);
+
+        scope.onDestroy(null);
+
+        assertTrue("A destroyed activity should not be held by a running task", collected(activity));
+        assertEquals(0, scope.pendingCount());
+        inFlight.get(0).onSuccess("late result");
+    }
+
+    @Test
+    public void testDestroyedOwnerIsDroppedAndCollected() throws InterruptedException {
+        List<OnSuccessListener<String>> inFlight = new ArrayList<>();
+        List<TaskScope> scopes = new ArrayList<>();
+        WeakReference<LifecycleActivity> activity = startAndDestroy(inFlight, scopes);
+
+        assertTrue(scopes.get(0).isDestroyed());
+        assertEquals(0, scopes.get(0).pendingCount());
+        assertNotSame("of() should forget a destroyed owner", scopes.get(0), scopes.get(1));
+        assertTrue(scopes.get(1).isDestroyed());
+        assertTrue("A destroyed owner should not be held by its scope or a running task",
+                collected(activity));
+        inFlight.get(0).onSuccess("late result");
+    }
+
+    @Test
+    public void testUnscopedListenerRetainsActivity() throws InterruptedException {
+        List<OnSuccessListener<String>> inFlight = new ArrayList<>();
+        WeakReference<FakeActivity> activity = startRead(null, inFlight);
+
+        assertFalse(collected(activity));
+        assertEquals(1, inFlight.size());
+    }
+
+    @Test
+    public void testCallbackRunsOnceBeforeDestroy() {
+        TaskScope scope = new TaskScope();
+        FakeActivity activity = new FakeActivity();
+        OnSuccessListener<String> listener = scope.onSuccess(activity.shown::add);
+
+        listener.onSuccess("event");
+        listener.onSuccess("again");
+        assertEquals(1, activity.shown.size());
+        assertEquals(0, scope.pendingCount());
+    }
+
+    @Test
+    public void testCallbackAfterDestroyIsIgnored() {
+        TaskScope scope = new TaskScope();
+        FakeActivity activity = new FakeActivity();
+        OnFailureListener listener = scope.onFailure(e -> activity.shown.add("error"));
+
+        scope.onDestroy(null);
+        listener.onFailure(new Exception("offline"));
+        assertTrue(activity.shown.isEmpty());
+
+        OnSuccessListener<String> late = scope.onSuccess(activity.shown::add);
+        late.onSuccess("event");
+        assertTrue("Listeners added after destroy never run", activity.shown.isEmpty());
+    }
+
+    @Test
+    public void testCancelOnDestroy() {
+        TaskScope scope = new TaskScope();
+        int[] cancelled = {0};
+        scope.cancelOnDestroy(() -> cancelled[0]++);
+
+        scope.onDestroy(null);
+        assertEquals(1, cancelled[0]);
+    }
+
+    @Test
+    public void testSnapshotListenersFollowStartAndStop() {
+        TaskScope scope = new TaskScope();
+        int[] attached = {0};
+        scope.listenWhileStarted(() -> {
+            attached[0]++;
+            return () -> attached[0]--;
+        });
+        assertEquals("Not attached before onStart", 0, attached[0]);
+
+        scope.onStart(null);
+        assertEquals(1, attached[0]);
+        scope.onStop(null);
+        assertEquals(0, attached[0]);
+        scope.onStart(null);
+        assertEquals(1, attached[0]);
+
+        scope.onDestroy(null);
+        assertEquals(0, attached[0]);
+    }
+}